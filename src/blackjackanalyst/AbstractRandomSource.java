@@ -0,0 +1,51 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+/**
+ * A convenience class for implementing {@link RandomSource}, which chooses
+ * bounded integers from the integers returned by {@link #nextInt()}. An
+ * integer is scaled to the bound by multiplying and shifting instead of
+ * dividing, as described by Daniel Lemire in "Fast Random Integer Generation
+ * in an Interval", and a division is only needed in the rare case that the
+ * scaled integer must be rejected to avoid bias.
+ * 
+ * @author Michael Parker
+ */
+public abstract class AbstractRandomSource implements RandomSource {
+	public int nextBoundedInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive");
+		}
+
+		long product = (nextInt() & 0xffffffffL) * bound;
+		long low = product & 0xffffffffL;
+		if (low < bound) {
+			// reject the products that would bias the result
+			long threshold = (0x100000000L - bound) % bound;
+			while (low < threshold) {
+				product = (nextInt() & 0xffffffffL) * bound;
+				low = product & 0xffffffffL;
+			}
+		}
+		return (int) (product >>> 32);
+	}
+}
@@ -55,34 +55,31 @@ public class Card {
 		TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE, TEN, JACK, QUEEN, KING, ACE
 	};
 
-	private static RankValue[] RANK_VALUES = {
-	    new RankValue(Rank.TWO, 2), new RankValue(Rank.THREE, 3),
-	    new RankValue(Rank.FOUR, 4), new RankValue(Rank.FIVE, 5),
-	    new RankValue(Rank.SIX, 6), new RankValue(Rank.SEVEN, 7),
-	    new RankValue(Rank.EIGHT, 8), new RankValue(Rank.NINE, 9),
-	    new RankValue(Rank.TEN, 10), new RankValue(Rank.JACK, 10),
-	    new RankValue(Rank.QUEEN, 10), new RankValue(Rank.KING, 10),
-	    new RankValue(Rank.ACE, 1)
+	// the value of each rank, indexed by the ordinal of the rank
+	private static final int[] RANK_VALUES = {
+	    2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 1
 	};
 
-	private static class RankValue {
-		protected final Rank rank;
-		protected final int value;
-
-		protected RankValue(Rank rank, int value) {
-			this.rank = rank;
-			this.value = value;
-		}
-
-		public String toString() {
-			return rank.toString();
+	/*
+	 * Lookup tables indexed by card identifier, so that the value and rank of a
+	 * card can be found without a Card object.
+	 */
+	private static final byte[] VALUES = new byte[CARDS_PER_DECK];
+	private static final byte[] RANK_ORDINALS = new byte[CARDS_PER_DECK];
+	private static final Card[] ALL_CARDS = new Card[CARDS_PER_DECK];
+
+	static {
+		Rank[] ranks = Rank.values();
+		Suit[] suits = Suit.values();
+		for (int cardId = 0; cardId < CARDS_PER_DECK; ++cardId) {
+			int rankOrdinal = cardId % NUM_CARD_RANKS;
+			VALUES[cardId] = (byte) RANK_VALUES[rankOrdinal];
+			RANK_ORDINALS[cardId] = (byte) rankOrdinal;
+			ALL_CARDS[cardId] = new Card(ranks[rankOrdinal], suits[cardId
+			    / NUM_CARD_RANKS], cardId);
 		}
 	}
 
-	private static RankValue getRankValue(int cardId) {
-		return RANK_VALUES[cardId % NUM_CARD_RANKS];
-	}
-
 	/**
 	 * Returns the {@link Card} object having the given suit and rank.
 	 * 
@@ -96,25 +93,61 @@ public class Card {
 		}
 
 		int cardId = cardRank.ordinal() + NUM_CARD_RANKS * cardSuit.ordinal();
-		if (ALL_CARDS == null) {
-			ALL_CARDS = new Card[CARDS_PER_DECK];
-		}
-		if (ALL_CARDS[cardId] == null) {
-			ALL_CARDS[cardId] = new Card(getRankValue(cardId), cardSuit, cardId);
-		}
 		return ALL_CARDS[cardId];
 	}
-	
-	private static Card[] ALL_CARDS;
 
-	private final RankValue rankValue;
+	/**
+	 * Returns the {@link Card} object having the given identifier, as returned by
+	 * {@link #getID()}.
+	 * 
+	 * @param cardId the identifier of the card to retrieve
+	 * @return the {@link Card} object having the given identifier
+	 */
+	public static Card getCard(int cardId) {
+		return ALL_CARDS[cardId];
+	}
+
+	/**
+	 * Returns the value of the card having the given identifier. If the rank of
+	 * the card is an ace, this method returns {@code 1}.
+	 * 
+	 * @param cardId the identifier of the card
+	 * @return the value of the card
+	 */
+	public static int getValue(int cardId) {
+		return VALUES[cardId];
+	}
+
+	/**
+	 * Returns whether the card having the given identifier is an ace.
+	 * 
+	 * @param cardId the identifier of the card
+	 * @return {@code true} if the card is an ace, {@code false} otherwise
+	 */
+	public static boolean isAce(int cardId) {
+		return (VALUES[cardId] == 1);
+	}
+
+	/**
+	 * Returns the ordinal of the rank of the card having the given identifier.
+	 * 
+	 * @param cardId the identifier of the card
+	 * @return the ordinal of the card rank
+	 */
+	public static int getRankOrdinal(int cardId) {
+		return RANK_ORDINALS[cardId];
+	}
+
+	private final Rank rank;
 	private final Suit suit;
 	private final int cardId;
+	private final int value;
 
-	private Card(RankValue rankValue, Suit suit, int cardId) {
-		this.rankValue = rankValue;
+	private Card(Rank rank, Suit suit, int cardId) {
+		this.rank = rank;
 		this.suit = suit;
 		this.cardId = cardId;
+		this.value = RANK_VALUES[rank.ordinal()];
 	}
 
 	/**
@@ -123,7 +156,7 @@ public class Card {
 	 * @return the card rank
 	 */
 	public final Rank getRank() {
-		return rankValue.rank;
+		return rank;
 	}
 
 	/**
@@ -142,7 +175,7 @@ public class Card {
 	 * @return the value of the card
 	 */
 	public int getValue() {
-		return rankValue.value;
+		return value;
 	}
 
 	/**
@@ -151,11 +184,12 @@ public class Card {
 	 * @return {@code true} if this card is an ace, {@code false} otherwise
 	 */
 	public boolean isAce() {
-		return (rankValue.rank == Rank.ACE);
+		return (value == 1);
 	}
 
 	/**
-	 * Returns the unique numerical identifier of this card.
+	 * Returns the unique numerical identifier of this card, which is between
+	 * {@code 0} and {@link #CARDS_PER_DECK} exclusive.
 	 * 
 	 * @return the identifying card number
 	 */
@@ -165,7 +199,7 @@ public class Card {
 
 	public String toString() {
 		StringBuilder sb = new StringBuilder(128);
-		sb.append(rankValue).append(" of ").append(suit);
+		sb.append(rank).append(" of ").append(suit);
 		return sb.toString();
 	}
 }
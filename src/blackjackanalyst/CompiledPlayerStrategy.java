@@ -0,0 +1,268 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import blackjackanalyst.Card.Rank;
+import blackjackanalyst.Card.Suit;
+
+/**
+ * A player strategy that looks up the action for each hand in a table built by
+ * probing another strategy, called the delegate. The delegate is asked for the
+ * action of every hand that can be reached against every dealer card once,
+ * when the table is compiled, so a delegate that is slow to decide on an action
+ * is only slow once.
+ * <p>
+ * The delegate must be deterministic, and its action must depend only on the
+ * state of the hand: its hard value, whether it contains an ace, whether it is
+ * a pair and of what value, whether it has one, two, or more cards, and whether
+ * it has been split, and on the value of the dealer card. The bet and insurance
+ * bet of the player, and all other methods of this strategy, are delegated.
+ * <p>
+ * A compiled table can be saved to a file with {@link #save(File)}, and loaded
+ * with {@link #load(File, PlayerStrategy)}, which maps the file into memory
+ * instead of compiling the table again.
+ * 
+ * @author Michael Parker
+ */
+public class CompiledPlayerStrategy implements PlayerStrategy {
+	private static final int MAGIC = 0x424a4353;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 12;
+
+	/*
+	 * The table holds one byte for each hand state and dealer card value, where 0
+	 * means the state cannot be reached and the delegate is asked, NULL_ACTION
+	 * means the delegate returned null, and any other value is the ordinal of the
+	 * action plus one.
+	 */
+	private static final int UNKNOWN_ACTION = 0;
+	private static final int NULL_ACTION = 5;
+	private static final PlayerStrategyAction[] ACTIONS = PlayerStrategyAction
+	    .values();
+
+	// hands are bucketed into those with one card, two cards, or more cards
+	private static final int NUM_CARD_BUCKETS = 3;
+	private static final int NUM_PAIR_VALUES = 11;
+	private static final int NUM_HARD_VALUES = 22;
+	private static final int NUM_DEALER_VALUES = 10;
+	private static final int TABLE_SIZE = NUM_CARD_BUCKETS * NUM_PAIR_VALUES
+	    * NUM_HARD_VALUES * 2 * 2 * NUM_DEALER_VALUES;
+
+	protected final PlayerStrategy delegate;
+	protected final ByteBuffer actions;
+
+	private CompiledPlayerStrategy(PlayerStrategy delegate, ByteBuffer actions) {
+		this.delegate = delegate;
+		this.actions = actions;
+	}
+
+	/**
+	 * Compiles the actions of the given strategy into a table.
+	 * 
+	 * @param delegate the strategy to compile
+	 * @return the compiled strategy, which delegates to the given strategy
+	 * @throws IllegalArgumentException if the strategy returns different actions
+	 *         for hands with the same state
+	 */
+	public static CompiledPlayerStrategy compile(PlayerStrategy delegate) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Strategy must be provided");
+		}
+
+		// one card of each value; the suit and face of a card must not matter
+		Card[] cardsByValue = new Card[11];
+		for (Rank rank : Rank.values()) {
+			Card card = Card.getCard(rank, Suit.SPADES);
+			if (cardsByValue[card.getValue()] == null) {
+				cardsByValue[card.getValue()] = card;
+			}
+		}
+
+		byte[] table = new byte[TABLE_SIZE];
+		int[] values = new int[Hand.MAX_CARDS];
+		probeHands(delegate, cardsByValue, table, values, 0, 0);
+		return new CompiledPlayerStrategy(delegate, ByteBuffer.wrap(table));
+	}
+
+	/*
+	 * Probes the delegate with every hand whose card values are the given values
+	 * followed by values no less than the last, in increasing order. Because the
+	 * state of a hand does not depend on the order of its cards, this probes
+	 * every hand state that can be reached.
+	 */
+	private static void probeHands(PlayerStrategy delegate, Card[] cardsByValue,
+	    byte[] table, int[] values, int numValues, int hardValue) {
+		if (numValues > 0) {
+			for (int split = 0; split < 2; ++split) {
+				PlayerHand hand = new PlayerHand(0, split == 1, null);
+				for (int i = 0; i < numValues; ++i) {
+					hand.add(cardsByValue[values[i]]);
+				}
+				for (int dealerValue = 1; dealerValue <= 10; ++dealerValue) {
+					PlayerStrategyAction action = delegate.getAction(hand,
+					    cardsByValue[dealerValue]);
+					int code = (action != null) ? (action.ordinal() + 1) : NULL_ACTION;
+					int index = getIndex(hand, dealerValue);
+					if ((table[index] != UNKNOWN_ACTION) && (table[index] != code)) {
+						throw new IllegalArgumentException(
+						    "Strategy action depends on more than the hand state for hand "
+						        + hand.getCards());
+					}
+					table[index] = (byte) code;
+				}
+			}
+		}
+
+		int firstValue = (numValues > 0) ? values[numValues - 1] : 1;
+		for (int value = firstValue; value <= 10; ++value) {
+			if ((hardValue + value) > 21) {
+				break;
+			}
+			values[numValues] = value;
+			probeHands(delegate, cardsByValue, table, values, numValues + 1,
+			    hardValue + value);
+		}
+	}
+
+	/*
+	 * Returns the index in the table of the given hand, which must not be
+	 * busted, and dealer card value.
+	 */
+	private static int getIndex(PlayerHand hand, int dealerValue) {
+		int cardBucket = (hand.numCards < 3) ? (hand.numCards - 1) : 2;
+		int pairValue = hand.isPair() ? Card.getValue(hand.cards[0]) : 0;
+		int index = (cardBucket * NUM_PAIR_VALUES) + pairValue;
+		index = (index * NUM_HARD_VALUES) + hand.hardValue;
+		index = (index * 2) + ((hand.numAces > 0) ? 1 : 0);
+		index = (index * 2) + (hand.beenSplit ? 1 : 0);
+		return (index * NUM_DEALER_VALUES) + (dealerValue - 1);
+	}
+
+	/**
+	 * Loads a table saved by {@link #save(File)}. The file is mapped into memory
+	 * instead of being read.
+	 * 
+	 * @param file the file containing the compiled table
+	 * @param delegate the strategy that the table was compiled from
+	 * @return the compiled strategy, which delegates to the given strategy
+	 * @throws IOException if the file cannot be read or is not a compiled table
+	 */
+	public static CompiledPlayerStrategy load(File file, PlayerStrategy delegate)
+	    throws IOException {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Strategy must be provided");
+		}
+
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = input.getChannel();
+			if (channel.size() != (HEADER_SIZE + TABLE_SIZE)) {
+				throw new IOException("Not a compiled strategy: " + file);
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+			    channel.size());
+			if ((buffer.getInt() != MAGIC) || (buffer.getInt() != VERSION)
+			    || (buffer.getInt() != TABLE_SIZE)) {
+				throw new IOException("Not a compiled strategy: " + file);
+			}
+			// the mapping remains valid after the file is closed
+			return new CompiledPlayerStrategy(delegate, buffer.slice());
+		} finally {
+			input.close();
+		}
+	}
+
+	/**
+	 * Saves the compiled table to the given file, which can be loaded by
+	 * {@link #load(File, PlayerStrategy)}.
+	 * 
+	 * @param file the file to save the table to
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+		    new FileOutputStream(file)));
+		try {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(TABLE_SIZE);
+			for (int i = 0; i < TABLE_SIZE; ++i) {
+				output.writeByte(actions.get(i));
+			}
+		} finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Returns the strategy that this table was compiled from.
+	 * 
+	 * @return the delegate strategy
+	 */
+	public PlayerStrategy getDelegate() {
+		return delegate;
+	}
+
+	public PlayerStrategyAction getAction(PlayerHand hand, Card dealerCard) {
+		if ((hand.numCards == 0) || (hand.hardValue > 21)) {
+			// the table has no entries for empty or busted hands
+			return delegate.getAction(hand, dealerCard);
+		}
+		int code = actions.get(getIndex(hand, dealerCard.getValue()));
+		if (code == UNKNOWN_ACTION) {
+			return delegate.getAction(hand, dealerCard);
+		}
+		return (code != NULL_ACTION) ? ACTIONS[code - 1] : null;
+	}
+
+	public void shoeShuffled() {
+		delegate.shoeShuffled();
+	}
+
+	public void cardDealt(Card dealtCard) {
+		delegate.cardDealt(dealtCard);
+	}
+
+	public void joinedTable(Table table) {
+		delegate.joinedTable(table);
+	}
+
+	public void leftTable(Table table) {
+		delegate.leftTable(table);
+	}
+
+	public int getBet(long bankroll) {
+		return delegate.getBet(bankroll);
+	}
+
+	public int getInsuranceBet(PlayerHand hand, int betAmount) {
+		return delegate.getInsuranceBet(hand, betAmount);
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+/**
+ * A player strategy that does not need to be told of each card dealt, because
+ * it either ignores the cards dealt or reads the {@link ShoeComposition} of the
+ * table it joined. A table does not call {@link #cardDealt(Card)} on such a
+ * strategy, which saves a call per card and per player.
+ * <p>
+ * Subclasses of a class implementing this interface are composition
+ * strategies as well, unless they override {@link #cardDealt(Card)}, in which
+ * case the table calls the overriding method for each card dealt.
+ * 
+ * @author Michael Parker
+ */
+public interface CompositionPlayerStrategy extends PlayerStrategy {
+}
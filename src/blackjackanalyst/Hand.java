@@ -20,12 +20,13 @@
 
 package blackjackanalyst;
 
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.AbstractSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
-import java.util.TreeSet;
 
 /**
  * A hand of cards.
@@ -33,22 +34,33 @@ import java.util.TreeSet;
  * @author Michael Parker
  */
 public class Hand {
-	protected final List<Card> cards;
-	protected final List<Card> cardsReadOnly;
+	/**
+	 * The maximum number of cards a hand can hold. A hand whose lowest value does
+	 * not exceed 21 holds at most 21 cards, and one more card busts it.
+	 */
+	public static final int MAX_CARDS = 22;
+
+	// the identifiers of the cards in the hand
+	protected final byte[] cards;
+	protected int numCards;
 	protected boolean finished;
 
-	protected final TreeSet<Integer> handValues;
-	protected final Set<Integer> handValuesReadOnly;
-	protected int highValidValue;
+	// the hand value counting every ace as 1, and the number of aces
+	protected int hardValue;
+	protected int numAces;
+
+	private final List<Card> cardsReadOnly;
+	private final Set<Integer> handValuesReadOnly;
 
 	protected Hand() {
-		cards = new LinkedList<Card>();
-		cardsReadOnly = Collections.unmodifiableList(cards);
+		cards = new byte[MAX_CARDS];
+		numCards = 0;
 
-		handValues = new TreeSet<Integer>();
-		handValuesReadOnly = Collections.unmodifiableSet(handValues);
+		hardValue = 0;
+		numAces = 0;
 
-		highValidValue = 0;
+		cardsReadOnly = new CardList();
+		handValuesReadOnly = new HandValueSet();
 	}
 
 	/**
@@ -77,7 +89,8 @@ public class Hand {
 
 	/**
 	 * Returns a list containing the cards in the hand, appearing in the order in
-	 * which they were added. The returned list may not be modified.
+	 * which they were added. The returned list is a view backed by this hand and
+	 * may not be modified.
 	 * 
 	 * @return the list of cards in the hand
 	 */
@@ -85,6 +98,29 @@ public class Hand {
 		return cardsReadOnly;
 	}
 
+	/**
+	 * Returns the number of cards in the hand.
+	 * 
+	 * @return the number of cards in the hand
+	 */
+	public int getNumCards() {
+		return numCards;
+	}
+
+	/**
+	 * Returns the card at the given position in the hand, where the first card
+	 * added has position {@code 0}.
+	 * 
+	 * @param index the position of the card to return
+	 * @return the card at the given position
+	 */
+	public Card getCard(int index) {
+		if ((index < 0) || (index >= numCards)) {
+			throw new IndexOutOfBoundsException("Invalid card index: " + index);
+		}
+		return Card.getCard(cards[index]);
+	}
+
 	/**
 	 * Returns the highest possible value that can be made from the hand, but does
 	 * not exceed 21. If no such value exists, meaning that this hand has busted,
@@ -93,7 +129,11 @@ public class Hand {
 	 * @return the highest possible hand value not exceeding 21
 	 */
 	public int getHighValidValue() {
-		return highValidValue;
+		if (hardValue > 21) {
+			return -1;
+		}
+		// at most one ace can be valued as 11 without busting
+		return ((numAces > 0) && (hardValue <= 11)) ? (hardValue + 10) : hardValue;
 	}
 
 	/**
@@ -103,7 +143,7 @@ public class Hand {
 	 * @return the lowest possible hand value
 	 */
 	public int getLowValue() {
-		return handValues.first();
+		return hardValue;
 	}
 
 	/**
@@ -113,12 +153,13 @@ public class Hand {
 	 * @return the highest possible hand value
 	 */
 	public int getHighValue() {
-		return handValues.last();
+		return hardValue + (10 * numAces);
 	}
 
 	/**
 	 * Returns all possible values that can be made from the hand, where values
-	 * appear in ascending order.
+	 * appear in ascending order. The returned set is a view backed by this hand
+	 * and may not be modified.
 	 * 
 	 * @return all possible hand values
 	 */
@@ -133,7 +174,7 @@ public class Hand {
 	 * @return {@code true} if the hand has busted, {@code false} otherwise
 	 */
 	public boolean isBusted() {
-		return (getLowValue() > 21);
+		return (hardValue > 21);
 	}
 
 	/**
@@ -143,7 +184,7 @@ public class Hand {
 	 * @return {@code true} if the hand is a blackjack, {@code false} otherwise
 	 */
 	public boolean isBlackjack() {
-		return ((cards.size() == 2) && (getHighValidValue() == 21));
+		return ((numCards == 2) && (numAces > 0) && (hardValue == 11));
 	}
 
 	/**
@@ -154,7 +195,7 @@ public class Hand {
 	 * @return {@code true} if the hand is soft, {@code false} otherwise
 	 */
 	public boolean isSoft() {
-		return (!isBusted() && (getLowValue() <= (getHighValidValue() - 10)));
+		return ((numAces > 0) && (hardValue <= 11));
 	}
 
 	/**
@@ -169,64 +210,39 @@ public class Hand {
 	}
 
 	protected final void add(Card card) {
-		if (cards.isEmpty()) {
-			// add first card dealt to hand
-			cards.add(card);
-			if (card.isAce()) {
-				// add both values for ace
-				handValues.add(1);
-				handValues.add(11);
-				highValidValue = 11;
-			} else {
-				// not ace, add single value
-				int cardValue = card.getValue();
-				handValues.add(cardValue);
-				highValidValue = cardValue;
-			}
-			return;
-		}
+		add(card.getID());
+	}
 
-		// update all possible hand values
-		highValidValue = -1;
-		TreeSet<Integer> newValues = new TreeSet<Integer>();
-		for (Integer handValue : handValues) {
-			int newValue;
-			if (card.isAce()) {
-				// update low value for ace
-				newValue = handValue + 1;
-				newValues.add(newValue);
-				if ((newValue <= 21) && (newValue > highValidValue)) {
-					highValidValue = newValue;
-				}
-				// update high value for ace
-				newValue = handValue + 11;
-				newValues.add(newValue);
-				if ((newValue <= 21) && (newValue > highValidValue)) {
-					highValidValue = newValue;
-				}
-			} else {
-				// not ace, update single value
-				newValue = handValue + card.getValue();
-				newValues.add(newValue);
-				if ((newValue <= 21) && (newValue > highValidValue)) {
-					highValidValue = newValue;
-				}
-			}
+	/*
+	 * Adds the card with the given identifier to the hand.
+	 */
+	protected final void add(int cardId) {
+		cards[numCards] = (byte) cardId;
+		++numCards;
+		hardValue += Card.getValue(cardId);
+		if (Card.isAce(cardId)) {
+			++numAces;
 		}
-		handValues.clear();
-		handValues.addAll(newValues);
-		// add card to hand
-		cards.add(card);
+	}
+
+	/*
+	 * Removes all cards from the hand.
+	 */
+	protected void clear() {
+		numCards = 0;
+		finished = false;
+
+		hardValue = 0;
+		numAces = 0;
 	}
 
 	public String toString() {
 		StringBuilder sb = new StringBuilder(512);
-		for (Iterator<Card> i = cards.iterator(); i.hasNext();) {
-			Card nextCard = i.next();
-			sb.append(nextCard.toString());
-			if (i.hasNext()) {
+		for (int i = 0; i < numCards; ++i) {
+			if (i > 0) {
 				sb.append(", ");
 			}
+			sb.append(Card.getCard(cards[i]).toString());
 		}
 		sb.append(" (");
 		if (isBlackjack()) {
@@ -239,4 +255,59 @@ public class Hand {
 		sb.append(')');
 		return sb.toString();
 	}
+
+	/*
+	 * Read-only view of the cards in the hand.
+	 */
+	private class CardList extends AbstractList<Card> implements RandomAccess {
+		public Card get(int index) {
+			return getCard(index);
+		}
+
+		public int size() {
+			return numCards;
+		}
+	}
+
+	/*
+	 * Read-only view of the possible hand values. Each ace adds 10 to the value
+	 * of the hand when valued as 11 instead of 1.
+	 */
+	private class HandValueSet extends AbstractSet<Integer> {
+		public Iterator<Integer> iterator() {
+			return new Iterator<Integer>() {
+				private final int size = size();
+				private int next = 0;
+
+				public boolean hasNext() {
+					return (next < size);
+				}
+
+				public Integer next() {
+					if (next >= size) {
+						throw new NoSuchElementException();
+					}
+					int value = hardValue + (10 * next);
+					++next;
+					return value;
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		public int size() {
+			return (numCards == 0) ? 0 : (numAces + 1);
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Integer) || (numCards == 0)) {
+				return false;
+			}
+			int delta = ((Integer) o) - hardValue;
+			return (delta >= 0) && (delta <= (10 * numAces)) && ((delta % 10) == 0);
+		}
+	}
 }
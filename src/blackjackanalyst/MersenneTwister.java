@@ -140,19 +140,22 @@ class MersenneTwister extends java.util.Random implements Serializable {
 	private double __nextNextGaussian;
 	private boolean __haveNextNextGaussian;
 
-	private static MersenneTwister _instance = null;
+	/*
+	 * Holds the singleton, which the class loader creates and publishes safely
+	 * when getInstance() is first called.
+	 */
+	private static class InstanceHolder {
+		static final MersenneTwister INSTANCE = new MersenneTwister();
+	}
 
 	/**
 	 * Returns the single instance of the Mersenne Twister random number
-	 * generator.
+	 * generator. This method may be called from any thread.
 	 * 
 	 * @return the random number generator singleton
 	 */
 	public static MersenneTwister getInstance() {
-		if (_instance == null) {
-			_instance = new MersenneTwister();
-		}
-		return _instance;
+		return InstanceHolder.INSTANCE;
 	}
 
 	/**
@@ -171,6 +174,30 @@ class MersenneTwister extends java.util.Random implements Serializable {
 		setSeed(seed);
 	}
 
+	/**
+	 * Constructor using a given array of seeds, as passed to
+	 * {@link #setSeed(int[])}.
+	 */
+	private MersenneTwister(final int[] array) {
+		super(array[0]); /* just in case */
+		setSeed(array);
+	}
+
+	/**
+	 * Returns a new generator for the given stream of the given master seed. Each
+	 * distinct pair of master seed and stream number initializes the full state
+	 * vector through {@link #setSeed(int[])}, so generators for different streams
+	 * are independent and no generator is shared between streams.
+	 * 
+	 * @param seed the master seed
+	 * @param stream the stream number
+	 * @return a new generator for the stream
+	 */
+	public static MersenneTwister forStream(final long seed, final long stream) {
+		return new MersenneTwister(new int[] { (int) seed, (int) (seed >>> 32),
+				(int) stream, (int) (stream >>> 32) });
+	}
+
 	/**
 	 * Initalize the pseudo random number generator. Don't pass in a long that's
 	 * bigger than an int (Mersenne Twister only uses the first 32 bits for its
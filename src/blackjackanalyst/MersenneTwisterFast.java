@@ -0,0 +1,229 @@
+package blackjackanalyst;
+
+/**
+ * An unsynchronized version of {@link MersenneTwister}, which is not a subclass
+ * of java.util.Random. It is algorithmically identical to MersenneTwister: for
+ * the same seed, {@link #nextInt()}, {@link #nextInt(int)}, {@link #nextLong()}
+ * and {@link #nextDouble()} return exactly what the same methods of
+ * MersenneTwister return. Its methods are not synchronized, so an instance must
+ * be confined to a single thread at a time, such as the thread playing a table.
+ * A shoe that is pre-shuffling hands its generator over to the background
+ * thread, and does not use it again until pre-shuffling is turned off.
+ * <p>
+ * Instead of tempering each word of the state vector as it is requested, the
+ * whole state vector of 624 words is regenerated and tempered into a block at
+ * once, so that each subsequent call only reads the next word of the block.
+ * {@link #nextInts(int[])} copies words from the block in bulk, and
+ * {@link #nextBoundedInt(int)}, inherited from {@link AbstractRandomSource},
+ * chooses a bounded integer by multiplying and shifting instead of dividing,
+ * as described by Daniel Lemire in "Fast Random Integer Generation in an
+ * Interval", <i>ACM Transactions on Modeling and Computer Simulation,</i>
+ * Vol. 29, No. 1, 2019.
+ * <p>
+ * This class is derived from the MersenneTwister code by Sean Luke, and is
+ * distributed under the same license.
+ *
+ * @version 8
+ */
+final class MersenneTwisterFast extends AbstractRandomSource {
+	// Period parameters
+	private static final int N = 624;
+	private static final int M = 397;
+	private static final int MATRIX_A = 0x9908b0df; // constant vector a
+	private static final int UPPER_MASK = 0x80000000; // most significant w-r bits
+	private static final int LOWER_MASK = 0x7fffffff; // least significant r bits
+
+	// Tempering parameters
+	private static final int TEMPERING_MASK_B = 0x9d2c5680;
+	private static final int TEMPERING_MASK_C = 0xefc60000;
+
+	private final int mt[]; // the array for the state vector
+	private final int block[]; // the tempered words of the state vector
+	private int mti; // the index of the next word of the block
+
+	/**
+	 * Constructor using the current time in milliseconds as the seed.
+	 */
+	MersenneTwisterFast() {
+		this(System.currentTimeMillis());
+	}
+
+	/**
+	 * Constructor using a given seed, as passed to {@link #setSeed(long)}.
+	 */
+	MersenneTwisterFast(final long seed) {
+		mt = new int[N];
+		block = new int[N];
+		setSeed(seed);
+	}
+
+	/**
+	 * Constructor using a given array of seeds, as passed to
+	 * {@link #setSeed(int[])}.
+	 */
+	MersenneTwisterFast(final int[] array) {
+		mt = new int[N];
+		block = new int[N];
+		setSeed(array);
+	}
+
+	/**
+	 * Returns a new generator for the given stream of the given master seed,
+	 * which returns the same numbers as the generator returned by
+	 * {@link MersenneTwister#forStream(long, long)}.
+	 *
+	 * @param seed the master seed
+	 * @param stream the stream number
+	 * @return a new generator for the stream
+	 */
+	public static MersenneTwisterFast forStream(final long seed,
+			final long stream) {
+		return new MersenneTwisterFast(new int[] { (int) seed,
+				(int) (seed >>> 32), (int) stream, (int) (stream >>> 32) });
+	}
+
+	/**
+	 * Initalize the pseudo random number generator. Don't pass in a long that's
+	 * bigger than an int (Mersenne Twister only uses the first 32 bits for its
+	 * seed).
+	 */
+	public void setSeed(final long seed) {
+		mt[0] = (int) (seed & 0xfffffff);
+		for (int i = 1; i < N; i++) {
+			mt[i] = (1812433253 * (mt[i - 1] ^ (mt[i - 1] >>> 30)) + i);
+		}
+		mti = N;
+	}
+
+	/**
+	 * An alternative, more complete, method of seeding the pseudo random number
+	 * generator. array must be an array of 624 ints, and they can be any value
+	 * as long as they're not *all* zero.
+	 */
+	public void setSeed(final int[] array) {
+		int i, j, k;
+		setSeed(19650218);
+		i = 1;
+		j = 0;
+		k = (N > array.length ? N : array.length);
+		for (; k != 0; k--) {
+			mt[i] = (mt[i] ^ ((mt[i - 1] ^ (mt[i - 1] >>> 30)) * 1664525))
+					+ array[j] + j; /* non linear */
+			i++;
+			j++;
+			if (i >= N) {
+				mt[0] = mt[N - 1];
+				i = 1;
+			}
+			if (j >= array.length)
+				j = 0;
+		}
+		for (k = N - 1; k != 0; k--) {
+			mt[i] = (mt[i] ^ ((mt[i - 1] ^ (mt[i - 1] >>> 30)) * 1566083941))
+					- i; /* non linear */
+			i++;
+			if (i >= N) {
+				mt[0] = mt[N - 1];
+				i = 1;
+			}
+		}
+		mt[0] = 0x80000000; /* MSB is 1; assuring non-zero initial array */
+		mti = N;
+	}
+
+	/*
+	 * Generates the next N words of the state vector, and tempers them into the
+	 * block.
+	 */
+	private void refill() {
+		final int[] mt = this.mt; // locals are slightly faster
+		int kk;
+		int y;
+
+		for (kk = 0; kk < N - M; kk++) {
+			y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
+			mt[kk] = mt[kk + M] ^ (y >>> 1) ^ ((-(y & 0x1)) & MATRIX_A);
+		}
+		for (; kk < N - 1; kk++) {
+			y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
+			mt[kk] = mt[kk + (M - N)] ^ (y >>> 1) ^ ((-(y & 0x1)) & MATRIX_A);
+		}
+		y = (mt[N - 1] & UPPER_MASK) | (mt[0] & LOWER_MASK);
+		mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ ((-(y & 0x1)) & MATRIX_A);
+
+		final int[] block = this.block;
+		for (kk = 0; kk < N; kk++) {
+			y = mt[kk];
+			y ^= y >>> 11; // TEMPERING_SHIFT_U(y)
+			y ^= (y << 7) & TEMPERING_MASK_B; // TEMPERING_SHIFT_S(y)
+			y ^= (y << 15) & TEMPERING_MASK_C; // TEMPERING_SHIFT_T(y)
+			y ^= (y >>> 18); // TEMPERING_SHIFT_L(y)
+			block[kk] = y;
+		}
+		mti = 0;
+	}
+
+	/**
+	 * Returns a random integer, uniformly distributed over all integers.
+	 */
+	public int nextInt() {
+		if (mti >= N) {
+			refill();
+		}
+		return block[mti++];
+	}
+
+	/**
+	 * Fills the given array with random integers, uniformly distributed over
+	 * all integers. This returns the same integers as calling
+	 * {@link #nextInt()} once for each element of the array.
+	 */
+	public void nextInts(final int[] dst) {
+		int filled = 0;
+		while (filled < dst.length) {
+			if (mti >= N) {
+				refill();
+			}
+			int length = Math.min(N - mti, dst.length - filled);
+			System.arraycopy(block, mti, dst, filled, length);
+			mti += length;
+			filled += length;
+		}
+	}
+
+	/**
+	 * Returns a random integer between 0 (inclusive) and n (exclusive), chosen
+	 * exactly as java.util.Random does.
+	 */
+	public int nextInt(final int n) {
+		if (n <= 0)
+			throw new IllegalArgumentException("n must be positive");
+
+		if ((n & -n) == n) // i.e., n is a power of 2
+			return (int) ((n * (long) (nextInt() >>> 1)) >> 31);
+
+		int bits, val;
+		do {
+			bits = nextInt() >>> 1;
+			val = bits % n;
+		} while (bits - val + (n - 1) < 0);
+		return val;
+	}
+
+	/**
+	 * Returns a random long, uniformly distributed over all longs, chosen
+	 * exactly as java.util.Random does.
+	 */
+	public long nextLong() {
+		return ((long) nextInt() << 32) + nextInt();
+	}
+
+	/**
+	 * Returns a random double in the half-open range from [0.0,1.0), chosen
+	 * exactly as java.util.Random does.
+	 */
+	public double nextDouble() {
+		return (((long) (nextInt() >>> 6) << 27) + (nextInt() >>> 5))
+				/ (double) (1L << 53);
+	}
+}
@@ -20,22 +20,44 @@
 
 package blackjackanalyst;
 
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
- * A list of observers.
+ * A list of observers. The list is backed by an array that is never modified;
+ * adding or removing an observer replaces the array with a modified copy. This
+ * makes iterating over the list fast and safe while observers are added or
+ * removed, including by other threads.
+ * <p>
+ * For each type of event, the list also keeps the array of observers that
+ * receive the event, as given by {@link SelectiveObserver#getEvents()}, so that
+ * events are only dispatched to the observers that want them.
  * 
  * @author Michael Parker
  * 
  * @param <T> the type of observer in the list
  */
 public class ObserverList<T> implements Iterable<T> {
-	protected List<T> observers;
+	private static final Object[] EMPTY_OBSERVERS = new Object[0];
+
+	protected volatile Object[] observers;
+	// the observers receiving each event, indexed by event ordinal
+	protected volatile Object[][] eventObservers;
+	protected final Enum<?>[] events;
 
 	protected ObserverList() {
-		observers = new LinkedList<T>();
+		this(new Enum<?>[0]);
+	}
+
+	/**
+	 * Creates an empty list of observers that receive the given events.
+	 * 
+	 * @param events all the events that may be dispatched to the observers
+	 */
+	protected ObserverList(Enum<?>[] events) {
+		this.events = events;
+		setObservers(EMPTY_OBSERVERS);
 	}
 
 	/**
@@ -44,7 +66,7 @@ public class ObserverList<T> implements Iterable<T> {
 	 * @return the size of the observer list
 	 */
 	public int size() {
-		return observers.size();
+		return observers.length;
 	}
 
 	/**
@@ -54,7 +76,7 @@ public class ObserverList<T> implements Iterable<T> {
 	 * @return {@code true} if the observer list is empty, {@code false} otherwise
 	 */
 	public boolean isEmpty() {
-		return observers.isEmpty();
+		return (observers.length == 0);
 	}
 
 	/**
@@ -66,16 +88,37 @@ public class ObserverList<T> implements Iterable<T> {
 	 *         otherwise
 	 */
 	public boolean contains(T observer) {
-		return (observer != null) ? observers.contains(observer) : false;
+		return (observer != null) ? (indexOf(observers, observer) >= 0) : false;
 	}
 
 	/**
-	 * Returns an iterator over the list of observers.
+	 * Returns an iterator over the list of observers. The iterator traverses the
+	 * observers in the list when this method was called, and does not support
+	 * removal.
 	 * 
 	 * @return an iterator over the observer list
 	 */
 	public Iterator<T> iterator() {
-		return observers.iterator();
+		final Object[] snapshot = observers;
+		return new Iterator<T>() {
+			private int next = 0;
+
+			public boolean hasNext() {
+				return (next < snapshot.length);
+			}
+
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (next >= snapshot.length) {
+					throw new NoSuchElementException();
+				}
+				return (T) snapshot[next++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
 	}
 
 	/**
@@ -87,8 +130,16 @@ public class ObserverList<T> implements Iterable<T> {
 	 * @return {@code true} if the observer is added to the list, {@code false}
 	 *         otherwise
 	 */
-	public boolean add(T observer) {
-		return (observer != null) ? observers.add(observer) : false;
+	public synchronized boolean add(T observer) {
+		if (observer == null) {
+			return false;
+		}
+		Object[] oldObservers = observers;
+		Object[] newObservers = new Object[oldObservers.length + 1];
+		System.arraycopy(oldObservers, 0, newObservers, 0, oldObservers.length);
+		newObservers[oldObservers.length] = observer;
+		setObservers(newObservers);
+		return true;
 	}
 
 	/**
@@ -100,14 +151,87 @@ public class ObserverList<T> implements Iterable<T> {
 	 * @return {@code true} if the observer is removed from the list,
 	 *         {@code false} otherwise
 	 */
-	public boolean remove(T observer) {
-		return (observer != null) ? observers.remove(observer) : true;
+	public synchronized boolean remove(T observer) {
+		if (observer == null) {
+			return true;
+		}
+		Object[] oldObservers = observers;
+		int index = indexOf(oldObservers, observer);
+		if (index < 0) {
+			return false;
+		}
+		Object[] newObservers = new Object[oldObservers.length - 1];
+		System.arraycopy(oldObservers, 0, newObservers, 0, index);
+		System.arraycopy(oldObservers, index + 1, newObservers, index,
+		    newObservers.length - index);
+		setObservers(newObservers);
+		return true;
 	}
 
 	/**
 	 * Removes all the observers from the list.
 	 */
-	public void clear() {
-		observers.clear();
+	public synchronized void clear() {
+		setObservers(EMPTY_OBSERVERS);
+	}
+
+	/*
+	 * Returns the array of observers currently in the list, which must not be
+	 * modified. Dispatching iterates over this array by index.
+	 */
+	final Object[] snapshot() {
+		return observers;
+	}
+
+	/*
+	 * Returns the array of observers currently in the list that receive the given
+	 * event, which must not be modified.
+	 */
+	final Object[] snapshot(Enum<?> event) {
+		return eventObservers[event.ordinal()];
+	}
+
+	/*
+	 * Returns whether any observer currently in the list receives the given
+	 * event.
+	 */
+	final boolean isObserved(Enum<?> event) {
+		return (eventObservers[event.ordinal()].length > 0);
+	}
+
+	private void setObservers(Object[] newObservers) {
+		// find the observers that receive each event
+		Object[][] newEventObservers = new Object[events.length][];
+		for (int i = 0; i < events.length; ++i) {
+			int numReceiving = 0;
+			Object[] receiving = new Object[newObservers.length];
+			for (Object observer : newObservers) {
+				if (receives(observer, events[i])) {
+					receiving[numReceiving] = observer;
+					++numReceiving;
+				}
+			}
+			newEventObservers[i] = (numReceiving == receiving.length) ? receiving
+			    : Arrays.copyOf(receiving, numReceiving);
+		}
+
+		eventObservers = newEventObservers;
+		observers = newObservers;
+	}
+
+	private static boolean receives(Object observer, Enum<?> event) {
+		if (observer instanceof SelectiveObserver<?>) {
+			return ((SelectiveObserver<?>) observer).getEvents().contains(event);
+		}
+		return true;
+	}
+
+	private static int indexOf(Object[] observers, Object observer) {
+		for (int i = 0; i < observers.length; ++i) {
+			if (observer.equals(observers[i])) {
+				return i;
+			}
+		}
+		return -1;
 	}
 }
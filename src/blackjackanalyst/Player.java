@@ -22,6 +22,9 @@ package blackjackanalyst;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import blackjackanalyst.PlayerObserver.PlayerEvent;
 
 /**
  * A player at a blackjack table.
@@ -29,7 +32,8 @@ import java.util.List;
  * @author Michael Parker
  */
 public class Player {
-	private static int playerNum = 0;
+	// the number of players created, which may be on any thread
+	private static final AtomicInteger playerNum = new AtomicInteger();
 	final String name;
 
 	Table table;
@@ -38,7 +42,9 @@ public class Player {
 	int insuranceBet;
 
 	PlayerStrategy strategy;
-	int bankroll;
+	// whether the strategy is told of each card dealt
+	boolean notifyDealt;
+	long bankroll;
 
 	private final ObserverList<PlayerObserver> playerObservers;
 
@@ -52,8 +58,7 @@ public class Player {
 		if (strategy == null) {
 			throw new IllegalArgumentException("Player strategy can not be null");
 		}
-		name = "Player " + playerNum;
-		++playerNum;
+		name = "Player " + playerNum.getAndIncrement();
 
 		table = null;
 		bets = null;
@@ -61,9 +66,10 @@ public class Player {
 		insuranceBet = 0;
 
 		this.strategy = strategy;
+		notifyDealt = needsDealtCards(strategy);
 		bankroll = 500;
 
-		playerObservers = new ObserverList<PlayerObserver>();
+		playerObservers = new ObserverList<PlayerObserver>(PlayerEvent.values());
 	}
 
 	/**
@@ -80,7 +86,7 @@ public class Player {
 		if (name == null) {
 			throw new IllegalArgumentException("Player name cannot be null");
 		}
-		++playerNum;
+		playerNum.incrementAndGet();
 		this.name = name;
 
 		table = null;
@@ -88,9 +94,10 @@ public class Player {
 		betsReadOnly = null;
 
 		this.strategy = strategy;
+		notifyDealt = needsDealtCards(strategy);
 		bankroll = 500;
 
-		playerObservers = new ObserverList<PlayerObserver>();
+		playerObservers = new ObserverList<PlayerObserver>(PlayerEvent.values());
 	}
 
 	/**
@@ -99,24 +106,24 @@ public class Player {
 	 * @param strategy the strategy the blackjack player will use
 	 * @param bankroll the starting bankroll of the player
 	 */
-	public Player(PlayerStrategy strategy, int bankroll) {
+	public Player(PlayerStrategy strategy, long bankroll) {
 		if (strategy == null) {
 			throw new IllegalArgumentException("Player strategy can not be null");
 		}
 		if (bankroll < 0) {
 			throw new IllegalArgumentException("Bankroll can not be negative");
 		}
-		++playerNum;
-		name = "Player " + playerNum;
+		name = "Player " + playerNum.incrementAndGet();
 
 		table = null;
 		bets = null;
 		betsReadOnly = null;
 
 		this.strategy = strategy;
+		notifyDealt = needsDealtCards(strategy);
 		this.bankroll = bankroll;
 
-		playerObservers = new ObserverList<PlayerObserver>();
+		playerObservers = new ObserverList<PlayerObserver>(PlayerEvent.values());
 	}
 
 	/**
@@ -126,7 +133,7 @@ public class Player {
 	 * @param bankroll the starting bankroll of the player
 	 * @param name the name of the player
 	 */
-	public Player(PlayerStrategy strategy, int bankroll, String name) {
+	public Player(PlayerStrategy strategy, long bankroll, String name) {
 		if (strategy == null) {
 			throw new IllegalArgumentException("Player strategy can not be null");
 		}
@@ -136,7 +143,7 @@ public class Player {
 		if (name == null) {
 			throw new IllegalArgumentException("Player name cannot be null");
 		}
-		++playerNum;
+		playerNum.incrementAndGet();
 		this.name = name;
 
 		table = null;
@@ -144,9 +151,10 @@ public class Player {
 		betsReadOnly = null;
 
 		this.strategy = strategy;
+		notifyDealt = needsDealtCards(strategy);
 		this.bankroll = bankroll;
 
-		playerObservers = new ObserverList<PlayerObserver>();
+		playerObservers = new ObserverList<PlayerObserver>(PlayerEvent.values());
 	}
 
 	/**
@@ -172,9 +180,43 @@ public class Player {
 		}
 		PlayerStrategy prevStrategy = strategy;
 		strategy = newStrategy;
+		notifyDealt = needsDealtCards(newStrategy);
 		return prevStrategy;
 	}
 
+	/*
+	 * Returns whether the given strategy must be told of each card dealt, which
+	 * is false only if it is a CompositionPlayerStrategy and its cardDealt
+	 * method is not overridden below the nearest class implementing that
+	 * interface.
+	 */
+	private static boolean needsDealtCards(PlayerStrategy strategy) {
+		if (!(strategy instanceof CompositionPlayerStrategy)) {
+			return true;
+		}
+		// find the nearest class that implements the interface itself
+		Class<?> compositionClass = strategy.getClass();
+		while (!implementsComposition(compositionClass)) {
+			compositionClass = compositionClass.getSuperclass();
+		}
+		try {
+			Class<?> declaringClass = strategy.getClass().getMethod("cardDealt",
+			    Card.class).getDeclaringClass();
+			return !declaringClass.isAssignableFrom(compositionClass);
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
+	}
+
+	private static boolean implementsComposition(Class<?> type) {
+		for (Class<?> implemented : type.getInterfaces()) {
+			if (CompositionPlayerStrategy.class.isAssignableFrom(implemented)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Returns the strategy used by the player.
 	 * 
@@ -191,11 +233,11 @@ public class Player {
 	 * @param newBankroll the new player bankroll
 	 * @return the previous player bankroll
 	 */
-	public int setBankroll(int newBankroll) {
+	public long setBankroll(long newBankroll) {
 		if (newBankroll < 0) {
 			throw new IllegalArgumentException("Bankroll can not be negative");
 		}
-		int prevBankroll = bankroll;
+		long prevBankroll = bankroll;
 		bankroll = newBankroll;
 		return prevBankroll;
 	}
@@ -205,7 +247,7 @@ public class Player {
 	 * 
 	 * @return the player bankroll
 	 */
-	public int getBankroll() {
+	public long getBankroll() {
 		return bankroll;
 	}
 
@@ -247,97 +289,137 @@ public class Player {
 	 */
 
 	protected void playerJoins(Table table) {
-		for (PlayerObserver playerObserver : playerObservers) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_JOINS);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerJoins(table);
 		}
 	}
 
 	protected void playerLeaves(Table table) {
-		for (PlayerObserver playerObserver : playerObservers) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_LEAVES);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerLeaves(table);
 		}
 	}
 
-	protected void playerBets(int betAmount, int bankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerBets(int betAmount, long bankroll) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_BETS);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerBets(betAmount, bankroll);
 		}
 	}
 
-	protected void playerInsures(int betAmount, int bankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerInsures(int betAmount, long bankroll) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_INSURES);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerInsures(betAmount, bankroll);
 		}
 	}
 
 	protected void playerDealt(PlayerHand hand) {
-		for (PlayerObserver playerObserver : playerObservers) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_DEALT);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerDealt(hand);
 		}
 	}
 
-	protected void playerDraws(Card card, PlayerHand newHand) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerDraws(int cardId, PlayerHand newHand) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_DRAWS);
+		Card card = Card.getCard(cardId);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerDraws(card, newHand);
 		}
 	}
 
 	protected void playerStands(PlayerHand hand) {
-		for (PlayerObserver playerObserver : playerObservers) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_STANDS);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerStands(hand);
 		}
 	}
 
-	protected void playerBusts(PlayerHand hand, int amountLost, int newBankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerBusts(PlayerHand hand, int amountLost,
+	    long newBankroll) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_BUSTS);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerBusts(hand, amountLost, newBankroll);
 		}
 	}
 
 	protected void playerSplits(PlayerHand hand) {
-		for (PlayerObserver playerObserver : playerObservers) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_SPLITS);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerSplits(hand);
 		}
 	}
 
-	protected void playerDoublesDown(Card card, PlayerHand newHand) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerDoublesDown(int cardId, PlayerHand newHand) {
+		Object[] observers = playerObservers
+		    .snapshot(PlayerEvent.PLAYER_DOUBLES_DOWN);
+		Card card = Card.getCard(cardId);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerDoublesDown(card, newHand);
 		}
 	}
 
-	protected void playerWins(PlayerHand hand, int amountWon, int newBankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerWins(PlayerHand hand, int amountWon, long newBankroll) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_WINS);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerWins(hand, amountWon, newBankroll);
 		}
 	}
 
-	protected void playerLoses(PlayerHand hand, int amountLost, int newBankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerLoses(PlayerHand hand, int amountLost,
+	    long newBankroll) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_LOSES);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerLoses(hand, amountLost, newBankroll);
 		}
 	}
 
-	protected void playerBlackjack(PlayerHand hand, int amountWon, int newBankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerBlackjack(PlayerHand hand, int amountWon,
+	    long newBankroll) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_BLACKJACK);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerBlackjack(hand, amountWon, newBankroll);
 		}
 	}
 
-	protected void playerPush(PlayerHand hand, int heldBankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerPush(PlayerHand hand, long heldBankroll) {
+		Object[] observers = playerObservers.snapshot(PlayerEvent.PLAYER_PUSH);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerPush(hand, heldBankroll);
 		}
 	}
 
-	protected void playerWinsInsurance(int amountWon, int newBankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerWinsInsurance(int amountWon, long newBankroll) {
+		Object[] observers = playerObservers
+		    .snapshot(PlayerEvent.PLAYER_WINS_INSURANCE);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerWinsInsurance(amountWon, newBankroll);
 		}
 	}
 
-	protected void playerLosesInsurance(int amountLost, int newBankroll) {
-		for (PlayerObserver playerObserver : playerObservers) {
+	protected void playerLosesInsurance(int amountLost, long newBankroll) {
+		Object[] observers = playerObservers
+		    .snapshot(PlayerEvent.PLAYER_LOSES_INSURANCE);
+		for (int i = 0; i < observers.length; ++i) {
+			PlayerObserver playerObserver = (PlayerObserver) observers[i];
 			playerObserver.playerLosesInsurance(amountLost, newBankroll);
 		}
 	}
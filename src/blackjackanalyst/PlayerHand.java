@@ -24,19 +24,26 @@ import java.util.List;
 
 /**
  * A hand of cards belonging to a player.
+ * <p>
+ * A hand is only valid until the end of the round in which it is bet. The
+ * table then reuses the same object for a bet in a later round, so a strategy
+ * or observer that keeps a hand, or the list returned by {@link #getCards()},
+ * after the round must copy what it needs before the round ends.
  * 
  * @author Michael Parker
  */
 public class PlayerHand extends Hand {
 	protected int betAmount;
 	protected boolean beenSplit;
-	protected final Player player;
+	protected Player player;
+	protected int betNumber;
 
 	protected PlayerHand(int betAmount, boolean beenSplit, Player player) {
 		super();
 		this.betAmount = betAmount;
 		this.beenSplit = beenSplit;
 		this.player = player;
+		this.betNumber = -1;
 	}
 
 	protected PlayerHand(int betAmount, boolean beenSplit, Player player,
@@ -45,6 +52,7 @@ public class PlayerHand extends Hand {
 		this.betAmount = betAmount;
 		this.beenSplit = beenSplit;
 		this.player = player;
+		this.betNumber = -1;
 	}
 
 	protected PlayerHand(int betAmount, boolean beenSplit, Player player,
@@ -53,6 +61,7 @@ public class PlayerHand extends Hand {
 		this.betAmount = betAmount;
 		this.beenSplit = beenSplit;
 		this.player = player;
+		this.betNumber = -1;
 	}
 
 	/**
@@ -62,8 +71,8 @@ public class PlayerHand extends Hand {
 	 * @return {@code true} if the hand is a pair, {@code false} otherwise
 	 */
 	public boolean isPair() {
-		return ((cards.size() == 2) && (cards.get(0).getValue() == cards.get(1)
-		    .getValue()));
+		return ((numCards == 2) && (Card.getValue(cards[0]) == Card
+		    .getValue(cards[1])));
 	}
 
 	/**
@@ -91,7 +100,7 @@ public class PlayerHand extends Hand {
 	 * 
 	 * @return the player bankroll
 	 */
-	public int getBankroll() {
+	public long getBankroll() {
 		return player.bankroll;
 	}
 
@@ -112,20 +121,14 @@ public class PlayerHand extends Hand {
 	 * @return the unique identifier of this bet
 	 */
 	public int getBetNumber() {
-		int betNum = 0;
-		for (PlayerHand hand : player.bets) {
-			if (hand == this) {
-				return betNum;
-			}
-			++betNum;
-		}
-		return -1;
+		return betNumber;
 	}
 
 	/**
 	 * Returns all bets belonging to the player this round. This
 	 * {@link PlayerHand} object is found at the index returned by method
-	 * {@link #getBetNumber()}.
+	 * {@link #getBetNumber()}. The list is reused in the next round, and its
+	 * hands are only valid until the end of this round.
 	 * 
 	 * @return all bets this round
 	 */
@@ -133,24 +136,28 @@ public class PlayerHand extends Hand {
 		return player.betsReadOnly;
 	}
 
-	protected PlayerHand makeSplit() {
+	/*
+	 * Empties this hand so that it can be reused as a new bet.
+	 */
+	protected void reset(int betAmount, boolean beenSplit, Player player) {
+		clear();
+		this.betAmount = betAmount;
+		this.beenSplit = beenSplit;
+		this.player = player;
+		this.betNumber = -1;
+	}
+
+	protected void makeSplit(PlayerHand splitHand) {
 		// adjust this hand since now split
-		Card cardLeft = cards.get(0);
-		handValues.clear();
-		if (cardLeft.isAce()) {
-			handValues.add(1);
-			handValues.add(11);
-			highValidValue = 11;
-		} else {
-			int cardValue = cardLeft.getValue();
-			handValues.add(cardValue);
-			highValidValue = cardValue;
-		}
+		int cardLeft = cards[0];
+		int splitCard = cards[1];
+		clear();
+		add(cardLeft);
 		beenSplit = true;
 
-		// create and return new hand
-		Card splitCard = cards.remove(1);
-		return new PlayerHand(betAmount, true, player, splitCard);
+		// move split card to the given hand
+		splitHand.reset(betAmount, true, player);
+		splitHand.add(splitCard);
 	}
 
 	/**
@@ -162,6 +169,6 @@ public class PlayerHand extends Hand {
 	 */
 	public boolean isBlackjack() {
 		// blackjack only if hand has not been split or split card is not an ace
-		return (super.isBlackjack() && (!beenSplit || !cards.get(0).isAce()));
+		return (super.isBlackjack() && (!beenSplit || !Card.isAce(cards[0])));
 	}
 }
@@ -22,10 +22,68 @@ package blackjackanalyst;
 
 /**
  * An interface that allows observation of a player.
+ * <p>
+ * The {@link PlayerHand} passed to a method of this interface is only valid
+ * until the end of the round, after which the table reuses it for a later bet.
+ * An observer must not keep a hand beyond the round, but can copy its cards or
+ * values.
  * 
  * @author Michael Parker
  */
 public interface PlayerObserver {
+	/**
+	 * The events that a player observer can receive. Each event corresponds to a
+	 * method of {@link PlayerObserver}.
+	 * 
+	 * @author Michael Parker
+	 */
+	public static enum PlayerEvent {
+		PLAYER_JOINS("playerJoins", Table.class),
+		PLAYER_LEAVES("playerLeaves", Table.class),
+		PLAYER_BETS("playerBets", int.class, long.class),
+		PLAYER_INSURES("playerInsures", int.class, long.class),
+		PLAYER_DEALT("playerDealt", PlayerHand.class),
+		PLAYER_DRAWS("playerDraws", Card.class, PlayerHand.class),
+		PLAYER_STANDS("playerStands", PlayerHand.class),
+		PLAYER_BUSTS("playerBusts", PlayerHand.class, int.class, long.class),
+		PLAYER_SPLITS("playerSplits", PlayerHand.class),
+		PLAYER_DOUBLES_DOWN("playerDoublesDown", Card.class, PlayerHand.class),
+		PLAYER_WINS("playerWins", PlayerHand.class, int.class, long.class),
+		PLAYER_LOSES("playerLoses", PlayerHand.class, int.class, long.class),
+		PLAYER_BLACKJACK("playerBlackjack", PlayerHand.class, int.class,
+		    long.class),
+		PLAYER_PUSH("playerPush", PlayerHand.class, long.class),
+		PLAYER_WINS_INSURANCE("playerWinsInsurance", int.class, long.class),
+		PLAYER_LOSES_INSURANCE("playerLosesInsurance", int.class, long.class);
+
+		private final String methodName;
+		private final Class<?>[] parameterTypes;
+
+		private PlayerEvent(String methodName, Class<?>... parameterTypes) {
+			this.methodName = methodName;
+			this.parameterTypes = parameterTypes;
+		}
+
+		/**
+		 * Returns the name of the observer method invoked for this event.
+		 * 
+		 * @return the observer method name
+		 */
+		public String getMethodName() {
+			return methodName;
+		}
+
+		/**
+		 * Returns the parameter types of the observer method invoked for this
+		 * event.
+		 * 
+		 * @return the observer method parameter types
+		 */
+		public Class<?>[] getParameterTypes() {
+			return parameterTypes.clone();
+		}
+	}
+
 	/**
 	 * This method is invoked when the player joins a table.
 	 * 
@@ -47,7 +105,7 @@ public interface PlayerObserver {
 	 * @param betAmount the amount the player bet
 	 * @param bankroll the bankroll of the player, which includes the amount bet
 	 */
-	public void playerBets(int betAmount, int bankroll);
+	public void playerBets(int betAmount, long bankroll);
 
 	/**
 	 * This method is invoked when the player makes his insurance bet.
@@ -55,7 +113,7 @@ public interface PlayerObserver {
 	 * @param betAmount the amount the player insures
 	 * @param bankroll the bankroll of the player, which includes the amount bet
 	 */
-	public void playerInsures(int betAmount, int bankroll);
+	public void playerInsures(int betAmount, long bankroll);
 
 	/**
 	 * This method is invoked when the player is dealt a new hand.
@@ -87,7 +145,7 @@ public interface PlayerObserver {
 	 * @param newBankroll the new bankroll of the player, after subtracting the
 	 *          loss
 	 */
-	public void playerBusts(PlayerHand hand, int amountLost, int newBankroll);
+	public void playerBusts(PlayerHand hand, int amountLost, long newBankroll);
 
 	/**
 	 * This method is invoked when the player splits the hand.
@@ -113,7 +171,7 @@ public interface PlayerObserver {
 	 * @param amountWon the amount the player won
 	 * @param newBankroll the new bankroll of the player, after adding the winning
 	 */
-	public void playerWins(PlayerHand hand, int amountWon, int newBankroll);
+	public void playerWins(PlayerHand hand, int amountWon, long newBankroll);
 
 	/**
 	 * This method is invoked when the observed player loses.
@@ -123,7 +181,7 @@ public interface PlayerObserver {
 	 * @param newBankroll the new bankroll of the player, after subtracting the
 	 *          loss
 	 */
-	public void playerLoses(PlayerHand hand, int amountLost, int newBankroll);
+	public void playerLoses(PlayerHand hand, int amountLost, long newBankroll);
 
 	/**
 	 * This method is invoked when the observed player gets a blackjack.
@@ -132,7 +190,7 @@ public interface PlayerObserver {
 	 * @param amountWon the amount the player won on blackjack
 	 * @param newBankroll the new bankroll of the player, after adding the winning
 	 */
-	public void playerBlackjack(PlayerHand hand, int amountWon, int newBankroll);
+	public void playerBlackjack(PlayerHand hand, int amountWon, long newBankroll);
 
 	/**
 	 * This method is invoked when the observed player ties the dealer, or pushes.
@@ -140,7 +198,7 @@ public interface PlayerObserver {
 	 * @param hand the hand the player pushed on
 	 * @param heldBankroll the unchanged bankroll of the player
 	 */
-	public void playerPush(PlayerHand hand, int heldBankroll);
+	public void playerPush(PlayerHand hand, long heldBankroll);
 
 	/**
 	 * This method is invoked when the observed player wins his insurance bet.
@@ -148,7 +206,7 @@ public interface PlayerObserver {
 	 * @param amountWon the amount the player won
 	 * @param newBankroll the new bankroll of the player, after adding the winning
 	 */
-	public void playerWinsInsurance(int amountWon, int newBankroll);
+	public void playerWinsInsurance(int amountWon, long newBankroll);
 
 	/**
 	 * This method is invoked when the observed player loses his insurance bet.
@@ -157,5 +215,5 @@ public interface PlayerObserver {
 	 * @param newBankroll the new bankroll of the player, after subtracting the
 	 *          loss
 	 */
-	public void playerLosesInsurance(int amountLost, int newBankroll);
+	public void playerLosesInsurance(int amountLost, long newBankroll);
 }
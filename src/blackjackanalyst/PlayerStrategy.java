@@ -23,6 +23,11 @@ package blackjackanalyst;
 /**
  * An interface to be implemented by a user-defined player strategy. A player
  * strategy defines what action a player takes given a hand of cards.
+ * <p>
+ * The {@link PlayerHand} passed to {@link #getAction(PlayerHand, Card)} and
+ * {@link #getInsuranceBet(PlayerHand, int)} is only valid until the end of the
+ * round, after which the table reuses it for a later bet, so a strategy must
+ * not keep it.
  * 
  * @author Michael Parker
  */
@@ -101,7 +106,7 @@ public interface PlayerStrategy {
 	 * @param bankroll the current bankroll of the player
 	 * @return the bet made by the player
 	 */
-	public int getBet(int bankroll);
+	public int getBet(long bankroll);
 
 	/**
 	 * Notifies the player that the dealer is showing an ace as his up card and is
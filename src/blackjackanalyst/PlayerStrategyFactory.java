@@ -0,0 +1,54 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+/**
+ * A service that creates instances of a player strategy. Because a
+ * {@link Player} holds a single strategy instance that may keep mutable state,
+ * such as a count of the cards dealt, a runner that plays tables on several
+ * threads or in several processes creates a new instance for every player with
+ * {@link #createStrategy()}, so that no instance is shared between tables.
+ * <p>
+ * Factories are discovered by {@link java.util.ServiceLoader}, and are found by
+ * name with {@link StrategyFactories#getPlayerStrategyFactory(String)}. To
+ * make a strategy available, implement this interface in a public class with a
+ * public no-argument constructor, and list the class in the file
+ * <code>META-INF/services/blackjackanalyst.PlayerStrategyFactory</code>.
+ * 
+ * @author Michael Parker
+ */
+public interface PlayerStrategyFactory {
+	/**
+	 * Returns the name by which the strategy is selected, such as on the command
+	 * line of the simulator. Names are compared without regard to case.
+	 * 
+	 * @return the name of the strategy
+	 */
+	public String getName();
+
+	/**
+	 * Returns a new instance of the strategy, which shares no mutable state with
+	 * any other instance.
+	 * 
+	 * @return a new player strategy
+	 */
+	public PlayerStrategy createStrategy();
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shuffles the orders of a shoe on a background thread, ahead of the table
+ * that deals from the shoe. Shuffled orders are passed from the background
+ * thread to the table through a bounded ring buffer with a single producer and
+ * a single consumer, which requires no locks. When the ring buffer is full the
+ * background thread waits for the table to take an order, and when it is empty
+ * the table waits for the background thread.
+ * <p>
+ * The orders are shuffled one after another with a single random number
+ * generator, so the sequence of orders depends only on the generator and on the
+ * initial order of the shoe. For each order, the shuffle mark is chosen before
+ * the cards are shuffled, as a shoe shuffled lazily by the same generator
+ * does, so the first order is the order that such a shoe would deal.
+ * 
+ * @author Michael Parker
+ */
+final class PreShuffler implements Runnable {
+	// the number of shuffled orders that can wait in the ring buffer
+	private static final int CAPACITY = 4;
+	// the longest time the table waits before checking for an order again
+	private static final long WAIT_NANOS = 100000L;
+
+	private final RandomSource rng;
+	// the order shuffled by the background thread
+	private final byte[] order;
+
+	private final byte[][] slots;
+	private final int[] shuffleMarks;
+	// the number of orders taken, written only by the consumer
+	private volatile long head;
+	// the number of orders shuffled, written only by the producer
+	private volatile long tail;
+
+	private volatile boolean stopped;
+	private final Thread thread;
+	private volatile Thread consumer;
+
+	/*
+	 * Creates a pre-shuffler that shuffles the given initial order with the
+	 * given random number generator, which must not be used by any other thread
+	 * until the pre-shuffler is stopped.
+	 */
+	PreShuffler(byte[] initialOrder, RandomSource rng) {
+		this.rng = rng;
+		order = initialOrder.clone();
+
+		slots = new byte[CAPACITY][order.length];
+		shuffleMarks = new int[CAPACITY];
+		head = 0;
+		tail = 0;
+
+		stopped = false;
+		thread = new Thread(this, "PreShuffler");
+		thread.setDaemon(true);
+	}
+
+	/*
+	 * Starts shuffling orders on the background thread.
+	 */
+	void start() {
+		thread.start();
+	}
+
+	/*
+	 * Stops shuffling orders, and waits for the background thread to finish.
+	 */
+	void stop() {
+		stopped = true;
+		LockSupport.unpark(thread);
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public void run() {
+		while (!stopped) {
+			if ((tail - head) == CAPACITY) {
+				// ring buffer is full, wait until the consumer or stop unparks us
+				LockSupport.park(this);
+				continue;
+			}
+
+			int slot = (int) (tail % CAPACITY);
+			shuffleMarks[slot] = Shoe.nextShuffleMark(rng);
+			Shoe.shuffleOrder(order, rng);
+			System.arraycopy(order, 0, slots[slot], 0, order.length);
+			// publish the order to the consumer
+			tail = tail + 1;
+
+			Thread waitingConsumer = consumer;
+			if (waitingConsumer != null) {
+				LockSupport.unpark(waitingConsumer);
+			}
+		}
+	}
+
+	/*
+	 * Copies the next shuffled order into the given array, waiting for the
+	 * background thread if no order is ready, and returns its shuffle mark.
+	 */
+	int take(byte[] cards) {
+		long nextHead = head;
+		if (tail == nextHead) {
+			consumer = Thread.currentThread();
+			while (tail == nextHead) {
+				LockSupport.parkNanos(this, WAIT_NANOS);
+			}
+			consumer = null;
+		}
+
+		int slot = (int) (nextHead % CAPACITY);
+		System.arraycopy(slots[slot], 0, cards, 0, cards.length);
+		int shuffleMark = shuffleMarks[slot];
+		// release the slot to the producer
+		head = nextHead + 1;
+		LockSupport.unpark(thread);
+		return shuffleMark;
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+/**
+ * A source of random numbers used to shuffle a shoe. Implementations are not
+ * required to be synchronized, so a source must be used only by the thread
+ * that owns it, such as the thread playing a table. A source for a given seed
+ * and stream is created by {@link RandomSourceType#create(long, long)}.
+ * 
+ * @author Michael Parker
+ */
+public interface RandomSource {
+	/**
+	 * Returns a random integer, uniformly distributed over all integers.
+	 * 
+	 * @return the random integer
+	 */
+	public int nextInt();
+
+	/**
+	 * Returns a random integer, uniformly distributed between {@code 0}
+	 * (inclusive) and the given bound (exclusive).
+	 * 
+	 * @param bound the upper bound, which must be positive
+	 * @return the random integer
+	 */
+	public int nextBoundedInt(int bound);
+}
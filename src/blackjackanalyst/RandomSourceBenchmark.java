@@ -0,0 +1,115 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+/**
+ * Compares the throughput of each {@link RandomSourceType}. For each type, it
+ * measures how quickly integers are drawn, and how quickly the orders of an
+ * eight-deck shoe are shuffled. As a basic check of the shuffles, it also
+ * reports the chi-square statistic of the first card of each order, which has
+ * 51 degrees of freedom and should rarely exceed 80. This is no substitute for
+ * a test suite such as TestU01, but catches a generator that is badly broken.
+ * <p>
+ * The first optional argument is the number of shoes to shuffle with each
+ * type, which defaults to one million. The second optional argument is a
+ * single type to measure. Measuring all types in one run lets the types share
+ * the call sites of the benchmark, which the compiler then cannot inline, so
+ * the most accurate comparison measures each type in its own run.
+ * 
+ * @author Michael Parker
+ */
+public class RandomSourceBenchmark {
+	private static final int NUM_DECKS = 8;
+	// the number of integers drawn per shoe shuffled
+	private static final int INTS_PER_SHOE = 1000;
+
+	private static long drawInts(RandomSource rng, long numInts) {
+		int sum = 0;
+		for (long i = 0; i < numInts; ++i) {
+			sum += rng.nextInt();
+		}
+		return sum;
+	}
+
+	private static long shuffleShoes(RandomSource rng, int numShoes,
+	    int[] firstCardCounts) {
+		byte[] order = new byte[NUM_DECKS * Card.CARDS_PER_DECK];
+		for (int i = 0; i < order.length; ++i) {
+			order[i] = (byte) (i % Card.CARDS_PER_DECK);
+		}
+		for (int i = 0; i < numShoes; ++i) {
+			Shoe.shuffleOrder(order, rng);
+			++firstCardCounts[order[0]];
+		}
+		return order[order.length - 1];
+	}
+
+	private static double chiSquare(int[] counts, int numShoes) {
+		double expected = numShoes / (double) counts.length;
+		double chiSquare = 0;
+		for (int count : counts) {
+			double difference = count - expected;
+			chiSquare += (difference * difference) / expected;
+		}
+		return chiSquare;
+	}
+
+	public static void main(String[] args) {
+		int numShoes = (args.length > 0) ? Integer.valueOf(args[0]).intValue()
+		    : 1000000;
+		long numInts = (long) numShoes * INTS_PER_SHOE;
+		RandomSourceType[] types = RandomSourceType.values();
+		if (args.length > 1) {
+			types = new RandomSourceType[] { RandomSourceType.valueOf(args[1]
+			    .toUpperCase()) };
+		}
+
+		// the sink keeps the loops from being optimized away
+		long sink = 0;
+		for (int pass = 0; pass < 2; ++pass) {
+			// the first pass only warms up the compiler
+			boolean measure = (pass == 1);
+			for (RandomSourceType type : types) {
+				RandomSource rng = type.create(42, 0);
+				int[] firstCardCounts = new int[Card.CARDS_PER_DECK];
+				int passShoes = measure ? numShoes : (numShoes / 10);
+
+				long startTime = System.nanoTime();
+				sink += drawInts(rng, measure ? numInts : (numInts / 10));
+				long intTime = System.nanoTime() - startTime;
+				startTime = System.nanoTime();
+				sink += shuffleShoes(rng, passShoes, firstCardCounts);
+				long shuffleTime = System.nanoTime() - startTime;
+
+				if (measure) {
+					System.out.printf(
+					    "%-16s %8.1f M ints/s %8.1f ns/shoe  chi-square=%.1f%n",
+					    type, (numInts * 1000.0) / intTime, shuffleTime
+					        / (double) numShoes, chiSquare(firstCardCounts,
+					        numShoes));
+				}
+			}
+		}
+		if (sink == 42) {
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * The random number generators that can shuffle the shoe of a table. Each
+ * creates an independent {@link RandomSource} for every stream of a master
+ * seed, so that tables given different streams can play concurrently.
+ * <p>
+ * Apart from the Mersenne Twister, which is seeded by the master seed and
+ * stream directly, a generator is seeded by mixing the master seed and stream
+ * into a single 64-bit seed, which is distinct for every stream of the same
+ * master seed.
+ * 
+ * @author Michael Parker
+ */
+public enum RandomSourceType {
+	/**
+	 * The Mersenne Twister MT19937, which returns the same numbers as
+	 * {@link MersenneTwister#forStream(long, long)}.
+	 */
+	MERSENNE_TWISTER {
+		public RandomSource create(long seed, long stream) {
+			return MersenneTwisterFast.forStream(seed, stream);
+		}
+	},
+	/**
+	 * The xoshiro256** generator, with 256 bits of state.
+	 */
+	XOSHIRO256 {
+		public RandomSource create(long seed, long stream) {
+			return new Xoshiro256StarStar(streamSeed(seed, stream));
+		}
+	},
+	/**
+	 * The {@link SplittableRandom} generator of the JDK, with 64 bits of state.
+	 */
+	SPLITTABLE {
+		public RandomSource create(long seed, long stream) {
+			return new RandomGeneratorSource(new SplittableRandom(streamSeed(seed,
+			    stream)));
+		}
+	},
+	/**
+	 * The L64X128MixRandom generator of the JDK, of the LXM family, with 192 bits
+	 * of state.
+	 */
+	L64X128 {
+		public RandomSource create(long seed, long stream) {
+			return new RandomGeneratorSource(RandomGeneratorFactory.of(
+			    "L64X128MixRandom").create(streamSeed(seed, stream)));
+		}
+	};
+
+	// the odd constant by which SplitMix64 advances its state
+	static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * Returns a new random source for the given stream of the given master seed.
+	 * 
+	 * @param seed the master seed
+	 * @param stream the stream number
+	 * @return a new random source for the stream
+	 */
+	public abstract RandomSource create(long seed, long stream);
+
+	/*
+	 * Returns the seed of the given stream of the given master seed. Both
+	 * steps are bijections, so distinct streams of a master seed have distinct
+	 * seeds.
+	 */
+	static long streamSeed(long seed, long stream) {
+		return mix64(mix64(seed) + (stream * GOLDEN_GAMMA));
+	}
+
+	/*
+	 * The finalizer of SplitMix64, which is a bijection of 64-bit values.
+	 */
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
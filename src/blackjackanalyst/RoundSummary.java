@@ -0,0 +1,335 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A summary of a round of blackjack played at a table, delivered to each
+ * {@link RoundObserver} of the table. The summary records the result of every
+ * hand played by the players, the insurance bets of the players, and the final
+ * hand of the dealer.
+ * <p>
+ * A table fills a single summary in place as it plays each round, so the
+ * contents of a summary are only valid until the observer method it was
+ * passed to returns.
+ * 
+ * @author Michael Parker
+ */
+public final class RoundSummary {
+	/**
+	 * The outcome of a player hand that beat the hand of the dealer, or was not
+	 * busted when the dealer busted.
+	 */
+	public static final int WIN = 0;
+	/**
+	 * The outcome of a player hand that lost to the hand of the dealer.
+	 */
+	public static final int LOSS = 1;
+	/**
+	 * The outcome of a player hand that busted.
+	 */
+	public static final int BUST = 2;
+	/**
+	 * The outcome of a player hand that was a blackjack.
+	 */
+	public static final int BLACKJACK = 3;
+	/**
+	 * The outcome of a player hand that tied the hand of the dealer.
+	 */
+	public static final int PUSH = 4;
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private List<Player> players;
+
+	private int numHands;
+	private int[] playerIndexes;
+	private int[] bets;
+	private int[] outcomes;
+	private int[] payouts;
+
+	private int[] initialBets;
+	private int[] insuranceBets;
+	private int[] insurancePayouts;
+
+	private int numCards;
+	private int dealerValue;
+	private boolean dealerBusted;
+	private boolean dealerBlackjack;
+
+	RoundSummary() {
+		playerIndexes = new int[INITIAL_CAPACITY];
+		bets = new int[INITIAL_CAPACITY];
+		outcomes = new int[INITIAL_CAPACITY];
+		payouts = new int[INITIAL_CAPACITY];
+
+		initialBets = new int[INITIAL_CAPACITY];
+		insuranceBets = new int[INITIAL_CAPACITY];
+		insurancePayouts = new int[INITIAL_CAPACITY];
+	}
+
+	/*
+	 * Clears the summary for a new round played by the given players.
+	 */
+	void reset(List<Player> players) {
+		this.players = players;
+		int numPlayers = players.size();
+		if (insuranceBets.length < numPlayers) {
+			initialBets = new int[numPlayers];
+			insuranceBets = new int[numPlayers];
+			insurancePayouts = new int[numPlayers];
+		} else {
+			Arrays.fill(initialBets, 0, numPlayers, 0);
+			Arrays.fill(insuranceBets, 0, numPlayers, 0);
+			Arrays.fill(insurancePayouts, 0, numPlayers, 0);
+		}
+
+		numHands = 0;
+		numCards = 0;
+		dealerValue = 0;
+		dealerBusted = false;
+		dealerBlackjack = false;
+	}
+
+	/*
+	 * Records the outcome of a hand of the player with the given index.
+	 */
+	void addHand(int playerIndex, int bet, int outcome, int payout) {
+		if (numHands == bets.length) {
+			int capacity = 2 * numHands;
+			playerIndexes = Arrays.copyOf(playerIndexes, capacity);
+			bets = Arrays.copyOf(bets, capacity);
+			outcomes = Arrays.copyOf(outcomes, capacity);
+			payouts = Arrays.copyOf(payouts, capacity);
+		}
+		playerIndexes[numHands] = playerIndex;
+		bets[numHands] = bet;
+		outcomes[numHands] = outcome;
+		payouts[numHands] = payout;
+		++numHands;
+	}
+
+	/*
+	 * Records the bet placed by the player with the given index before the
+	 * cards were dealt.
+	 */
+	void setInitialBet(int playerIndex, int bet) {
+		initialBets[playerIndex] = bet;
+	}
+
+	/*
+	 * Records the insurance bet of the player with the given index.
+	 */
+	void setInsurance(int playerIndex, int bet, int payout) {
+		insuranceBets[playerIndex] = bet;
+		insurancePayouts[playerIndex] = payout;
+	}
+
+	/*
+	 * Records the final hand of the dealer, and adds its cards to the number of
+	 * cards dealt.
+	 */
+	void setDealerHand(Hand dealerHand) {
+		dealerBusted = dealerHand.isBusted();
+		dealerBlackjack = dealerHand.isBlackjack();
+		dealerValue = dealerBusted ? dealerHand.hardValue : dealerHand
+		    .getHighValidValue();
+		numCards += dealerHand.numCards;
+	}
+
+	/*
+	 * Adds the cards of a player hand to the number of cards dealt.
+	 */
+	void addCards(Hand hand) {
+		numCards += hand.numCards;
+	}
+
+	/**
+	 * Returns the number of players seated at the table for the round, which
+	 * includes players that did not place a bet.
+	 * 
+	 * @return the number of players
+	 */
+	public int getNumPlayers() {
+		return players.size();
+	}
+
+	/**
+	 * Returns the player with the given index, which is the position of the
+	 * player at the table.
+	 * 
+	 * @param playerIndex the index of the player
+	 * @return the player with the given index
+	 */
+	public Player getPlayer(int playerIndex) {
+		return players.get(playerIndex);
+	}
+
+	/**
+	 * Returns the number of player hands that were played in the round. A player
+	 * that splits plays more than one hand.
+	 * 
+	 * @return the number of player hands
+	 */
+	public int getNumHands() {
+		return numHands;
+	}
+
+	/**
+	 * Returns the index of the player that played the hand with the given index.
+	 * Hands are indexed in the order in which their outcomes were decided.
+	 * 
+	 * @param handIndex the index of the hand
+	 * @return the index of the player that played the hand
+	 */
+	public int getPlayerIndex(int handIndex) {
+		checkHandIndex(handIndex);
+		return playerIndexes[handIndex];
+	}
+
+	/**
+	 * Returns the amount bet on the hand with the given index, which includes
+	 * any amount added by doubling down.
+	 * 
+	 * @param handIndex the index of the hand
+	 * @return the amount bet on the hand
+	 */
+	public int getBet(int handIndex) {
+		checkHandIndex(handIndex);
+		return bets[handIndex];
+	}
+
+	/**
+	 * Returns the outcome of the hand with the given index, which is one of
+	 * {@link #WIN}, {@link #LOSS}, {@link #BUST}, {@link #BLACKJACK}, or
+	 * {@link #PUSH}.
+	 * 
+	 * @param handIndex the index of the hand
+	 * @return the outcome of the hand
+	 */
+	public int getOutcome(int handIndex) {
+		checkHandIndex(handIndex);
+		return outcomes[handIndex];
+	}
+
+	/**
+	 * Returns the amount that the hand with the given index added to the bankroll
+	 * of its player; a negative number returned indicates a loss.
+	 * 
+	 * @param handIndex the index of the hand
+	 * @return the net winnings of the hand
+	 */
+	public int getPayout(int handIndex) {
+		checkHandIndex(handIndex);
+		return payouts[handIndex];
+	}
+
+	/**
+	 * Returns the bet placed by the player with the given index before the cards
+	 * were dealt, or {@code 0} if the player did not bet. Unlike the bets of the
+	 * hands, this does not include amounts added by splitting or doubling down.
+	 * 
+	 * @param playerIndex the index of the player
+	 * @return the initial bet of the player
+	 */
+	public int getInitialBet(int playerIndex) {
+		checkPlayerIndex(playerIndex);
+		return initialBets[playerIndex];
+	}
+
+	/**
+	 * Returns the insurance bet of the player with the given index, or
+	 * {@code 0} if the player did not insure their hand.
+	 * 
+	 * @param playerIndex the index of the player
+	 * @return the insurance bet of the player
+	 */
+	public int getInsuranceBet(int playerIndex) {
+		checkPlayerIndex(playerIndex);
+		return insuranceBets[playerIndex];
+	}
+
+	/**
+	 * Returns the amount that the insurance bet of the player with the given
+	 * index added to the bankroll of the player; a negative number returned
+	 * indicates a loss.
+	 * 
+	 * @param playerIndex the index of the player
+	 * @return the net winnings of the insurance bet
+	 */
+	public int getInsurancePayout(int playerIndex) {
+		checkPlayerIndex(playerIndex);
+		return insurancePayouts[playerIndex];
+	}
+
+	/**
+	 * Returns the number of cards dealt from the shoe in the round.
+	 * 
+	 * @return the number of cards dealt
+	 */
+	public int getNumCards() {
+		return numCards;
+	}
+
+	/**
+	 * Returns the value of the final hand of the dealer. If the dealer busted,
+	 * this is the hard value of the hand.
+	 * 
+	 * @return the value of the dealer hand
+	 */
+	public int getDealerValue() {
+		return dealerValue;
+	}
+
+	/**
+	 * Returns whether the dealer busted.
+	 * 
+	 * @return {@code true} if the dealer busted, {@code false} otherwise
+	 */
+	public boolean isDealerBusted() {
+		return dealerBusted;
+	}
+
+	/**
+	 * Returns whether the dealer had a blackjack.
+	 * 
+	 * @return {@code true} if the dealer had a blackjack, {@code false} otherwise
+	 */
+	public boolean isDealerBlackjack() {
+		return dealerBlackjack;
+	}
+
+	private void checkHandIndex(int handIndex) {
+		if ((handIndex < 0) || (handIndex >= numHands)) {
+			throw new IndexOutOfBoundsException("Hand index: " + handIndex
+			    + ", number of hands: " + numHands);
+		}
+	}
+
+	private void checkPlayerIndex(int playerIndex) {
+		if ((playerIndex < 0) || (playerIndex >= players.size())) {
+			throw new IndexOutOfBoundsException("Player index: " + playerIndex
+			    + ", number of players: " + players.size());
+		}
+	}
+}
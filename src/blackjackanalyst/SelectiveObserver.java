@@ -0,0 +1,45 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.Set;
+
+/**
+ * An interface to be implemented by an observer that only receives some of the
+ * events of the object it observes. An observer that does not implement this
+ * interface receives all events. Events not returned by {@link #getEvents()}
+ * are not dispatched to the observer, and if no observer receives an event, the
+ * event is not dispatched at all.
+ * 
+ * @author Michael Parker
+ * 
+ * @param <E> the type of events observed
+ */
+public interface SelectiveObserver<E extends Enum<E>> {
+	/**
+	 * Returns the events this observer receives. This method is invoked when the
+	 * observer is added to an {@link ObserverList}, and the events it returns
+	 * must not change afterward.
+	 * 
+	 * @return the events this observer receives
+	 */
+	public Set<E> getEvents();
+}
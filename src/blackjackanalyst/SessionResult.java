@@ -0,0 +1,185 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import blackjackanalyst.observer.LongHistogram;
+
+/**
+ * The results of the sessions played by a {@link SessionSimulation}: how many
+ * sessions ended in each way, and the distributions of the net results and the
+ * lengths of the sessions. Results of sessions played on different threads can
+ * be merged.
+ *
+ * @author Michael Parker
+ */
+public class SessionResult {
+	/**
+	 * The end of a session in which the bankroll of the player fell below the
+	 * minimum bet of the table.
+	 */
+	public static final int RUINED = 0;
+	/**
+	 * The end of a session in which the player won the win goal.
+	 */
+	public static final int WIN_GOAL = 1;
+	/**
+	 * The end of a session in which the player lost the stop-loss.
+	 */
+	public static final int STOP_LOSS = 2;
+	/**
+	 * The end of a session in which the player played the maximum number of
+	 * rounds.
+	 */
+	public static final int ROUND_CAP = 3;
+
+	protected long numSessions;
+	protected final long[] numEnds;
+	protected long numRounds;
+
+	protected final LongHistogram results;
+	protected final LongHistogram lengths;
+
+	/**
+	 * Creates a new, empty result.
+	 */
+	public SessionResult() {
+		numEnds = new long[ROUND_CAP + 1];
+		results = new LongHistogram();
+		lengths = new LongHistogram();
+	}
+
+	/**
+	 * Records a session with the given end, net result, and number of rounds.
+	 *
+	 * @param end how the session ended, such as {@link #RUINED}
+	 * @param result the net result of the player in the session
+	 * @param rounds the number of rounds played in the session
+	 */
+	public void addSession(int end, long result, long rounds) {
+		++numSessions;
+		++numEnds[end];
+		numRounds += rounds;
+		results.record(result);
+		lengths.record(rounds);
+	}
+
+	/**
+	 * Adds the sessions recorded by the given result to the sessions recorded by
+	 * this result.
+	 *
+	 * @param other the result whose sessions are added to this result
+	 */
+	public void merge(SessionResult other) {
+		numSessions += other.numSessions;
+		for (int i = 0; i < numEnds.length; ++i) {
+			numEnds[i] += other.numEnds[i];
+		}
+		numRounds += other.numRounds;
+		results.merge(other.results);
+		lengths.merge(other.lengths);
+	}
+
+	/**
+	 * Returns the number of sessions recorded.
+	 *
+	 * @return the number of sessions
+	 */
+	public long getNumSessions() {
+		return numSessions;
+	}
+
+	/**
+	 * Returns the number of sessions that ended in the given way.
+	 *
+	 * @param end how the sessions ended, such as {@link #RUINED}
+	 * @return the number of sessions that ended in that way
+	 */
+	public long getNumSessions(int end) {
+		return numEnds[end];
+	}
+
+	/**
+	 * Returns the total number of rounds played in all sessions.
+	 *
+	 * @return the number of rounds played
+	 */
+	public long getNumRounds() {
+		return numRounds;
+	}
+
+	/**
+	 * Returns the fraction of sessions in which the player was ruined, or
+	 * <code>Double.NaN</code> if no sessions were recorded.
+	 *
+	 * @return the risk of ruin
+	 */
+	public double getRiskOfRuin() {
+		return (double) numEnds[RUINED] / numSessions;
+	}
+
+	/**
+	 * Returns the standard error of {@link #getRiskOfRuin()}, which treats the
+	 * sessions as independent trials.
+	 *
+	 * @return the standard error of the risk of ruin
+	 */
+	public double getRiskOfRuinError() {
+		double riskOfRuin = getRiskOfRuin();
+		return Math.sqrt(riskOfRuin * (1 - riskOfRuin) / numSessions);
+	}
+
+	/**
+	 * Returns the histogram of the net results of the player in the sessions.
+	 *
+	 * @return the histogram of session results
+	 */
+	public LongHistogram getResults() {
+		return results;
+	}
+
+	/**
+	 * Returns the histogram of the number of rounds played in the sessions.
+	 *
+	 * @return the histogram of session lengths
+	 */
+	public LongHistogram getLengths() {
+		return lengths;
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder(512);
+		sb.append("sessions=").append(numSessions);
+		sb.append(", ruined=").append(numEnds[RUINED]);
+		sb.append(", win goal=").append(numEnds[WIN_GOAL]);
+		sb.append(", stop-loss=").append(numEnds[STOP_LOSS]);
+		sb.append(", round cap=").append(numEnds[ROUND_CAP]);
+		sb.append(", rounds=").append(numRounds);
+		sb.append(String.format("\nRisk of ruin: %.5f +/- %.5f",
+		    getRiskOfRuin(), getRiskOfRuinError()));
+		sb.append(String.format("\nSession result: mean=%.2f, ",
+		    results.getMean()));
+		sb.append(results);
+		sb.append(String.format("\nSession rounds: mean=%.1f, ",
+		    lengths.getMean()));
+		sb.append(lengths);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A simulation of independent sessions, each played by a single player who
+ * starts with a fixed bankroll. A session ends as soon as the player is ruined,
+ * meaning their bankroll falls below the minimum bet of the table, or has won
+ * the win goal, or has lost the stop-loss, or has played the maximum number of
+ * rounds. The shoe of each session is seeded by the stream of the master seed
+ * equal to the index of the session, and is shuffled before the first round.
+ * <p>
+ * Sessions are played on a work-stealing pool, grouped into tasks as by
+ * {@link ShoeSimulation}, so the result is identical for any number of threads.
+ * Unlike a shoe simulation, each thread creates a single table and reuses it
+ * for every session it plays, restoring the bankroll of the player and
+ * reseeding the shoe between sessions. Player strategies must not carry any
+ * state across a shuffle of the shoe.
+ *
+ * @author Michael Parker
+ */
+public abstract class SessionSimulation {
+	// the maximum number of consecutive sessions played by a single task
+	private static final int SESSIONS_PER_TASK = 64;
+
+	private final long seed;
+	private final long bankroll;
+	private final long winGoal;
+	private final long stopLoss;
+	private final long maxRounds;
+
+	// the table of each thread, created when the thread plays its first session
+	private final ThreadLocal<SessionTable> tables;
+
+	/**
+	 * Creates a new simulation of sessions seeded by streams of the given master
+	 * seed. A win goal or stop-loss of {@code 0} means that sessions do not end
+	 * for that reason.
+	 *
+	 * @param seed the master seed
+	 * @param bankroll the bankroll of the player at the start of each session
+	 * @param winGoal the net amount won that ends a session
+	 * @param stopLoss the net amount lost that ends a session
+	 * @param maxRounds the maximum number of rounds in a session
+	 */
+	protected SessionSimulation(long seed, long bankroll, long winGoal,
+	    long stopLoss, long maxRounds) {
+		if (bankroll <= 0) {
+			throw new IllegalArgumentException("Bankroll must be positive");
+		}
+		if ((winGoal < 0) || (stopLoss < 0)) {
+			throw new IllegalArgumentException(
+			    "Win goal and stop-loss must not be negative");
+		}
+		if (maxRounds <= 0) {
+			throw new IllegalArgumentException(
+			    "Maximum number of rounds must be positive");
+		}
+		this.seed = seed;
+		this.bankroll = bankroll;
+		this.winGoal = winGoal;
+		this.stopLoss = stopLoss;
+		this.maxRounds = maxRounds;
+		tables = new ThreadLocal<SessionTable>() {
+			protected SessionTable initialValue() {
+				return new SessionTable(createTable());
+			}
+		};
+	}
+
+	/**
+	 * Returns the master seed of the simulation.
+	 *
+	 * @return the master seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Creates a table, with a single player seated, on which sessions are
+	 * played. This method may be called concurrently by different threads, and
+	 * each table returned is used by only one thread.
+	 *
+	 * @return a new table with its player seated
+	 */
+	protected abstract Table createTable();
+
+	/**
+	 * Plays the given number of sessions on the given number of threads, and
+	 * returns their merged result.
+	 *
+	 * @param numSessions the number of sessions to play
+	 * @param numThreads the number of threads on which to play the sessions
+	 * @return the merged result of all sessions
+	 */
+	public SessionResult run(long numSessions, int numThreads) {
+		if (numSessions <= 0) {
+			throw new IllegalArgumentException(
+			    "Number of sessions must be positive");
+		}
+		ForkJoinPool pool = new ForkJoinPool(numThreads);
+		try {
+			return pool.invoke(new SessionTask(0, numSessions));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/*
+	 * Plays the sessions from firstSession inclusive to endSession exclusive in
+	 * order on the table of the current thread.
+	 */
+	protected SessionResult playSessions(long firstSession, long endSession) {
+		SessionTable sessionTable = tables.get();
+		Table table = sessionTable.table;
+		Player player = sessionTable.player;
+
+		SessionResult result = new SessionResult();
+		for (long session = firstSession; session < endSession; ++session) {
+			player.setBankroll(bankroll);
+			table.setSeed(seed, session);
+			long rounds = table.playRounds(maxRounds);
+			long endBankroll = player.getBankroll();
+			result.addSession(getEnd(table, endBankroll), endBankroll - bankroll,
+			    rounds);
+		}
+		return result;
+	}
+
+	/*
+	 * Returns how a session with the given bankroll ended, where ROUND_CAP means
+	 * that none of its other limits were reached.
+	 */
+	private int getEnd(Table table, long endBankroll) {
+		if (endBankroll < table.getMinimumBet()) {
+			return SessionResult.RUINED;
+		}
+		if ((winGoal > 0) && (endBankroll - bankroll >= winGoal)) {
+			return SessionResult.WIN_GOAL;
+		}
+		if ((stopLoss > 0) && (bankroll - endBankroll >= stopLoss)) {
+			return SessionResult.STOP_LOSS;
+		}
+		return SessionResult.ROUND_CAP;
+	}
+
+	/*
+	 * A table reused for sessions, with a round observer that stops the table
+	 * as soon as its session is over.
+	 */
+	private class SessionTable implements RoundObserver {
+		final Table table;
+		final Player player;
+
+		SessionTable(Table table) {
+			if (table.getNumPlayers() != 1) {
+				throw new IllegalStateException(
+				    "Session tables must have a single player");
+			}
+			this.table = table;
+			player = table.getPlayers().get(0);
+			table.getRoundObservers().add(this);
+		}
+
+		public void roundPlayed(RoundSummary summary) {
+			if (getEnd(table, player.getBankroll()) != SessionResult.ROUND_CAP) {
+				table.stop();
+			}
+		}
+	}
+
+	private class SessionTask extends RecursiveTask<SessionResult> {
+		private static final long serialVersionUID = 1L;
+
+		private final long firstSession;
+		private final long endSession;
+
+		private SessionTask(long firstSession, long endSession) {
+			this.firstSession = firstSession;
+			this.endSession = endSession;
+		}
+
+		protected SessionResult compute() {
+			long numSessions = endSession - firstSession;
+			if (numSessions <= SESSIONS_PER_TASK) {
+				return playSessions(firstSession, endSession);
+			}
+
+			// split in half, playing the later half asynchronously
+			long midSession = firstSession + (numSessions / 2);
+			SessionTask secondTask = new SessionTask(midSession, endSession);
+			secondTask.fork();
+			SessionResult firstResult = new SessionTask(firstSession, midSession)
+			    .compute();
+			firstResult.merge(secondTask.join());
+			return firstResult;
+		}
+	}
+}
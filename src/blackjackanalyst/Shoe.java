@@ -20,47 +20,79 @@
 
 package blackjackanalyst;
 
-import blackjackanalyst.Card.Rank;
-import blackjackanalyst.Card.Suit;
-
 /**
- * A shoe, containing an integer number of card decks.
+ * A shoe, containing an integer number of card decks. The shoe holds the
+ * identifier of each card, as returned by {@link Card#getID()}, instead of a
+ * {@link Card} object.
  * 
  * @author Michael Parker
  */
 class Shoe {
 	private final int numDecks;
 	// Package-private for testing.
-	final Card[] cards;
+	final byte[] cards;
 
 	private int nextCard;
 	private int shuffleMark;
+	private RandomSource rng;
+	// if not null, shuffles the orders of the shoe on a background thread
+	private PreShuffler preShuffler;
+	// whether the cards remaining are already shuffled
+	private boolean preShuffled;
+	// if not null, the shoe deals the orders of this bank
+	private ShoeBank bank;
+	private int bankShoe;
+	private int bankOffset;
+	// whether each card is drawn independently from a full deck
+	private boolean infinite;
 
 	/**
-	 * Creates a shoe with the given number of decks. The number of decks
-	 * specified must be at least {@code 6}.
+	 * Creates a shoe with the given number of decks, shuffled by a new random
+	 * number generator seeded by the current time. The number of decks specified
+	 * must be at least {@code 6}.
 	 * 
 	 * @param numDecks the number of decks of cards in the shoe
 	 */
 	public Shoe(int numDecks) {
+		this(numDecks, new MersenneTwisterFast());
+	}
+
+	/**
+	 * Creates a shoe with the given number of decks, shuffled by the given random
+	 * number generator. The number of decks specified must be at least {@code 6}.
+	 * The generator need not be synchronized, and must be used only by the thread
+	 * dealing from the shoe. While the shoe is pre-shuffling, the generator is
+	 * used only by the background thread instead.
+	 * 
+	 * @param numDecks the number of decks of cards in the shoe
+	 * @param rng the random number generator used to shuffle the shoe
+	 */
+	public Shoe(int numDecks, RandomSource rng) {
 		if (numDecks < 6) {
 			throw new IllegalArgumentException("Shoe must contain at least 6 decks");
 		}
+		if (rng == null) {
+			throw new IllegalArgumentException(
+			    "Random number generator must be provided");
+		}
+		this.rng = rng;
 
 		this.numDecks = numDecks;
-		cards = new Card[numDecks * Card.CARDS_PER_DECK];
-		for (int i = 0, cardIndex = 0; i < numDecks; ++i) {
-			for (Suit suit : Card.Suit.values()) {
-				for (Rank rank : Card.Rank.values()) {
-					cards[cardIndex] = Card.getCard(rank, suit);
-					++cardIndex;
-				}
-			}
-		}
+		cards = new byte[numDecks * Card.CARDS_PER_DECK];
+		fillDecks();
 
 		shuffle();
 	}
 
+	/*
+	 * Puts the cards of each deck in the shoe in order.
+	 */
+	private void fillDecks() {
+		for (int i = 0; i < cards.length; ++i) {
+			cards[i] = (byte) (i % Card.CARDS_PER_DECK);
+		}
+	}
+
 	/**
 	 * Returns whether the shoe is empty, meaning {@link #getCardsLeft()} returns
 	 * {@code 0}.
@@ -100,22 +132,181 @@ class Shoe {
 		return numDecks;
 	}
 
+	/**
+	 * Replaces the random number generator used to shuffle the shoe. The decks
+	 * are put back in order and all cards are treated as withdrawn, so that
+	 * {@link #needsShuffle()} returns {@code true} and the order of the shoe after
+	 * the next shuffle depends only on the new generator. If the shoe
+	 * deals from an infinite deck, it still never needs shuffling.
+	 * 
+	 * @param rng the new random number generator
+	 */
+	public void setRandom(RandomSource rng) {
+		if (rng == null) {
+			throw new IllegalArgumentException(
+			    "Random number generator must be provided");
+		}
+		boolean preShuffling = (preShuffler != null);
+		setPreShuffling(false);
+		this.rng = rng;
+		fillDecks();
+		nextCard = infinite ? 0 : cards.length;
+		setPreShuffling(preShuffling);
+	}
+
+	/**
+	 * Sets whether the orders of the shoe are shuffled ahead of time on a
+	 * background thread. If so, the random number generator is handed to the
+	 * background thread, and is not used by the shoe again until pre-shuffling
+	 * is turned off. Shuffling the shoe then takes the next order that has been
+	 * shuffled, and dealing a card does not use the random number generator.
+	 * Because the cards remaining in the shoe would be shuffled lazily by the
+	 * generator, they are treated as withdrawn when pre-shuffling is turned on,
+	 * so that {@link #needsShuffle()} returns {@code true}.
+	 * 
+	 * @param preShuffling whether to shuffle orders on a background thread
+	 */
+	public void setPreShuffling(boolean preShuffling) {
+		if (preShuffling == (preShuffler != null)) {
+			return;
+		}
+		if (preShuffling) {
+			if ((bank != null) || infinite) {
+				throw new IllegalStateException(
+				    "Shoe deals from a shoe bank or an infinite deck");
+			}
+			// retire the current order, which is shuffled lazily by the generator
+			fillDecks();
+			nextCard = cards.length;
+			preShuffler = new PreShuffler(cards, rng);
+			preShuffler.start();
+		} else {
+			preShuffler.stop();
+			preShuffler = null;
+			// the remaining cards are shuffled lazily as before
+			preShuffled = false;
+		}
+	}
+
+	/**
+	 * Sets the bank of shoe orders that the shoe deals, starting with the shoe
+	 * at the given index. Each time the shoe is shuffled it takes the next order
+	 * of the bank, wrapping around to the first order after the last, and reads
+	 * its cards directly from the bank. All cards are treated as withdrawn, so
+	 * that {@link #needsShuffle()} returns {@code true}. If the bank is
+	 * {@code null}, the shoe is shuffled by its random number generator again.
+	 * 
+	 * @param bank the bank of shoe orders, or {@code null}
+	 * @param firstShoe the index of the first shoe order of the bank to deal
+	 */
+	public void setShoeBank(ShoeBank bank, int firstShoe) {
+		if (bank != null) {
+			if ((preShuffler != null) || infinite) {
+				throw new IllegalStateException(
+				    "Shoe is pre-shuffling or deals from an infinite deck");
+			}
+			if (bank.getNumDecks() != numDecks) {
+				throw new IllegalArgumentException("Shoe bank must contain "
+				    + numDecks + " decks per shoe");
+			}
+			if ((firstShoe < 0) || (firstShoe >= bank.getNumShoes())) {
+				throw new IllegalArgumentException("Invalid first shoe: "
+				    + firstShoe);
+			}
+		}
+		this.bank = bank;
+		bankShoe = firstShoe;
+		// the decks are put back in order for the random number generator
+		fillDecks();
+		nextCard = cards.length;
+	}
+
+	/**
+	 * Sets whether the shoe deals from an infinite deck. If so, each card dealt
+	 * is drawn independently and uniformly from the cards of a single deck, so
+	 * that the probability of each rank never changes. The shoe then never
+	 * becomes empty and never needs shuffling. Otherwise, all cards are treated
+	 * as withdrawn, so that {@link #needsShuffle()} returns {@code true}.
+	 * 
+	 * @param infinite whether to deal from an infinite deck
+	 */
+	public void setInfinite(boolean infinite) {
+		if (infinite && ((preShuffler != null) || (bank != null))) {
+			throw new IllegalStateException(
+			    "Shoe is pre-shuffling or deals from a shoe bank");
+		}
+		this.infinite = infinite;
+		fillDecks();
+		nextCard = infinite ? 0 : cards.length;
+	}
+
+	/**
+	 * Returns whether the shoe deals from an infinite deck.
+	 * 
+	 * @return {@code true} if the shoe deals from an infinite deck,
+	 *         {@code false} otherwise
+	 */
+	public boolean isInfinite() {
+		return infinite;
+	}
+
+	/**
+	 * Returns whether the orders of the shoe are shuffled ahead of time on a
+	 * background thread.
+	 * 
+	 * @return {@code true} if orders are shuffled on a background thread,
+	 *         {@code false} otherwise
+	 */
+	public boolean isPreShuffling() {
+		return (preShuffler != null);
+	}
+
 	/**
 	 * Returns all cards withdrawn from the shoe, and then shuffles the shoe.
+	 * <p>
+	 * The shoe is shuffled lazily: each card is chosen when it is dealt, by
+	 * swapping a card chosen uniformly at random from the cards remaining into
+	 * the next position. This is the Fisher-Yates shuffle performed one step at
+	 * a time, so every order of the shoe is equally likely, but the cards
+	 * remaining when the shoe is shuffled again are never permuted.
+	 * <p>
+	 * If the shoe is pre-shuffling, the next order shuffled on the background
+	 * thread is copied into the shoe instead. If the shoe deals from a bank, the
+	 * next order of the bank is dealt.
 	 */
 	public void shuffle() {
 		nextCard = 0;
+		if (bank != null) {
+			bankOffset = bank.getCardsOffset(bankShoe);
+			shuffleMark = bank.getShuffleMark(bankShoe);
+			bankShoe = (bankShoe + 1) % bank.getNumShoes();
+		} else if (preShuffler != null) {
+			shuffleMark = preShuffler.take(cards);
+			preShuffled = true;
+		} else {
+			shuffleMark = nextShuffleMark(rng);
+		}
+	}
 
-		MersenneTwister rng = MersenneTwister.getInstance();
-		for (int i = 0; i < cards.length; ++i) {
-			int swapIndex = i + rng.nextInt(cards.length - i);
-			if (swapIndex > i) {
-				Card temp = cards[swapIndex];
-				cards[swapIndex] = cards[i];
-				cards[i] = temp;
-			}
+	/*
+	 * Returns the number of cards left in a shoe at which it needs shuffling,
+	 * chosen with the given random number generator.
+	 */
+	static int nextShuffleMark(RandomSource rng) {
+		return 2 * Card.CARDS_PER_DECK + rng.nextBoundedInt(Card.CARDS_PER_DECK);
+	}
+
+	/*
+	 * Shuffles the given order of card identifiers with the given random number
+	 * generator, using the Fisher-Yates shuffle.
+	 */
+	static void shuffleOrder(byte[] order, RandomSource rng) {
+		for (int i = 0; i < order.length; ++i) {
+			int swapIndex = i + rng.nextBoundedInt(order.length - i);
+			byte cardId = order[swapIndex];
+			order[swapIndex] = order[i];
+			order[i] = cardId;
 		}
-		shuffleMark = 2 * Card.CARDS_PER_DECK + rng.nextInt(Card.CARDS_PER_DECK);
 	}
 
 	/**
@@ -125,6 +316,37 @@ class Shoe {
 	 * @return the next card from the shoe
 	 */
 	public Card getNextCard() {
-		return isEmpty() ? null : cards[nextCard++];
+		return isEmpty() ? null : Card.getCard(getNextCardId());
+	}
+
+	/**
+	 * Returns the identifier of the next card from the shoe. If the shoe is
+	 * empty, this method returns {@code -1}.
+	 * 
+	 * @return the identifier of the next card from the shoe
+	 */
+	public int getNextCardId() {
+		if (infinite) {
+			// scale 32 random bits to a card identifier without branching
+			long bits = rng.nextInt() & 0xffffffffL;
+			return (int) ((bits * Card.CARDS_PER_DECK) >>> 32);
+		}
+		if (isEmpty()) {
+			return -1;
+		}
+		if (bank != null) {
+			return bank.getCardId(bankOffset + nextCard++);
+		}
+		if (preShuffled) {
+			return cards[nextCard++];
+		}
+
+		// perform the next step of the shuffle
+		int swapIndex = nextCard + rng.nextBoundedInt(cards.length - nextCard);
+		byte cardId = cards[swapIndex];
+		cards[swapIndex] = cards[nextCard];
+		cards[nextCard] = cardId;
+		++nextCard;
+		return cardId;
 	}
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A bank of shoe orders, shuffled ahead of time and written to a file. A shoe
+ * dealing from a bank, as set by {@link Table#setShoeBank(ShoeBank, int)},
+ * reads each card from the file mapped into memory, and does not shuffle or use
+ * a random number generator. Every strategy evaluated against the same bank
+ * therefore sees exactly the same cards, even in separate runs.
+ * <p>
+ * A bank is written by {@link #write(File, int, int, RandomSource)}, or from
+ * the command line by running this class with the file, the number of shoes,
+ * and optionally the seed.
+ * 
+ * @author Michael Parker
+ */
+public final class ShoeBank {
+	private static final int MAGIC = 0x424a5342;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+
+	// the number of decks in the shoes of the tables of the simulator
+	private static final int DEFAULT_NUM_DECKS = 8;
+
+	/*
+	 * Each shoe is stored as its shuffle mark in one byte, followed by the
+	 * identifiers of its cards in the order they are dealt.
+	 */
+	private final ByteBuffer orders;
+	private final int numDecks;
+	private final int numShoes;
+	private final int recordSize;
+
+	private ShoeBank(ByteBuffer orders, int numDecks, int numShoes) {
+		this.orders = orders;
+		this.numDecks = numDecks;
+		this.numShoes = numShoes;
+		recordSize = 1 + (numDecks * Card.CARDS_PER_DECK);
+	}
+
+	/**
+	 * Writes the given number of shoe orders to the given file, each shuffled by
+	 * the given random number generator.
+	 * 
+	 * @param file the file to write the bank to
+	 * @param numDecks the number of decks in each shoe
+	 * @param numShoes the number of shoe orders to write
+	 * @param rng the random number generator used to shuffle the shoes
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(File file, int numDecks, int numShoes,
+	    RandomSource rng) throws IOException {
+		if (numDecks < 6) {
+			throw new IllegalArgumentException("Shoe must contain at least 6 decks");
+		}
+		if (numShoes <= 0) {
+			throw new IllegalArgumentException("Number of shoes must be positive");
+		}
+		int numCards = numDecks * Card.CARDS_PER_DECK;
+		long size = HEADER_SIZE + (((long) numCards + 1) * numShoes);
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many shoes: " + numShoes);
+		}
+
+		byte[] order = new byte[numCards];
+		for (int i = 0; i < order.length; ++i) {
+			order[i] = (byte) (i % Card.CARDS_PER_DECK);
+		}
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+		    new FileOutputStream(file)));
+		try {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(numDecks);
+			output.writeInt(numShoes);
+			for (int i = 0; i < numShoes; ++i) {
+				Shoe.shuffleOrder(order, rng);
+				output.writeByte(Shoe.nextShuffleMark(rng));
+				output.write(order);
+			}
+		} finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Loads a bank written by {@link #write(File, int, int, RandomSource)}. The
+	 * file is mapped into memory instead of being read, and every shuffle mark
+	 * and card identifier is checked once so that a shoe never deals from a
+	 * corrupt bank.
+	 * 
+	 * @param file the file containing the bank
+	 * @return the bank of shoe orders
+	 * @throws IOException if the file cannot be read or is not a valid bank
+	 */
+	public static ShoeBank load(File file) throws IOException {
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = input.getChannel();
+			if ((channel.size() < HEADER_SIZE)
+			    || (channel.size() > Integer.MAX_VALUE)) {
+				throw new IOException("Not a shoe bank: " + file);
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+			    channel.size());
+			if ((buffer.getInt() != MAGIC) || (buffer.getInt() != VERSION)) {
+				throw new IOException("Not a shoe bank: " + file);
+			}
+			int numDecks = buffer.getInt();
+			int numShoes = buffer.getInt();
+			long recordSize = 1 + (numDecks * (long) Card.CARDS_PER_DECK);
+			if ((numDecks < 6) || (numShoes <= 0)
+			    || (channel.size() != (HEADER_SIZE + (recordSize * numShoes)))) {
+				throw new IOException("Not a shoe bank: " + file);
+			}
+			ByteBuffer orders = buffer.slice();
+			checkOrders(orders, (int) recordSize, numShoes, file);
+			// the mapping remains valid after the file is closed
+			return new ShoeBank(orders, numDecks, numShoes);
+		} finally {
+			input.close();
+		}
+	}
+
+	/*
+	 * Throws an IOException if a shuffle mark is not one that a shoe draws, or
+	 * if a card identifier is not that of a card.
+	 */
+	private static void checkOrders(ByteBuffer orders, int recordSize,
+	    int numShoes, File file) throws IOException {
+		int offset = 0;
+		for (int i = 0; i < numShoes; ++i) {
+			int shuffleMark = orders.get(offset) & 0xff;
+			if ((shuffleMark < 2 * Card.CARDS_PER_DECK)
+			    || (shuffleMark >= 3 * Card.CARDS_PER_DECK)) {
+				throw new IOException("Invalid shuffle mark " + shuffleMark
+				    + " of shoe " + i + " in shoe bank: " + file);
+			}
+			int endOffset = offset + recordSize;
+			for (++offset; offset < endOffset; ++offset) {
+				int cardId = orders.get(offset);
+				if ((cardId < 0) || (cardId >= Card.CARDS_PER_DECK)) {
+					throw new IOException("Invalid card identifier " + cardId
+					    + " of shoe " + i + " in shoe bank: " + file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of decks in each shoe of the bank.
+	 * 
+	 * @return the number of decks in each shoe
+	 */
+	public int getNumDecks() {
+		return numDecks;
+	}
+
+	/**
+	 * Returns the number of shoe orders in the bank.
+	 * 
+	 * @return the number of shoe orders
+	 */
+	public int getNumShoes() {
+		return numShoes;
+	}
+
+	/*
+	 * Returns the offset of the first card of the shoe at the given index.
+	 */
+	int getCardsOffset(int shoeIndex) {
+		return (shoeIndex * recordSize) + 1;
+	}
+
+	/*
+	 * Returns the shuffle mark of the shoe at the given index.
+	 */
+	int getShuffleMark(int shoeIndex) {
+		return orders.get(shoeIndex * recordSize) & 0xff;
+	}
+
+	/*
+	 * Returns the identifier of the card at the given offset.
+	 */
+	int getCardId(int offset) {
+		return orders.get(offset);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if ((args.length < 2) || (args.length > 3)) {
+			System.err.println("Usage: ShoeBank <file> <num_shoes> [<seed>]");
+			System.exit(1);
+		}
+		File file = new File(args[0]);
+		int numShoes = Integer.valueOf(args[1]).intValue();
+		long seed = (args.length == 3) ? Long.valueOf(args[2]).longValue()
+		    : System.currentTimeMillis();
+
+		RandomSource rng = RandomSourceType.MERSENNE_TWISTER.create(seed, 0);
+		write(file, DEFAULT_NUM_DECKS, numShoes, rng);
+		System.out.println("Wrote " + numShoes + " shoes with seed " + seed
+		    + " to " + file);
+	}
+}
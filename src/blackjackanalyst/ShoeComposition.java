@@ -0,0 +1,203 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.Arrays;
+
+import blackjackanalyst.Card.Rank;
+
+/**
+ * The composition of the cards remaining in the shoe of a table, as seen by
+ * the players. The table updates the composition once for each card that it
+ * reveals, and resets it when the shoe is shuffled, so that player strategies
+ * can read the number of cards remaining of each rank without each counting the
+ * cards themselves.
+ * <p>
+ * The composition also keeps running counts for card counting systems, where
+ * each system is given by a tag for each rank. A strategy adds the tags of its
+ * system with {@link #addCount(int[])} when it joins the table, and then reads
+ * the running count with {@link #getRunningCount(int)}. Strategies that add
+ * the same tags share a single running count.
+ * <p>
+ * If the table deals from an infinite deck, as returned by
+ * {@link #isInfinite()}, the composition never changes and every running count
+ * remains zero, because the cards dealt reveal nothing about the cards to come.
+ * 
+ * @author Michael Parker
+ */
+public class ShoeComposition {
+	private static final int[][] NO_TAGS = new int[0][];
+
+	private final int numDecks;
+	private int cardsRemaining;
+	// the number of cards remaining of each rank, indexed by rank ordinal
+	private final int[] ranksRemaining;
+
+	// the tags and running count of each count system
+	private int[][] countTags;
+	private int[] runningCounts;
+
+	private boolean infinite;
+
+	/**
+	 * Creates the composition of a full shoe with the given number of decks.
+	 * 
+	 * @param numDecks the number of decks in the shoe
+	 */
+	public ShoeComposition(int numDecks) {
+		this.numDecks = numDecks;
+		ranksRemaining = new int[Card.NUM_CARD_RANKS];
+		countTags = NO_TAGS;
+		runningCounts = new int[0];
+		reset();
+	}
+
+	/*
+	 * Restores the composition of a full shoe, and clears all running counts.
+	 */
+	void reset() {
+		cardsRemaining = numDecks * Card.CARDS_PER_DECK;
+		Arrays.fill(ranksRemaining, numDecks * Card.NUM_CARD_SUITS);
+		Arrays.fill(runningCounts, 0);
+	}
+
+	/*
+	 * Removes the given card from the cards remaining, and adds its tag to each
+	 * running count.
+	 */
+	void cardDealt(int cardId) {
+		if (infinite) {
+			return;
+		}
+		int rank = Card.getRankOrdinal(cardId);
+		--cardsRemaining;
+		--ranksRemaining[rank];
+		for (int i = 0; i < runningCounts.length; ++i) {
+			runningCounts[i] += countTags[i][rank];
+		}
+	}
+
+	/*
+	 * Sets whether the table deals from an infinite deck, and resets the
+	 * composition.
+	 */
+	void setInfinite(boolean infinite) {
+		this.infinite = infinite;
+		reset();
+	}
+
+	/**
+	 * Returns whether the table deals from an infinite deck, in which case the
+	 * composition never changes and counting cards is meaningless.
+	 * 
+	 * @return {@code true} if the table deals from an infinite deck,
+	 *         {@code false} otherwise
+	 */
+	public boolean isInfinite() {
+		return infinite;
+	}
+
+	/**
+	 * Adds a running count for the count system with the given tags, and returns
+	 * the index by which it is read. If a running count with the same tags was
+	 * already added, the index of that running count is returned. The running
+	 * count includes the cards dealt since the shoe was last shuffled.
+	 * 
+	 * @param tags the tag of each rank, indexed by the ordinal of the rank
+	 * @return the index of the running count
+	 */
+	public int addCount(int[] tags) {
+		if (tags.length != Card.NUM_CARD_RANKS) {
+			throw new IllegalArgumentException("Requires a tag for each of "
+			    + Card.NUM_CARD_RANKS + " ranks");
+		}
+		for (int i = 0; i < countTags.length; ++i) {
+			if (Arrays.equals(countTags[i], tags)) {
+				return i;
+			}
+		}
+
+		// count the cards dealt so far with the new tags
+		int runningCount = 0;
+		for (int rank = 0; rank < Card.NUM_CARD_RANKS; ++rank) {
+			int ranksDealt = (numDecks * Card.NUM_CARD_SUITS) - ranksRemaining[rank];
+			runningCount += ranksDealt * tags[rank];
+		}
+
+		int index = countTags.length;
+		countTags = Arrays.copyOf(countTags, index + 1);
+		countTags[index] = tags.clone();
+		runningCounts = Arrays.copyOf(runningCounts, index + 1);
+		runningCounts[index] = runningCount;
+		return index;
+	}
+
+	/**
+	 * Returns the running count with the given index, as returned by
+	 * {@link #addCount(int[])}.
+	 * 
+	 * @param index the index of the running count
+	 * @return the running count
+	 */
+	public int getRunningCount(int index) {
+		return runningCounts[index];
+	}
+
+	/**
+	 * Returns the number of decks in the shoe.
+	 * 
+	 * @return the number of decks
+	 */
+	public int getNumDecks() {
+		return numDecks;
+	}
+
+	/**
+	 * Returns the number of cards in the shoe that have not been seen since it
+	 * was last shuffled.
+	 * 
+	 * @return the number of cards remaining
+	 */
+	public int getCardsRemaining() {
+		return cardsRemaining;
+	}
+
+	/**
+	 * Returns the number of cards that have been seen since the shoe was last
+	 * shuffled.
+	 * 
+	 * @return the number of cards dealt
+	 */
+	public int getCardsDealt() {
+		return (numDecks * Card.CARDS_PER_DECK) - cardsRemaining;
+	}
+
+	/**
+	 * Returns the number of cards of the given rank in the shoe that have not
+	 * been seen since it was last shuffled.
+	 * 
+	 * @param rank the rank of the cards
+	 * @return the number of cards remaining of the rank
+	 */
+	public int getRemaining(Rank rank) {
+		return ranksRemaining[rank.ordinal()];
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A simulation that is divided into independent units at shuffle boundaries.
+ * Each unit plays a single shoe from its shuffle until it needs shuffling
+ * again. The shoe of a unit is seeded by the stream of the master seed equal to
+ * the index of the unit, so the cards dealt in a unit do not depend on which
+ * thread or table plays it.
+ * <p>
+ * Units are played on a work-stealing pool. Consecutive units are grouped into
+ * tasks in a way that depends only on the number of units, and the results of
+ * tasks are merged in unit order, so the final result is identical for any
+ * number of threads. Before each unit, the bankroll of every player is restored
+ * to its value when the table was created. Player strategies must not carry any
+ * state across a shuffle of the shoe.
+ * 
+ * @author Michael Parker
+ * 
+ * @param <R> the type of result recorded for the units
+ */
+public abstract class ShoeSimulation<R> {
+	// the maximum number of consecutive units played by a single task
+	private static final int UNITS_PER_TASK = 16;
+
+	private final long seed;
+
+	/**
+	 * Creates a new simulation whose units are seeded by streams of the given
+	 * master seed.
+	 * 
+	 * @param seed the master seed
+	 */
+	protected ShoeSimulation(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Returns the master seed of the simulation.
+	 * 
+	 * @return the master seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Creates a table, with its players seated, on which units are played. This
+	 * method may be called concurrently by different threads, and each table
+	 * returned is used by only one thread.
+	 * 
+	 * @return a new table with its players seated
+	 */
+	protected abstract Table createTable();
+
+	/**
+	 * Returns a new result that records the units played on the given table,
+	 * typically by adding observers to the table or its players.
+	 * 
+	 * @param table the table on which units are played
+	 * @return the new result
+	 */
+	protected abstract R startResult(Table table);
+
+	/**
+	 * Stops recording the units played on the given table to the given result.
+	 * 
+	 * @param table the table on which units were played
+	 * @param result the result recording the units
+	 */
+	protected abstract void finishResult(Table table, R result);
+
+	/**
+	 * Returns the combination of the two given results, where the units recorded
+	 * by the first result precede the units recorded by the second result.
+	 * 
+	 * @param first the result of the earlier units
+	 * @param second the result of the later units
+	 * @return the combined result
+	 */
+	protected abstract R merge(R first, R second);
+
+	/**
+	 * Plays the given number of units on the given number of threads, and returns
+	 * their merged result.
+	 * 
+	 * @param numUnits the number of units, or shoes, to play
+	 * @param numThreads the number of threads on which to play the units
+	 * @return the merged result of all units
+	 */
+	public R run(long numUnits, int numThreads) {
+		if (numUnits <= 0) {
+			throw new IllegalArgumentException("Number of units must be positive");
+		}
+		ForkJoinPool pool = new ForkJoinPool(numThreads);
+		try {
+			return pool.invoke(new UnitTask(0, numUnits));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/*
+	 * Plays the units from firstUnit inclusive to endUnit exclusive in order on a
+	 * new table.
+	 */
+	protected R playUnits(long firstUnit, long endUnit) {
+		Table table = createTable();
+		List<Player> players = table.getPlayers();
+		long[] bankrolls = new long[players.size()];
+		for (int i = 0; i < bankrolls.length; ++i) {
+			bankrolls[i] = players.get(i).getBankroll();
+		}
+
+		R result = startResult(table);
+		for (long unit = firstUnit; unit < endUnit; ++unit) {
+			for (int i = 0; i < bankrolls.length; ++i) {
+				players.get(i).setBankroll(bankrolls[i]);
+			}
+			table.setSeed(seed, unit);
+			table.playShoe();
+		}
+		finishResult(table, result);
+		return result;
+	}
+
+	private class UnitTask extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+
+		private final long firstUnit;
+		private final long endUnit;
+
+		private UnitTask(long firstUnit, long endUnit) {
+			this.firstUnit = firstUnit;
+			this.endUnit = endUnit;
+		}
+
+		protected R compute() {
+			long numUnits = endUnit - firstUnit;
+			if (numUnits <= UNITS_PER_TASK) {
+				return playUnits(firstUnit, endUnit);
+			}
+
+			// split in half, playing the later half asynchronously
+			long midUnit = firstUnit + (numUnits / 2);
+			UnitTask secondTask = new UnitTask(midUnit, endUnit);
+			secondTask.fork();
+			R firstResult = new UnitTask(firstUnit, midUnit).compute();
+			return merge(firstResult, secondTask.join());
+		}
+	}
+}
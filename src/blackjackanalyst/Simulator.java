@@ -20,16 +20,27 @@
 
 package blackjackanalyst;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import blackjackanalyst.observer.ConsoleTableObserver;
+import blackjackanalyst.observer.DistributionRoundObserver;
+import blackjackanalyst.observer.PrecisionRoundObserver;
+import blackjackanalyst.observer.WinLossPlayerObserver;
 import blackjackanalyst.observer.WinLossTableObserver;
-import blackjackanalyst.strategy.BasicPlayerStrategy;
-import blackjackanalyst.strategy.DefaultDealerStrategy;
-import blackjackanalyst.strategy.DefaultPlayerStrategy;
-import blackjackanalyst.strategy.TrueCountPlayerStrategy;
+import blackjackanalyst.strategy.CountSystem;
+import blackjackanalyst.strategy.CountingPlayerStrategy;
 
 /**
  * Class that performs the simulation of the specified strategy over the
@@ -38,68 +49,194 @@ import blackjackanalyst.strategy.TrueCountPlayerStrategy;
  * 
  * <ul>
  * <li>--num_rounds: Specifies the number of rounds of Blackjack to play.</li>
- * <li>--player_names: A comma-separated list of the names of the players.</li>
+ * <li>--player_names: A comma-separated list of the names of the players, who
+ * are seated at every table. A table seats at most six players.</li>
  * <li>--verbose: If present, detailed information about each hand will be
  * displayed, instead of simply a summary at the end.</li>
- * <li>--strategy: Must be either the values <code>DEFAULT</code>,
- * <code>BASIC</code>, or <code>TRUE_COUNT</code>, which use
+ * <li>--strategy: The name of a <code>PlayerStrategyFactory</code> on the
+ * class path. The included strategies are <code>default</code>,
+ * <code>basic</code>, and <code>true_count</code>, which use
  * <code>DefaultPlayerStrategy</code>, <code>BasicPlayerStrategy</code>, or
- * <code>TrueCountPlayerStrategy</code>, respectively.
+ * <code>TrueCountPlayerStrategy</code>, respectively. Defaults to
+ * <code>default</code>.</li>
+ * <li>--dealer_strategy: The name of a <code>DealerStrategyFactory</code> on
+ * the class path. Defaults to <code>default</code>, which uses
+ * <code>DefaultDealerStrategy</code>.</li>
+ * <li>--count_system: If present, the players use
+ * <code>CountingPlayerStrategy</code> with the given count system, such as
+ * <code>HI_OPT_II</code>, instead of the strategy given by --strategy.</li>
+ * <li>--ace_side_count: If present, the players using --count_system keep a
+ * side count of aces.</li>
+ * <li>--seed: If present, seeds the shoe so that the simulation is
+ * reproducible.</li>
+ * <li>--tables: The number of independent tables to simulate. The rounds are
+ * divided evenly among the tables, and the statistics of all tables are merged
+ * at the end. Defaults to {@code 1}.</li>
+ * <li>--threads: The number of threads on which to simulate the tables.
+ * Defaults to {@code 1}.</li>
+ * <li>--num_shoes: If present, instead of playing a number of rounds, plays the
+ * given number of shoes, each seeded by its index. The shoes are divided among
+ * the threads, and the results are identical for any number of threads.</li>
+ * <li>--preshuffle: If present, shuffles the shoe of each table ahead of time
+ * on a background thread. Cannot be used with --num_shoes.</li>
+ * <li>--shoe_bank: If present, the tables deal the shoe orders of the given
+ * file written by <code>ShoeBank</code> instead of shuffling, each table
+ * starting at a different shoe. Cannot be used with --num_shoes or
+ * --preshuffle.</li>
+ * <li>--infinite_deck: If present, the tables deal each card independently
+ * from an infinite deck, and never shuffle. Cannot be used with --num_shoes,
+ * --preshuffle, or --shoe_bank.</li>
+ * <li>--rng: The random number generator that shuffles the shoes, such as
+ * <code>XOSHIRO256</code>, as given by <code>RandomSourceType</code>. Defaults
+ * to <code>MERSENNE_TWISTER</code>.</li>
+ * <li>--target_se: If present, each table stops playing once the standard
+ * error of the expected value per unit initially bet reaches the given target,
+ * or once it has played its share of --num_rounds. Cannot be used with
+ * --num_shoes.</li>
+ * <li>--quantiles: If present, prints percentiles of the bankrolls of the
+ * players after each round, and of the results of their rounds, recorded by
+ * <code>DistributionRoundObserver</code>.</li>
+ * <li>--num_sessions: If present, instead of playing a number of rounds, plays
+ * the given number of independent sessions of a single player, and prints the
+ * risk of ruin and the distribution of session results. The sessions are
+ * divided among the threads, and the results are identical for any number of
+ * threads. Cannot be used with --num_rounds, --num_shoes, --tables,
+ * --preshuffle, --shoe_bank, --verbose, --target_se, or --quantiles.</li>
+ * <li>--session_bankroll: The bankroll of the player at the start of each
+ * session. Defaults to {@code 2000}.</li>
+ * <li>--win_goal: If present, a session ends once the player has won the given
+ * amount.</li>
+ * <li>--stop_loss: If present, a session ends once the player has lost the
+ * given amount. A session always ends once the bankroll of the player falls
+ * below the minimum bet.</li>
+ * <li>--session_rounds: The maximum number of rounds in a session. Defaults to
+ * {@code 1000}.</li>
  * </ul>
  * 
  * @author Michael Parker
  */
 public class Simulator {
 	private static class ParsedArguments {
-		enum StrategyType {
-			DEFAULT {
-				public PlayerStrategy playerStrategy() {
-					return new DefaultPlayerStrategy();
-				}
-			},
-			BASIC {
-				public PlayerStrategy playerStrategy() {
-					return new BasicPlayerStrategy();
-				}
-			},
-			TRUE_COUNT {
-				public PlayerStrategy playerStrategy() {
-					return new TrueCountPlayerStrategy();
-				}
-			};
-
-			public abstract PlayerStrategy playerStrategy();
-		}
-
-		int numRounds;
+		long numRounds;
 		List<String> playerNames;
 		boolean verbose;
-		StrategyType strategyType;
+		PlayerStrategyFactory strategyFactory;
+		DealerStrategyFactory dealerStrategyFactory;
+		Long seed;
+		int numTables;
+		int numThreads;
+		long numShoes;
+		CountSystem countSystem;
+		boolean aceSideCount;
+		boolean preShuffle;
+		ShoeBank shoeBank;
+		boolean infiniteDeck;
+		RandomSourceType randomSourceType;
+		double targetStandardError;
+		boolean quantiles;
+		long numSessions;
+		long sessionBankroll;
+		long winGoal;
+		long stopLoss;
+		long sessionRounds;
 
-		ParsedArguments(int numRounds, List<String> playerNames, boolean verbose,
-		    StrategyType strategyType) {
+		ParsedArguments(long numRounds, List<String> playerNames, boolean verbose,
+		    PlayerStrategyFactory strategyFactory,
+		    DealerStrategyFactory dealerStrategyFactory, Long seed, int numTables,
+		    int numThreads, long numShoes, CountSystem countSystem,
+		    boolean aceSideCount, boolean preShuffle, ShoeBank shoeBank,
+		    boolean infiniteDeck, RandomSourceType randomSourceType,
+		    double targetStandardError, boolean quantiles, long numSessions,
+		    long sessionBankroll, long winGoal, long stopLoss, long sessionRounds) {
 			this.numRounds = numRounds;
 			this.playerNames = playerNames;
 			this.verbose = verbose;
-			this.strategyType = strategyType;
+			this.strategyFactory = strategyFactory;
+			this.dealerStrategyFactory = dealerStrategyFactory;
+			this.seed = seed;
+			this.numTables = numTables;
+			this.numThreads = numThreads;
+			this.numShoes = numShoes;
+			this.countSystem = countSystem;
+			this.aceSideCount = aceSideCount;
+			this.preShuffle = preShuffle;
+			this.shoeBank = shoeBank;
+			this.infiniteDeck = infiniteDeck;
+			this.randomSourceType = randomSourceType;
+			this.targetStandardError = targetStandardError;
+			this.quantiles = quantiles;
+			this.numSessions = numSessions;
+			this.sessionBankroll = sessionBankroll;
+			this.winGoal = winGoal;
+			this.stopLoss = stopLoss;
+			this.sessionRounds = sessionRounds;
+		}
+
+		PlayerStrategy playerStrategy() {
+			if (countSystem != null) {
+				return new CountingPlayerStrategy(countSystem, aceSideCount);
+			}
+			return strategyFactory.createStrategy();
 		}
 	}
 
+	// the number of players that can be seated at each table
+	private static final int TABLE_SEATS = 6;
+
 	private static final String NUM_ROUNDS_ARGUMENT_PREFIX = "--num_rounds=";
 	private static final String VERBOSE_ARGUMENT = "--verbose";
 	private static final String PLAYER_NAMES_ARGUMENT_PREFIX = "--player_names=";
 	private static final String STRATEGY_ARGUMENT_PREFIX = "--strategy=";
+	private static final String DEALER_STRATEGY_ARGUMENT_PREFIX =
+	    "--dealer_strategy=";
+	private static final String SEED_ARGUMENT_PREFIX = "--seed=";
+	private static final String TABLES_ARGUMENT_PREFIX = "--tables=";
+	private static final String THREADS_ARGUMENT_PREFIX = "--threads=";
+	private static final String NUM_SHOES_ARGUMENT_PREFIX = "--num_shoes=";
+	private static final String COUNT_SYSTEM_ARGUMENT_PREFIX = "--count_system=";
+	private static final String ACE_SIDE_COUNT_ARGUMENT = "--ace_side_count";
+	private static final String PRESHUFFLE_ARGUMENT = "--preshuffle";
+	private static final String SHOE_BANK_ARGUMENT_PREFIX = "--shoe_bank=";
+	private static final String INFINITE_DECK_ARGUMENT = "--infinite_deck";
+	private static final String RNG_ARGUMENT_PREFIX = "--rng=";
+	private static final String TARGET_SE_ARGUMENT_PREFIX = "--target_se=";
+	private static final String QUANTILES_ARGUMENT = "--quantiles";
+	private static final String NUM_SESSIONS_ARGUMENT_PREFIX = "--num_sessions=";
+	private static final String SESSION_BANKROLL_ARGUMENT_PREFIX =
+	    "--session_bankroll=";
+	private static final String WIN_GOAL_ARGUMENT_PREFIX = "--win_goal=";
+	private static final String STOP_LOSS_ARGUMENT_PREFIX = "--stop_loss=";
+	private static final String SESSION_ROUNDS_ARGUMENT_PREFIX =
+	    "--session_rounds=";
 
 	private static ParsedArguments parseArgs(String[] args) {
-		int numRounds = 0;
+		long numRounds = 0;
 		List<String> playerNames = new LinkedList<String>();
 		boolean verbose = false;
-		ParsedArguments.StrategyType strategyType = ParsedArguments.StrategyType.DEFAULT;
+		String strategyName = "default";
+		String dealerStrategyName = "default";
+		Long seed = null;
+		int numTables = 1;
+		int numThreads = 1;
+		long numShoes = 0;
+		CountSystem countSystem = null;
+		boolean aceSideCount = false;
+		boolean preShuffle = false;
+		String shoeBankFile = null;
+		boolean infiniteDeck = false;
+		RandomSourceType randomSourceType = RandomSourceType.MERSENNE_TWISTER;
+		double targetStandardError = 0;
+		boolean quantiles = false;
+		long numSessions = 0;
+		long sessionBankroll = 2000;
+		long winGoal = 0;
+		long stopLoss = 0;
+		long sessionRounds = 1000;
 
 		for (String arg : args) {
 			if (arg.startsWith(NUM_ROUNDS_ARGUMENT_PREFIX)) {
 				arg = arg.substring(NUM_ROUNDS_ARGUMENT_PREFIX.length());
-				numRounds = Integer.valueOf(arg).intValue();
+				numRounds = Long.valueOf(arg).longValue();
 			} else if (arg.equals(VERBOSE_ARGUMENT)) {
 				verbose = true;
 			} else if (arg.startsWith(PLAYER_NAMES_ARGUMENT_PREFIX)) {
@@ -112,62 +249,494 @@ public class Simulator {
 					}
 				}
 			} else if (arg.startsWith(STRATEGY_ARGUMENT_PREFIX)) {
-				arg = arg.substring(STRATEGY_ARGUMENT_PREFIX.length()).toUpperCase();
-				if (arg.equals(ParsedArguments.StrategyType.DEFAULT.toString())) {
-					strategyType = ParsedArguments.StrategyType.DEFAULT;
-				} else if (arg.equals(ParsedArguments.StrategyType.BASIC.toString())) {
-					strategyType = ParsedArguments.StrategyType.BASIC;
-				} else if (arg.equals(ParsedArguments.StrategyType.TRUE_COUNT
-				    .toString())) {
-					strategyType = ParsedArguments.StrategyType.TRUE_COUNT;
+				strategyName = arg.substring(STRATEGY_ARGUMENT_PREFIX.length());
+			} else if (arg.startsWith(DEALER_STRATEGY_ARGUMENT_PREFIX)) {
+				dealerStrategyName = arg.substring(DEALER_STRATEGY_ARGUMENT_PREFIX
+				    .length());
+			} else if (arg.startsWith(SEED_ARGUMENT_PREFIX)) {
+				arg = arg.substring(SEED_ARGUMENT_PREFIX.length());
+				seed = Long.valueOf(arg);
+			} else if (arg.startsWith(TABLES_ARGUMENT_PREFIX)) {
+				arg = arg.substring(TABLES_ARGUMENT_PREFIX.length());
+				numTables = Integer.valueOf(arg).intValue();
+			} else if (arg.startsWith(THREADS_ARGUMENT_PREFIX)) {
+				arg = arg.substring(THREADS_ARGUMENT_PREFIX.length());
+				numThreads = Integer.valueOf(arg).intValue();
+			} else if (arg.startsWith(NUM_SHOES_ARGUMENT_PREFIX)) {
+				arg = arg.substring(NUM_SHOES_ARGUMENT_PREFIX.length());
+				numShoes = Long.valueOf(arg).longValue();
+			} else if (arg.startsWith(COUNT_SYSTEM_ARGUMENT_PREFIX)) {
+				arg = arg.substring(COUNT_SYSTEM_ARGUMENT_PREFIX.length());
+				countSystem = CountSystem.valueOf(arg.toUpperCase());
+			} else if (arg.equals(ACE_SIDE_COUNT_ARGUMENT)) {
+				aceSideCount = true;
+			} else if (arg.equals(PRESHUFFLE_ARGUMENT)) {
+				preShuffle = true;
+			} else if (arg.startsWith(RNG_ARGUMENT_PREFIX)) {
+				arg = arg.substring(RNG_ARGUMENT_PREFIX.length());
+				randomSourceType = RandomSourceType.valueOf(arg.toUpperCase());
+			} else if (arg.startsWith(TARGET_SE_ARGUMENT_PREFIX)) {
+				arg = arg.substring(TARGET_SE_ARGUMENT_PREFIX.length());
+				targetStandardError = Double.valueOf(arg).doubleValue();
+				if (!(targetStandardError > 0)) {
+					throw new IllegalArgumentException(
+					    "Requires --target_se argument with positive number");
 				}
+			} else if (arg.startsWith(NUM_SESSIONS_ARGUMENT_PREFIX)) {
+				arg = arg.substring(NUM_SESSIONS_ARGUMENT_PREFIX.length());
+				numSessions = Long.valueOf(arg).longValue();
+			} else if (arg.startsWith(SESSION_BANKROLL_ARGUMENT_PREFIX)) {
+				arg = arg.substring(SESSION_BANKROLL_ARGUMENT_PREFIX.length());
+				sessionBankroll = Long.valueOf(arg).longValue();
+			} else if (arg.startsWith(WIN_GOAL_ARGUMENT_PREFIX)) {
+				arg = arg.substring(WIN_GOAL_ARGUMENT_PREFIX.length());
+				winGoal = Long.valueOf(arg).longValue();
+			} else if (arg.startsWith(STOP_LOSS_ARGUMENT_PREFIX)) {
+				arg = arg.substring(STOP_LOSS_ARGUMENT_PREFIX.length());
+				stopLoss = Long.valueOf(arg).longValue();
+			} else if (arg.startsWith(SESSION_ROUNDS_ARGUMENT_PREFIX)) {
+				arg = arg.substring(SESSION_ROUNDS_ARGUMENT_PREFIX.length());
+				sessionRounds = Long.valueOf(arg).longValue();
+			} else if (arg.equals(QUANTILES_ARGUMENT)) {
+				quantiles = true;
+			} else if (arg.equals(INFINITE_DECK_ARGUMENT)) {
+				infiniteDeck = true;
+			} else if (arg.startsWith(SHOE_BANK_ARGUMENT_PREFIX)) {
+				shoeBankFile = arg.substring(SHOE_BANK_ARGUMENT_PREFIX.length());
 			} else {
 				throw new IllegalArgumentException(
 				    "Unrecognized command line argument: " + arg);
 			}
 		}
-		if (numRounds <= 0) {
+		if ((numRounds <= 0) && (numShoes <= 0) && (numSessions <= 0)) {
+			throw new IllegalArgumentException(
+			    "Requires --num_rounds, --num_shoes, or --num_sessions argument "
+			        + "with positive integer");
+		}
+		if (((numRounds > 0) ? 1 : 0) + ((numShoes > 0) ? 1 : 0)
+		    + ((numSessions > 0) ? 1 : 0) > 1) {
 			throw new IllegalArgumentException(
-			    "Requires --num_rounds argument with positive integer");
+			    "The --num_rounds, --num_shoes, and --num_sessions arguments are "
+			        + "exclusive");
+		}
+		if (numSessions > 0) {
+			if ((numTables > 1) || preShuffle || (shoeBankFile != null) || verbose
+			    || (targetStandardError > 0) || quantiles) {
+				throw new IllegalArgumentException(
+				    "The --num_sessions argument cannot be used with --tables, "
+				        + "--preshuffle, --shoe_bank, --verbose, --target_se, or "
+				        + "--quantiles");
+			}
+			if (playerNames.size() > 1) {
+				throw new IllegalArgumentException(
+				    "The --num_sessions argument requires a single player name");
+			}
+			if ((sessionBankroll <= 0) || (sessionRounds <= 0)) {
+				throw new IllegalArgumentException(
+				    "Requires --session_bankroll and --session_rounds arguments "
+				        + "with positive integers");
+			}
+			if ((winGoal < 0) || (stopLoss < 0)) {
+				throw new IllegalArgumentException(
+				    "Requires --win_goal and --stop_loss arguments with "
+				        + "non-negative integers");
+			}
 		}
 		if (playerNames.isEmpty()) {
 			throw new IllegalArgumentException(
 			    "Requires --names argument with at least one name");
 		}
+		if (playerNames.size() > TABLE_SEATS) {
+			throw new IllegalArgumentException("Requires at most " + TABLE_SEATS
+			    + " names in the --player_names argument");
+		}
+		if (numTables <= 0) {
+			throw new IllegalArgumentException(
+			    "Requires --tables argument with positive integer");
+		}
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException(
+			    "Requires --threads argument with positive integer");
+		}
+		if (verbose && ((numTables > 1) || (numShoes > 0))) {
+			throw new IllegalArgumentException(
+			    "The --verbose argument requires a single table");
+		}
+		if ((numShoes > 0) && (numTables > 1)) {
+			throw new IllegalArgumentException(
+			    "The --tables argument cannot be used with --num_shoes");
+		}
+		if ((targetStandardError > 0) && (numShoes > 0)) {
+			throw new IllegalArgumentException(
+			    "The --target_se argument cannot be used with --num_shoes");
+		}
+		if (preShuffle && (numShoes > 0)) {
+			throw new IllegalArgumentException(
+			    "The --preshuffle argument cannot be used with --num_shoes");
+		}
+		if (infiniteDeck
+		    && ((numShoes > 0) || preShuffle || (shoeBankFile != null))) {
+			throw new IllegalArgumentException(
+			    "The --infinite_deck argument cannot be used with --num_shoes, "
+			        + "--preshuffle, or --shoe_bank");
+		}
+		ShoeBank shoeBank = null;
+		if (shoeBankFile != null) {
+			if ((numShoes > 0) || preShuffle) {
+				throw new IllegalArgumentException(
+				    "The --shoe_bank argument cannot be used with --num_shoes or "
+				        + "--preshuffle");
+			}
+			try {
+				shoeBank = ShoeBank.load(new File(shoeBankFile));
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Cannot load shoe bank: "
+				    + e.getMessage());
+			}
+		}
 
-		return new ParsedArguments(numRounds, playerNames, verbose, strategyType);
-	}
+		if (aceSideCount
+		    && ((countSystem == null) || !countSystem.supportsAceSideCount())) {
+			throw new IllegalArgumentException(
+			    "The --ace_side_count argument requires a --count_system that does "
+			        + "not count aces");
+		}
 
-	public static void main(String[] args) {
-		ParsedArguments parsedArguments = Simulator.parseArgs(args);
+		// players using a count system do not use the named strategy
+		PlayerStrategyFactory strategyFactory = null;
+		if (countSystem == null) {
+			strategyFactory = StrategyFactories
+			    .getPlayerStrategyFactory(strategyName);
+		}
+		DealerStrategyFactory dealerStrategyFactory = StrategyFactories
+		    .getDealerStrategyFactory(dealerStrategyName);
 
-		Table advancedTable = new Table("Table1", 6, DefaultDealerStrategy.INSTANCE, 20,
-		    200);
-		ObserverList<TableObserver> tableObservers = advancedTable.getObservers();
+		return new ParsedArguments(numRounds, playerNames, verbose,
+		    strategyFactory, dealerStrategyFactory, seed, numTables, numThreads,
+		    numShoes, countSystem, aceSideCount, preShuffle, shoeBank,
+		    infiniteDeck, randomSourceType, targetStandardError, quantiles,
+		    numSessions, sessionBankroll, winGoal, stopLoss, sessionRounds);
+	}
 
-		// Add table observer to gather statistics.
-		WinLossTableObserver winLossObserver = new WinLossTableObserver();
-		tableObservers.add(winLossObserver);
+	private static Table createTable(ParsedArguments parsedArguments,
+	    int tableIndex) {
+		Table table = new Table("Table" + (tableIndex + 1), TABLE_SEATS,
+		    parsedArguments.dealerStrategyFactory.createStrategy(), 20, 200);
+		table.setRandomSourceType(parsedArguments.randomSourceType);
+		if (parsedArguments.seed != null) {
+			table.setSeed(parsedArguments.seed, tableIndex);
+		}
+		if (parsedArguments.preShuffle) {
+			table.setPreShuffling(true);
+		}
+		if (parsedArguments.infiniteDeck) {
+			table.setInfiniteDeck(true);
+		}
+		if (parsedArguments.shoeBank != null) {
+			// spread the tables evenly over the shoes of the bank
+			int numShoes = parsedArguments.shoeBank.getNumShoes();
+			int firstShoe = (int) (((long) tableIndex * numShoes)
+			    / parsedArguments.numTables);
+			table.setShoeBank(parsedArguments.shoeBank, firstShoe);
+		}
 		// Add table observer to print details to console if --verbose is specified.
 		if (parsedArguments.verbose) {
-			tableObservers.add(ConsoleTableObserver.getInstance());
+			table.getObservers().add(ConsoleTableObserver.getInstance());
 		}
 
-		// Add players to the table.
+		// Add players to the table, each with its own strategy.
 		for (String playerName : parsedArguments.playerNames) {
-			Player player = new Player(parsedArguments.strategyType.playerStrategy(),
-			    playerName);
-			advancedTable.addPlayer(player);
+			Player player = new Player(parsedArguments.playerStrategy(), playerName);
+			if (!table.addPlayer(player)) {
+				throw new IllegalStateException("Cannot seat player " + playerName
+				    + " at " + table.getName());
+			}
 			player.setBankroll(100000);
 		}
+		return table;
+	}
 
-		// Simulate rounds of blackjack.
-		advancedTable.playRounds(parsedArguments.numRounds);
+	/*
+	 * The statistics of the table and of each player over consecutive shoes.
+	 */
+	private static class ShoeResult {
+		final WinLossTableObserver tableResult;
+		// the names and statistics of the players seated at the table
+		final List<String> playerNames;
+		final List<WinLossPlayerObserver> playerResults;
+		final DistributionRoundObserver distributionResult;
+
+		ShoeResult(Table table, boolean quantiles) {
+			tableResult = new WinLossTableObserver();
+			table.getRoundObservers().add(tableResult);
+			if (quantiles) {
+				distributionResult = new DistributionRoundObserver();
+				table.getRoundObservers().add(distributionResult);
+			} else {
+				distributionResult = null;
+			}
+			playerNames = new ArrayList<String>();
+			playerResults = new ArrayList<WinLossPlayerObserver>();
+			for (Player player : table.getPlayers()) {
+				WinLossPlayerObserver playerResult = new WinLossPlayerObserver();
+				player.getObservers().add(playerResult);
+				playerNames.add(player.getName());
+				playerResults.add(playerResult);
+			}
+		}
+
+		void finish(Table table) {
+			table.getRoundObservers().remove(tableResult);
+			if (distributionResult != null) {
+				table.getRoundObservers().remove(distributionResult);
+			}
+			List<Player> players = table.getPlayers();
+			for (int i = 0; i < players.size(); ++i) {
+				players.get(i).getObservers().remove(playerResults.get(i));
+			}
+		}
+
+		void merge(ShoeResult other) {
+			tableResult.merge(other.tableResult);
+			if (distributionResult != null) {
+				distributionResult.merge(other.distributionResult);
+			}
+			for (int i = 0; i < playerResults.size(); ++i) {
+				playerResults.get(i).merge(other.playerResults.get(i));
+			}
+		}
+	}
+
+	private static void playShoes(final ParsedArguments parsedArguments) {
+		long seed = (parsedArguments.seed != null) ? parsedArguments.seed : System
+		    .currentTimeMillis();
+		ShoeSimulation<ShoeResult> simulation = new ShoeSimulation<ShoeResult>(seed) {
+			protected Table createTable() {
+				return Simulator.createTable(parsedArguments, 0);
+			}
+
+			protected ShoeResult startResult(Table table) {
+				return new ShoeResult(table, parsedArguments.quantiles);
+			}
+
+			protected void finishResult(Table table, ShoeResult result) {
+				result.finish(table);
+			}
+
+			protected ShoeResult merge(ShoeResult first, ShoeResult second) {
+				first.merge(second);
+				return first;
+			}
+		};
+		ShoeResult result = simulation.run(parsedArguments.numShoes,
+		    parsedArguments.numThreads);
+
+		// Print summary statistics.
+		System.out.println("Played " + result.tableResult.getNumRounds()
+		    + " rounds in " + parsedArguments.numShoes + " shoes with seed " + seed);
+		Map<String, List<WinLossPlayerObserver>> playerResults = new LinkedHashMap<String, List<WinLossPlayerObserver>>();
+		for (int i = 0; i < result.playerResults.size(); ++i) {
+			addPlayerResult(playerResults, result.playerNames.get(i),
+			    result.playerResults.get(i));
+		}
+		printMergedResults(Collections.singletonList(result.tableResult),
+		    playerResults);
+		if (result.distributionResult != null) {
+			System.out.println(result.distributionResult);
+		}
+	}
+
+	private static void playSessions(final ParsedArguments parsedArguments) {
+		long seed = (parsedArguments.seed != null) ? parsedArguments.seed : System
+		    .currentTimeMillis();
+		SessionSimulation simulation = new SessionSimulation(seed,
+		    parsedArguments.sessionBankroll, parsedArguments.winGoal,
+		    parsedArguments.stopLoss, parsedArguments.sessionRounds) {
+			protected Table createTable() {
+				return Simulator.createTable(parsedArguments, 0);
+			}
+		};
+		SessionResult result = simulation.run(parsedArguments.numSessions,
+		    parsedArguments.numThreads);
+
+		// Print summary statistics.
+		System.out.println("Played " + parsedArguments.numSessions
+		    + " sessions with seed " + seed);
+		System.out.println("\n" + result);
+	}
+
+	private static void addPlayerResult(
+	    Map<String, List<WinLossPlayerObserver>> playerResults, String playerName,
+	    WinLossPlayerObserver playerResult) {
+		List<WinLossPlayerObserver> results = playerResults.get(playerName);
+		if (results == null) {
+			results = new ArrayList<WinLossPlayerObserver>();
+			playerResults.put(playerName, results);
+		}
+		results.add(playerResult);
+	}
+
+	/*
+	 * Returns the statistics of all the given tables merged into one.
+	 */
+	static WinLossTableObserver mergeTableResults(
+	    List<WinLossTableObserver> tableResults) {
+		WinLossTableObserver mergedTableResult = new WinLossTableObserver();
+		for (WinLossTableObserver tableResult : tableResults) {
+			mergedTableResult.merge(tableResult);
+		}
+		return mergedTableResult;
+	}
+
+	/*
+	 * Returns the statistics of each player name, merged over all the tables at
+	 * which a player of that name played, in the order of the given map.
+	 */
+	static Map<String, WinLossPlayerObserver> mergePlayerResults(
+	    Map<String, List<WinLossPlayerObserver>> playerResults) {
+		Map<String, WinLossPlayerObserver> mergedPlayerResults = new LinkedHashMap<String, WinLossPlayerObserver>();
+		for (Map.Entry<String, List<WinLossPlayerObserver>> entry : playerResults
+		    .entrySet()) {
+			WinLossPlayerObserver mergedPlayerResult = new WinLossPlayerObserver();
+			for (WinLossPlayerObserver playerResult : entry.getValue()) {
+				mergedPlayerResult.merge(playerResult);
+			}
+			mergedPlayerResults.put(entry.getKey(), mergedPlayerResult);
+		}
+		return mergedPlayerResults;
+	}
+
+	private static void printMergedResults(List<WinLossTableObserver> tableResults,
+	    Map<String, List<WinLossPlayerObserver>> playerResults) {
+		System.out.println("\n" + mergeTableResults(tableResults));
+		for (Map.Entry<String, WinLossPlayerObserver> entry : mergePlayerResults(
+		    playerResults).entrySet()) {
+			System.out.println("Player name=" + entry.getKey() + ": "
+			    + entry.getValue());
+		}
+	}
+
+	/*
+	 * Adds an observer to each table that stops the table once its standard
+	 * error reaches the target. The tables are independent, so the standard
+	 * error of their merged results is the target of each table divided by the
+	 * square root of the number of tables.
+	 */
+	private static List<PrecisionRoundObserver> addStopRules(
+	    ParsedArguments parsedArguments, List<Table> tables) {
+		double tableTarget = parsedArguments.targetStandardError
+		    * Math.sqrt(tables.size());
+		List<PrecisionRoundObserver> precisionResults = new ArrayList<PrecisionRoundObserver>(
+		    tables.size());
+		for (Table table : tables) {
+			PrecisionRoundObserver precisionResult = new PrecisionRoundObserver();
+			precisionResult.setStopRule(table, tableTarget);
+			table.getRoundObservers().add(precisionResult);
+			precisionResults.add(precisionResult);
+		}
+		return precisionResults;
+	}
+
+	private static void playRounds(ParsedArguments parsedArguments,
+	    List<Table> tables) throws InterruptedException, ExecutionException {
+		int numTables = tables.size();
+		if (numTables == 1) {
+			tables.get(0).playRounds(parsedArguments.numRounds);
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(
+		    parsedArguments.numThreads, numTables));
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>(numTables);
+			for (int i = 0; i < numTables; ++i) {
+				final Table table = tables.get(i);
+				final long numRounds = (parsedArguments.numRounds / numTables)
+				    + ((i < (parsedArguments.numRounds % numTables)) ? 1 : 0);
+				futures.add(executor.submit(new Runnable() {
+					public void run() {
+						table.playRounds(numRounds);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException,
+	    ExecutionException {
+		ParsedArguments parsedArguments = Simulator.parseArgs(args);
+		if (parsedArguments.numShoes > 0) {
+			playShoes(parsedArguments);
+			return;
+		}
+		if (parsedArguments.numSessions > 0) {
+			playSessions(parsedArguments);
+			return;
+		}
+		int numTables = parsedArguments.numTables;
+
+		// Create the tables and the observers that gather their statistics.
+		List<Table> tables = new ArrayList<Table>(numTables);
+		List<WinLossTableObserver> tableResults = new ArrayList<WinLossTableObserver>(
+		    numTables);
+		Map<String, List<WinLossPlayerObserver>> playerResults = new LinkedHashMap<String, List<WinLossPlayerObserver>>();
+		for (int i = 0; i < numTables; ++i) {
+			Table table = createTable(parsedArguments, i);
+			WinLossTableObserver winLossObserver = new WinLossTableObserver();
+			table.getRoundObservers().add(winLossObserver);
+			for (Player player : table.getPlayers()) {
+				WinLossPlayerObserver playerObserver = new WinLossPlayerObserver();
+				player.getObservers().add(playerObserver);
+				addPlayerResult(playerResults, player.getName(), playerObserver);
+			}
+			tables.add(table);
+			tableResults.add(winLossObserver);
+		}
+
+		List<PrecisionRoundObserver> precisionResults = null;
+		if (parsedArguments.targetStandardError > 0) {
+			precisionResults = addStopRules(parsedArguments, tables);
+		}
+		List<DistributionRoundObserver> distributionResults = null;
+		if (parsedArguments.quantiles) {
+			distributionResults = new ArrayList<DistributionRoundObserver>(
+			    numTables);
+			for (Table table : tables) {
+				DistributionRoundObserver result = new DistributionRoundObserver();
+				table.getRoundObservers().add(result);
+				distributionResults.add(result);
+			}
+		}
+
+		// Simulate rounds of blackjack, dividing the rounds among the tables.
+		try {
+			playRounds(parsedArguments, tables);
+		} finally {
+			for (Table table : tables) {
+				table.setPreShuffling(false);
+			}
+		}
 
 		// Print summary statistics.
-		System.out.println("\n" + winLossObserver);
-		for (Player player : advancedTable.getPlayers()) {
-			System.out.println(player);
+		printMergedResults(tableResults, playerResults);
+		if (precisionResults != null) {
+			PrecisionRoundObserver mergedResult = new PrecisionRoundObserver();
+			for (PrecisionRoundObserver precisionResult : precisionResults) {
+				mergedResult.merge(precisionResult);
+			}
+			System.out.println(mergedResult);
+		}
+		if (distributionResults != null) {
+			DistributionRoundObserver mergedResult = new DistributionRoundObserver();
+			for (DistributionRoundObserver distributionResult : distributionResults) {
+				mergedResult.merge(distributionResult);
+			}
+			System.out.println(mergedResult);
 		}
 	}
 }
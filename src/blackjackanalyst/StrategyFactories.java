@@ -0,0 +1,130 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import blackjackanalyst.strategy.BasicPlayerStrategyFactory;
+import blackjackanalyst.strategy.DefaultDealerStrategyFactory;
+import blackjackanalyst.strategy.DefaultPlayerStrategyFactory;
+import blackjackanalyst.strategy.TrueCountPlayerStrategyFactory;
+
+/**
+ * Finds the {@link PlayerStrategyFactory} and {@link DealerStrategyFactory}
+ * services by name. The factories of the included strategies are always
+ * found, even if the service files are not on the class path, and are followed
+ * by any other factories listed in the service files.
+ * 
+ * @author Michael Parker
+ */
+public final class StrategyFactories {
+	private StrategyFactories() {
+	}
+
+	/**
+	 * Returns the factories of the included player strategies, followed by all
+	 * other player strategy factories on the class path.
+	 * 
+	 * @return the player strategy factories
+	 */
+	public static List<PlayerStrategyFactory> getPlayerStrategyFactories() {
+		List<PlayerStrategyFactory> factories = new ArrayList<PlayerStrategyFactory>();
+		factories.add(new DefaultPlayerStrategyFactory());
+		factories.add(new BasicPlayerStrategyFactory());
+		factories.add(new TrueCountPlayerStrategyFactory());
+		for (PlayerStrategyFactory factory : ServiceLoader
+		    .load(PlayerStrategyFactory.class)) {
+			addFactory(factories, factory);
+		}
+		return factories;
+	}
+
+	/**
+	 * Returns the factory of the included dealer strategy, followed by all other
+	 * dealer strategy factories on the class path.
+	 * 
+	 * @return the dealer strategy factories
+	 */
+	public static List<DealerStrategyFactory> getDealerStrategyFactories() {
+		List<DealerStrategyFactory> factories = new ArrayList<DealerStrategyFactory>();
+		factories.add(new DefaultDealerStrategyFactory());
+		for (DealerStrategyFactory factory : ServiceLoader
+		    .load(DealerStrategyFactory.class)) {
+			addFactory(factories, factory);
+		}
+		return factories;
+	}
+
+	/*
+	 * Adds the given factory to the given factories, unless a factory of the
+	 * same class was already added.
+	 */
+	private static <T> void addFactory(List<T> factories, T factory) {
+		for (T addedFactory : factories) {
+			if (addedFactory.getClass() == factory.getClass()) {
+				return;
+			}
+		}
+		factories.add(factory);
+	}
+
+	/**
+	 * Returns the player strategy factory with the given name, compared without
+	 * regard to case.
+	 * 
+	 * @param name the name of the strategy
+	 * @return the factory of the strategy
+	 * @throws IllegalArgumentException if no factory has the given name
+	 */
+	public static PlayerStrategyFactory getPlayerStrategyFactory(String name) {
+		List<String> names = new ArrayList<String>();
+		for (PlayerStrategyFactory factory : getPlayerStrategyFactories()) {
+			if (factory.getName().equalsIgnoreCase(name)) {
+				return factory;
+			}
+			names.add(factory.getName());
+		}
+		throw new IllegalArgumentException("No player strategy named " + name
+		    + ", expected one of " + names);
+	}
+
+	/**
+	 * Returns the dealer strategy factory with the given name, compared without
+	 * regard to case.
+	 * 
+	 * @param name the name of the strategy
+	 * @return the factory of the strategy
+	 * @throws IllegalArgumentException if no factory has the given name
+	 */
+	public static DealerStrategyFactory getDealerStrategyFactory(String name) {
+		List<String> names = new ArrayList<String>();
+		for (DealerStrategyFactory factory : getDealerStrategyFactories()) {
+			if (factory.getName().equalsIgnoreCase(name)) {
+				return factory;
+			}
+			names.add(factory.getName());
+		}
+		throw new IllegalArgumentException("No dealer strategy named " + name
+		    + ", expected one of " + names);
+	}
+}
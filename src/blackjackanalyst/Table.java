@@ -22,11 +22,12 @@ package blackjackanalyst;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import blackjackanalyst.DealerStrategy.DealerStrategyAction;
 import blackjackanalyst.PlayerStrategy.PlayerStrategyAction;
+import blackjackanalyst.TableObserver.TableEvent;
 
 /**
  * A blackjack table.
@@ -34,7 +35,10 @@ import blackjackanalyst.PlayerStrategy.PlayerStrategyAction;
  * @author Michael Parker
  */
 public class Table {
-	protected static int tableNum = 0;
+	// the number of the next table created, which may be on any thread
+	protected static final AtomicInteger tableNum = new AtomicInteger();
+	// master seed of tables that are not given a seed
+	private static final long DEFAULT_SEED = System.currentTimeMillis();
 
 	protected final String name;
 	protected final int maxPlayers;
@@ -42,13 +46,26 @@ public class Table {
 	protected final int maxBet;
 
 	protected final DealerStrategy dealerStrategy;
-	protected Hand dealerHand;
+	protected final Hand dealerHand;
 	protected final Shoe shoe;
+	// the master seed, stream and generator that shuffle the shoe
+	protected long seed;
+	protected long stream;
+	protected RandomSourceType randomSourceType;
+	protected final ShoeComposition composition;
 
-	protected final List<Player> players;
+	protected final ArrayList<Player> players;
 	protected final List<Player> playersReadOnly;
+	// hands returned by players at the end of a round, reused by later rounds
+	protected final ArrayList<PlayerHand> handPool;
 
 	protected final ObserverList<TableObserver> tableObservers;
+	protected final ObserverList<RoundObserver> roundObservers;
+	// summary of the current round, filled only if there are round observers
+	protected final RoundSummary roundSummary;
+	protected boolean summarizing;
+	// whether playRounds should return before playing its next round
+	protected volatile boolean stopped;
 
 	/**
 	 * Creates a new unnamed table with the given maximum number of players,
@@ -63,20 +80,26 @@ public class Table {
 	    int maxBet) {
 		verifyConstructorParams(maxPlayers, dealerStrategy, minBet, maxBet);
 
-		this.name = "Table " + tableNum;
-		++tableNum;
+		stream = tableNum.getAndIncrement();
+		this.name = "Table " + stream;
 		this.maxPlayers = maxPlayers;
 		this.minBet = minBet;
 		this.maxBet = maxBet;
 
 		this.dealerStrategy = dealerStrategy;
-		dealerHand = null;
-		shoe = new Shoe(8);
+		dealerHand = new Hand();
+		seed = DEFAULT_SEED;
+		randomSourceType = RandomSourceType.MERSENNE_TWISTER;
+		shoe = new Shoe(8, randomSourceType.create(seed, stream));
+		composition = new ShoeComposition(shoe.getNumDecks());
 
-		players = new LinkedList<Player>();
+		players = new ArrayList<Player>();
 		playersReadOnly = Collections.unmodifiableList(players);
+		handPool = new ArrayList<PlayerHand>();
 
-		tableObservers = new ObserverList<TableObserver>();
+		tableObservers = new ObserverList<TableObserver>(TableEvent.values());
+		roundObservers = new ObserverList<RoundObserver>();
+		roundSummary = new RoundSummary();
 	}
 
 	/**
@@ -97,19 +120,25 @@ public class Table {
 		verifyConstructorParams(maxPlayers, dealerStrategy, minBet, maxBet);
 
 		this.name = name;
-		++tableNum;
+		stream = tableNum.getAndIncrement();
 		this.maxPlayers = maxPlayers;
 		this.minBet = minBet;
 		this.maxBet = maxBet;
 
 		this.dealerStrategy = dealerStrategy;
-		dealerHand = null;
-		shoe = new Shoe(8);
+		dealerHand = new Hand();
+		seed = DEFAULT_SEED;
+		randomSourceType = RandomSourceType.MERSENNE_TWISTER;
+		shoe = new Shoe(8, randomSourceType.create(seed, stream));
+		composition = new ShoeComposition(shoe.getNumDecks());
 
-		players = new LinkedList<Player>();
+		players = new ArrayList<Player>();
 		playersReadOnly = Collections.unmodifiableList(players);
+		handPool = new ArrayList<PlayerHand>();
 
-		tableObservers = new ObserverList<TableObserver>();
+		tableObservers = new ObserverList<TableObserver>(TableEvent.values());
+		roundObservers = new ObserverList<RoundObserver>();
+		roundSummary = new RoundSummary();
 	}
 
 	protected void verifyConstructorParams(int maxPlayers,
@@ -160,6 +189,75 @@ public class Table {
 		return dealerStrategy;
 	}
 
+	/**
+	 * Sets whether the shoe at the table is shuffled ahead of time on a
+	 * background thread, so that playing rounds does not stall to shuffle the
+	 * shoe. A table that is pre-shuffling should have this method called with
+	 * {@code false} once it is no longer used.
+	 * 
+	 * @param preShuffling whether to shuffle the shoe on a background thread
+	 */
+	public void setPreShuffling(boolean preShuffling) {
+		shoe.setPreShuffling(preShuffling);
+	}
+
+	/**
+	 * Sets the bank of shoe orders that the shoe at the table deals, starting
+	 * with the shoe at the given index, so that tables dealing from the same bank
+	 * see exactly the same cards. The bank must contain shoes of {@code 8}
+	 * decks. If the bank is {@code null}, the shoe is shuffled by its random
+	 * number generator again.
+	 * 
+	 * @param bank the bank of shoe orders, or {@code null}
+	 * @param firstShoe the index of the first shoe order of the bank to deal
+	 */
+	public void setShoeBank(ShoeBank bank, int firstShoe) {
+		shoe.setShoeBank(bank, firstShoe);
+	}
+
+	/**
+	 * Sets whether the table deals from an infinite deck, where each card is
+	 * drawn independently with the rank probabilities of a single deck. The shoe
+	 * then never needs shuffling, and the composition returned by
+	 * {@link #getComposition()} reports that counting is meaningless. A table
+	 * dealing from an infinite deck cannot play a shoe with {@link #playShoe()}.
+	 * 
+	 * @param infiniteDeck whether to deal from an infinite deck
+	 */
+	public void setInfiniteDeck(boolean infiniteDeck) {
+		shoe.setInfinite(infiniteDeck);
+		composition.setInfinite(infiniteDeck);
+	}
+
+	/**
+	 * Returns whether the table deals from an infinite deck.
+	 * 
+	 * @return {@code true} if the table deals from an infinite deck,
+	 *         {@code false} otherwise
+	 */
+	public boolean isInfiniteDeck() {
+		return shoe.isInfinite();
+	}
+
+	/**
+	 * Returns the number of decks in the shoe at the table.
+	 * 
+	 * @return the number of decks
+	 */
+	public int getNumDecks() {
+		return shoe.getNumDecks();
+	}
+
+	/**
+	 * Returns the composition of the cards in the shoe at the table that have
+	 * not been seen by the players since the shoe was last shuffled.
+	 * 
+	 * @return the composition of the shoe
+	 */
+	public ShoeComposition getComposition() {
+		return composition;
+	}
+
 	/**
 	 * Returns the minimum bet at the table.
 	 * 
@@ -261,6 +359,49 @@ public class Table {
 		return false;
 	}
 
+	/**
+	 * Seeds the shoe of this table with the given stream of the given master
+	 * seed. The shoe is shuffled before the next round is played. Each stream of
+	 * a master seed is independent, so tables given different streams of the
+	 * same master seed can play concurrently, and a table given the same seed and
+	 * stream deals the same cards to players with the same strategies.
+	 * 
+	 * @param seed the master seed
+	 * @param stream the stream number of this table
+	 */
+	public void setSeed(long seed, long stream) {
+		this.seed = seed;
+		this.stream = stream;
+		shoe.setRandom(randomSourceType.create(seed, stream));
+	}
+
+	/**
+	 * Sets the type of random number generator that shuffles the shoe of this
+	 * table, and seeds a new generator of that type with the current master seed
+	 * and stream of this table. The shoe is shuffled before the next round is
+	 * played.
+	 * 
+	 * @param randomSourceType the type of random number generator
+	 */
+	public void setRandomSourceType(RandomSourceType randomSourceType) {
+		if (randomSourceType == null) {
+			throw new IllegalArgumentException(
+			    "Random source type must be provided");
+		}
+		this.randomSourceType = randomSourceType;
+		shoe.setRandom(randomSourceType.create(seed, stream));
+	}
+
+	/**
+	 * Returns the type of random number generator that shuffles the shoe of this
+	 * table.
+	 * 
+	 * @return the type of random number generator
+	 */
+	public RandomSourceType getRandomSourceType() {
+		return randomSourceType;
+	}
+
 	/**
 	 * Plays a single round of blackjack.
 	 */
@@ -269,33 +410,85 @@ public class Table {
 	}
 
 	/**
-	 * Plays the given number of rounds of blackjack.
+	 * Plays the given number of rounds of blackjack, or fewer if {@link #stop()}
+	 * is called, and returns the number of rounds played.
 	 * 
 	 * @param numRounds the number of blackjack rounds to play
+	 * @return the number of blackjack rounds played
 	 */
-	public void playRounds(int numRounds) {
+	public long playRounds(long numRounds) {
 		if (players.isEmpty()) {
-			return;
+			return 0;
 		}
 
-		for (int i = 0; i < numRounds; ++i) {
-			newRound();
-
-			if (shoe.needsShuffle()) {
-				shoe.shuffle();
-				notifyShuffle();
-				shoeShuffled();
+		long i = 0;
+		try {
+			while ((i < numRounds) && !stopped) {
+				playNextRound();
+				++i;
 			}
+		} finally {
+			stopped = false;
+		}
+		return i;
+	}
 
-			getBets();
-			dealPlayers();
-			if (dealHouse()) {
-				// dealer did not have blackjack
-				drawPlayers();
-				drawHouse();
-			}
-			clearTable();
+	/**
+	 * Stops the rounds being played by {@link #playRounds(long)} once the
+	 * current round is over. This may be called by an observer of the table, or
+	 * by another thread. If no rounds are being played, the next call to
+	 * <code>playRounds</code> returns without playing a round.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Plays rounds of blackjack until the shoe needs shuffling, and returns the
+	 * number of rounds played. If the shoe needs shuffling before the first
+	 * round, it is shuffled and every card of the shoe is played; otherwise, only
+	 * the cards remaining in the current shoe are played. After this method
+	 * returns, the next round played begins by shuffling the shoe.
+	 * 
+	 * @return the number of blackjack rounds played
+	 */
+	public int playShoe() {
+		if (shoe.isInfinite()) {
+			throw new IllegalStateException("Table deals from an infinite deck");
+		}
+		if (players.isEmpty()) {
+			return 0;
 		}
+
+		int numRounds = 0;
+		do {
+			playNextRound();
+			++numRounds;
+		} while (!shoe.needsShuffle());
+		return numRounds;
+	}
+
+	protected void playNextRound() {
+		newRound();
+		summarizing = !roundObservers.isEmpty();
+		if (summarizing) {
+			roundSummary.reset(playersReadOnly);
+		}
+
+		if (shoe.needsShuffle()) {
+			shoe.shuffle();
+			notifyShuffle();
+			shoeShuffled();
+		}
+
+		getBets();
+		dealPlayers();
+		if (dealHouse()) {
+			// dealer did not have blackjack
+			drawPlayers();
+			drawHouse();
+		}
+		clearTable();
 	}
 
 	/**
@@ -308,11 +501,23 @@ public class Table {
 		return tableObservers;
 	}
 
+	/**
+	 * Returns the list of round observers, to which observers that receive a
+	 * summary of each round played at this table can be added, removed, and so
+	 * forth.
+	 * 
+	 * @return the list of round observers for this table
+	 */
+	public ObserverList<RoundObserver> getRoundObservers() {
+		return roundObservers;
+	}
+
 	/*
 	 * Get the bets of each player.
 	 */
 	protected void getBets() {
-		for (Player player : players) {
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
 			if (player.bankroll <= 0) {
 				// player has no money left, go onto next player
 				playerBets(player, 0, player.bankroll);
@@ -323,8 +528,11 @@ public class Table {
 			int betAmount = player.getStrategy().getBet(player.bankroll);
 			if (betAmount > 0) {
 				// add player bet
-				PlayerHand firstBet = new PlayerHand(betAmount, false, player);
-				player.bets.add(firstBet);
+				PlayerHand firstBet = newPlayerHand(betAmount, false, player);
+				addBet(player, firstBet);
+				if (summarizing) {
+					roundSummary.setInitialBet(i, betAmount);
+				}
 			}
 
 			// notify observers of player bet
@@ -337,33 +545,35 @@ public class Table {
 	 * Deal two cards to each player.
 	 */
 	protected void dealPlayers() {
-		for (Player player : players) {
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
 			// deal first card to player
 			if (player.bets.isEmpty()) {
 				continue;
 			}
 			// if player has placed bet, deal first card
-			Card dealtCard = shoe.getNextCard();
+			int dealtCardId = shoe.getNextCardId();
 			// add card to hand
 			PlayerHand firstHand = player.bets.get(0);
-			firstHand.add(dealtCard);
+			firstHand.add(dealtCardId);
 
 			// notify strategies of dealt card
-			notifyDealt(dealtCard);
+			notifyDealt(dealtCardId);
 		}
-		for (Player player : players) {
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
 			// deal second card to player
 			if (player.bets.isEmpty()) {
 				continue;
 			}
 			// if player has placed bet, deal second card
-			Card dealtCard = shoe.getNextCard();
+			int dealtCardId = shoe.getNextCardId();
 			// add card to hand
 			PlayerHand firstHand = player.bets.get(0);
-			firstHand.add(dealtCard);
+			firstHand.add(dealtCardId);
 
 			// notify strategies of dealt card
-			notifyDealt(dealtCard);
+			notifyDealt(dealtCardId);
 			// notify observers of dealt hand
 			player.playerDealt(firstHand);
 			playerDealt(player, firstHand);
@@ -375,18 +585,20 @@ public class Table {
 	 */
 	protected boolean dealHouse() {
 		// deal up card and down card for dealer
-		Card upCard = shoe.getNextCard();
-		Card downCard = shoe.getNextCard();
-		dealerHand = new Hand(upCard, downCard);
+		int upCardId = shoe.getNextCardId();
+		int downCardId = shoe.getNextCardId();
+		dealerHand.add(upCardId);
+		dealerHand.add(downCardId);
 
 		// notify strategies of dealer up card
-		notifyDealt(upCard);
+		notifyDealt(upCardId);
 		// notify observers of dealer up card
-		dealerDealt(upCard);
+		dealerDealt(upCardId);
 
-		if (upCard.isAce()) {
+		if (Card.isAce(upCardId)) {
 			// dealer showing ace, offer players insurance
-			for (Player player : players) {
+			for (int i = 0; i < players.size(); ++i) {
+				Player player = players.get(i);
 				if (player.bets.isEmpty()) {
 					// player did not place bet
 					continue;
@@ -410,14 +622,15 @@ public class Table {
 			}
 		}
 
-		if ((upCard.isAce() || (upCard.getValue() == 10))
+		if ((Card.isAce(upCardId) || (Card.getValue(upCardId) == 10))
 		    && (dealerHand.getHighValidValue() == 21)) {
 			// dealer has blackjack, notify strategies of down card
-			notifyDealt(downCard);
+			notifyDealt(downCardId);
 			// notify observers of blackjack on dealer
 			dealerBlackjack(dealerHand);
 
-			for (Player player : players) {
+			for (int i = 0; i < players.size(); ++i) {
+				Player player = players.get(i);
 				if (player.bets.isEmpty()) {
 					// player did not place bet
 					continue;
@@ -427,6 +640,7 @@ public class Table {
 					// player wins on insurance
 					int amountWon = 2 * player.insuranceBet;
 					player.bankroll += amountWon;
+					summarizeInsurance(i, player.insuranceBet, amountWon);
 					player.insuranceBet = 0;
 					// notify observers of win on insurance
 					player.playerWinsInsurance(amountWon, player.bankroll);
@@ -438,11 +652,13 @@ public class Table {
 				if (firstBet.getHighValidValue() < 21) {
 					// player hand is not blackjack, deduct from bankroll
 					player.bankroll -= firstBet.betAmount;
+					summarizeHand(i, firstBet, RoundSummary.LOSS, -firstBet.betAmount);
 
 					// notify observers of loss to dealer
 					player.playerLoses(firstBet, firstBet.betAmount, player.bankroll);
 					playerLoses(player, firstBet, firstBet.betAmount, player.bankroll);
 				} else {
+					summarizeHand(i, firstBet, RoundSummary.PUSH, 0);
 					// notify observers of push with dealer
 					player.playerPush(firstBet, player.bankroll);
 					playerPush(player, firstBet, player.bankroll);
@@ -451,7 +667,8 @@ public class Table {
 			// do not continue drawing players and drawing house
 			return false;
 		} else {
-			for (Player player : players) {
+			for (int i = 0; i < players.size(); ++i) {
+				Player player = players.get(i);
 				if (player.bets.isEmpty()) {
 					// player did not place bet
 					continue;
@@ -461,6 +678,7 @@ public class Table {
 					// player loses on insurance
 					int amountLost = player.insuranceBet;
 					player.bankroll -= amountLost;
+					summarizeInsurance(i, amountLost, -amountLost);
 					player.insuranceBet = 0;
 					// notify observers of loss on insurance
 					player.playerLosesInsurance(amountLost, player.bankroll);
@@ -474,6 +692,7 @@ public class Table {
 					// player hand is blackjack, add to bankroll
 					int amountWon = (int) (1.5 * firstBet.betAmount);
 					player.bankroll += amountWon;
+					summarizeHand(i, firstBet, RoundSummary.BLACKJACK, amountWon);
 
 					// notify observers of player blackjack
 					player.playerBlackjack(firstBet, amountWon, player.bankroll);
@@ -487,9 +706,10 @@ public class Table {
 
 	protected void drawPlayers() {
 		// dealer up card is first card in hand
-		Card dealerCard = dealerHand.cards.get(0);
+		Card dealerCard = Card.getCard(dealerHand.cards[0]);
 
-		for (Player player : players) {
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
 			ArrayList<PlayerHand> playerBets = player.bets;
 
 			for (int betNum = 0; betNum < playerBets.size(); ++betNum) {
@@ -513,20 +733,22 @@ public class Table {
 						break;
 					} else if (action == PlayerStrategyAction.HIT) {
 						// add next card to hand
-						Card dealtCard = shoe.getNextCard();
-						currHand.add(dealtCard);
+						int dealtCardId = shoe.getNextCardId();
+						currHand.add(dealtCardId);
 
 						// notify players of dealt card
-						notifyDealt(dealtCard);
+						notifyDealt(dealtCardId);
 						// notify observers of dealt card
-						player.playerDraws(dealtCard, currHand);
-						playerDraws(player, dealtCard, currHand);
+						player.playerDraws(dealtCardId, currHand);
+						playerDraws(player, dealtCardId, currHand);
 
 						if (currHand.isBusted()) {
 							// player busted, set hand as finished
 							currHand.finished = true;
 							// deduct from bankroll
 							player.bankroll -= currHand.betAmount;
+							summarizeHand(i, currHand, RoundSummary.BUST,
+							    -currHand.betAmount);
 
 							// notify observers that player busted
 							player.playerBusts(currHand, currHand.betAmount, player.bankroll);
@@ -538,12 +760,13 @@ public class Table {
 								// player hand is blackjack, add to bankroll
 								int amountWon = (int) (1.5 * currHand.betAmount);
 								player.bankroll += amountWon;
+								summarizeHand(i, currHand, RoundSummary.BLACKJACK, amountWon);
 
 								// notify observers of player blackjack
 								player.playerBlackjack(currHand, amountWon, player.bankroll);
 								playerBlackjack(player, currHand, amountWon, player.bankroll);
 								break;
-							} else if (currHand.cards.get(0).isAce()) {
+							} else if (Card.isAce(currHand.cards[0])) {
 								if (currHand.isPair()) {
 									// allow resplitting of aces
 									action = player.strategy.getAction(currHand, dealerCard);
@@ -553,8 +776,10 @@ public class Table {
 										playerSplits(player, currHand);
 
 										// make new bet with split card
-										PlayerHand newHand = currHand.makeSplit();
-										playerBets.add(newHand);
+										PlayerHand newHand = newPlayerHand(currHand.betAmount,
+										    true, player);
+										currHand.makeSplit(newHand);
+										addBet(player, newHand);
 										continue;
 									}
 								}
@@ -568,7 +793,7 @@ public class Table {
 							}
 						}
 					} else if (action == PlayerStrategyAction.DOUBLE_DOWN) {
-						if (currHand.cards.size() != 2) {
+						if (currHand.numCards != 2) {
 							// cannot double down if more than two cards, set hand as finished
 							currHand.finished = true;
 							// notify observers that player stands
@@ -580,20 +805,22 @@ public class Table {
 						// double bet
 						currHand.betAmount *= 2;
 						// add next card to hand
-						Card dealtCard = shoe.getNextCard();
-						currHand.add(dealtCard);
+						int dealtCardId = shoe.getNextCardId();
+						currHand.add(dealtCardId);
 						// set hand as finished
 						currHand.finished = true;
 
 						// notify players of dealt card
-						notifyDealt(dealtCard);
+						notifyDealt(dealtCardId);
 						// notify observers of dealt card
-						player.playerDoublesDown(dealtCard, currHand);
-						playerDoublesDown(player, dealtCard, currHand);
+						player.playerDoublesDown(dealtCardId, currHand);
+						playerDoublesDown(player, dealtCardId, currHand);
 
 						if (currHand.isBusted()) {
 							// deduct from bankroll
 							player.bankroll -= currHand.betAmount;
+							summarizeHand(i, currHand, RoundSummary.BUST,
+							    -currHand.betAmount);
 
 							// notify observers that player busted
 							player.playerBusts(currHand, currHand.betAmount, player.bankroll);
@@ -615,8 +842,10 @@ public class Table {
 						playerSplits(player, currHand);
 
 						// make new bet with split card
-						PlayerHand newHand = currHand.makeSplit();
-						playerBets.add(newHand);
+						PlayerHand newHand = newPlayerHand(currHand.betAmount, true,
+						    player);
+						currHand.makeSplit(newHand);
+						addBet(player, newHand);
 					}
 				}
 			}
@@ -628,20 +857,20 @@ public class Table {
 	 */
 	protected void drawHouse() {
 		// notify players of down card
-		notifyDealt(dealerHand.cards.get(1));
+		notifyDealt(dealerHand.cards[1]);
 		// notify observers of down card
-		dealerDealt(dealerHand.cards.get(1), dealerHand);
+		dealerDealt(dealerHand.cards[1], dealerHand);
 
 		// draw cards for dealer
 		while (!dealerHand.isBusted()
 		    && (dealerStrategy.getAction(dealerHand) == DealerStrategyAction.HIT)) {
-			Card dealtCard = shoe.getNextCard();
-			dealerHand.add(dealtCard);
+			int dealtCardId = shoe.getNextCardId();
+			dealerHand.add(dealtCardId);
 
 			// notify players of dealt card
-			notifyDealt(dealtCard);
+			notifyDealt(dealtCardId);
 			// notify observers of dealt card
-			dealerDraws(dealtCard, dealerHand);
+			dealerDraws(dealtCardId, dealerHand);
 		}
 
 		// dealer hand is finished
@@ -658,8 +887,11 @@ public class Table {
 		}
 
 		// evaluate hands of each player, adjusting bankrolls
-		for (Player player : players) {
-			for (PlayerHand hand : player.bets) {
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
+			ArrayList<PlayerHand> playerBets = player.bets;
+			for (int betNum = 0; betNum < playerBets.size(); ++betNum) {
+				PlayerHand hand = playerBets.get(betNum);
 				if (!hand.isBlackjack() && !hand.isBusted()) {
 					// player hand did not adjust bankroll earlier, get its best value
 					int highValue = hand.getHighValidValue();
@@ -667,6 +899,7 @@ public class Table {
 						// dealer hand busted or player hand beat dealer hand, add to
 						// bankroll
 						player.bankroll += hand.betAmount;
+						summarizeHand(i, hand, RoundSummary.WIN, hand.betAmount);
 
 						// notify observers of player win
 						player.playerWins(hand, hand.betAmount, player.bankroll);
@@ -674,11 +907,13 @@ public class Table {
 					} else if (dealerHighValue > highValue) {
 						// dealer hand beat player hand, deduct from bankroll
 						player.bankroll -= hand.betAmount;
+						summarizeHand(i, hand, RoundSummary.LOSS, -hand.betAmount);
 
 						// notify observers of player loss
 						player.playerLoses(hand, hand.betAmount, player.bankroll);
 						playerLoses(player, hand, hand.betAmount, player.bankroll);
 					} else {
+						summarizeHand(i, hand, RoundSummary.PUSH, 0);
 						// dealer hand equals player hand, notify observers of push
 						player.playerPush(hand, player.bankroll);
 						playerPush(player, hand, player.bankroll);
@@ -693,21 +928,96 @@ public class Table {
 	 */
 
 	protected void clearTable() {
-		dealerHand = null;
-		for (Player player : players) {
-			player.bets.clear();
+		if (summarizing) {
+			// complete the summary with the cards dealt and deliver it
+			roundSummary.setDealerHand(dealerHand);
+			for (int i = 0; i < players.size(); ++i) {
+				ArrayList<PlayerHand> playerBets = players.get(i).bets;
+				for (int betNum = 0; betNum < playerBets.size(); ++betNum) {
+					roundSummary.addCards(playerBets.get(betNum));
+				}
+			}
+			roundPlayed();
+		}
+
+		dealerHand.clear();
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
+			// return hands to the pool, retaining the capacity of the bet list
+			ArrayList<PlayerHand> playerBets = player.bets;
+			for (int betNum = 0; betNum < playerBets.size(); ++betNum) {
+				handPool.add(playerBets.get(betNum));
+			}
+			playerBets.clear();
+		}
+	}
+
+	/*
+	 * Records the outcome of a hand in the summary of the round.
+	 */
+	protected void summarizeHand(int playerIndex, PlayerHand hand, int outcome,
+	    int payout) {
+		if (summarizing) {
+			roundSummary.addHand(playerIndex, hand.betAmount, outcome, payout);
 		}
 	}
 
+	/*
+	 * Records the outcome of an insurance bet in the summary of the round.
+	 */
+	protected void summarizeInsurance(int playerIndex, int bet, int payout) {
+		if (summarizing) {
+			roundSummary.setInsurance(playerIndex, bet, payout);
+		}
+	}
+
+	/*
+	 * Returns an empty hand for a new bet, reusing a hand from an earlier round
+	 * if one is available. Hands are only valid until the end of the round.
+	 */
+	protected PlayerHand newPlayerHand(int betAmount, boolean beenSplit,
+	    Player player) {
+		int poolSize = handPool.size();
+		if (poolSize == 0) {
+			return new PlayerHand(betAmount, beenSplit, player);
+		}
+		PlayerHand hand = handPool.remove(poolSize - 1);
+		hand.reset(betAmount, beenSplit, player);
+		return hand;
+	}
+
+	protected void addBet(Player player, PlayerHand hand) {
+		hand.betNumber = player.bets.size();
+		player.bets.add(hand);
+	}
+
 	protected void notifyShuffle() {
-		for (Player player : players) {
+		composition.reset();
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
 			player.getStrategy().shoeShuffled();
 		}
 	}
 
-	protected void notifyDealt(Card dealtCard) {
-		for (Player player : players) {
-			player.getStrategy().cardDealt(dealtCard);
+	protected void notifyDealt(int dealtCardId) {
+		composition.cardDealt(dealtCardId);
+		for (int i = 0; i < players.size(); ++i) {
+			Player player = players.get(i);
+			if (player.notifyDealt) {
+				player.strategy.cardDealt(Card.getCard(dealtCardId));
+			}
+		}
+	}
+
+	/*
+	 * Dispatch of round observer methods.
+	 */
+
+	protected void roundPlayed() {
+		Object[] observers = roundObservers.snapshot();
+		for (int i = 0; i < observers.length; ++i) {
+			RoundObserver roundObserver = (RoundObserver) observers[i];
+			roundObserver.roundPlayed(roundSummary);
 		}
 	}
 
@@ -716,151 +1026,210 @@ public class Table {
 	 */
 
 	protected void newRound() {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.NEW_ROUND);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.newRound(playersReadOnly);
 		}
 	}
 
 	protected void shoeShuffled() {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.SHOE_SHUFFLED);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.shoeShuffled();
 		}
 	}
 
-	protected void dealerDealt(Card upCard) {
-		for (TableObserver tableObserver : tableObservers) {
+	protected void dealerDealt(int upCardId) {
+		Object[] observers = tableObservers
+		    .snapshot(TableEvent.DEALER_DEALT_UP_CARD);
+		Card upCard = Card.getCard(upCardId);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.dealerDealt(upCard);
 		}
 	}
 
-	protected void dealerDealt(Card downCard, Hand upCard) {
-		for (TableObserver tableObserver : tableObservers) {
-			tableObserver.dealerDealt(downCard, upCard);
+	protected void dealerDealt(int downCardId, Hand hand) {
+		Object[] observers = tableObservers
+		    .snapshot(TableEvent.DEALER_DEALT_DOWN_CARD);
+		Card downCard = Card.getCard(downCardId);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
+			tableObserver.dealerDealt(downCard, hand);
 		}
 	}
 
 	protected void dealerBlackjack(Hand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.DEALER_BLACKJACK);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.dealerBlackjack(hand);
 		}
 	}
 
-	protected void dealerDraws(Card card, Hand newHand) {
-		for (TableObserver tableObserver : tableObservers) {
+	protected void dealerDraws(int cardId, Hand newHand) {
+		Object[] observers = tableObservers.snapshot(TableEvent.DEALER_DRAWS);
+		Card card = Card.getCard(cardId);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.dealerDraws(card, newHand);
 		}
 	}
 
 	protected void dealerStands(Hand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.DEALER_STANDS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.dealerStands(hand);
 		}
 	}
 
 	protected void dealerBusts(Hand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.DEALER_BUSTS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.dealerBusts(hand);
 		}
 	}
 
 	protected void playerJoins(Player player) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_JOINS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerJoins(player);
 		}
 	}
 
 	protected void playerLeaves(Player player) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_LEAVES);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerLeaves(player);
 		}
 	}
 
-	protected void playerBets(Player player, int amount, int bankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	protected void playerBets(Player player, int amount, long bankroll) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_BETS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerBets(player, amount, bankroll);
 		}
 	}
 
-	protected void playerInsures(Player player, int amount, int bankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	protected void playerInsures(Player player, int amount, long bankroll) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_INSURES);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerInsures(player, amount, bankroll);
 		}
 	}
 
 	protected void playerDealt(Player player, PlayerHand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_DEALT);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerDealt(player, hand);
 		}
 	}
 
-	protected void playerDraws(Player player, Card dealtCard, PlayerHand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+	protected void playerDraws(Player player, int dealtCardId, PlayerHand hand) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_DRAWS);
+		Card dealtCard = Card.getCard(dealtCardId);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerDraws(player, dealtCard, hand);
 		}
 	}
 
 	protected void playerStands(Player player, PlayerHand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_STANDS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerStands(player, hand);
 		}
 	}
 
 	protected void playerBusts(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	    long newBankroll) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_BUSTS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerBusts(player, hand, amountLost, newBankroll);
 		}
 	}
 
 	protected void playerSplits(Player player, PlayerHand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_SPLITS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerSplits(player, hand);
 		}
 	}
 
-	protected void playerDoublesDown(Player player, Card card, PlayerHand hand) {
-		for (TableObserver tableObserver : tableObservers) {
+	protected void playerDoublesDown(Player player, int cardId,
+	    PlayerHand hand) {
+		Object[] observers = tableObservers
+		    .snapshot(TableEvent.PLAYER_DOUBLES_DOWN);
+		Card card = Card.getCard(cardId);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerDoublesDown(player, card, hand);
 		}
 	}
 
 	protected void playerWins(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	    long newBankroll) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_WINS);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerWins(player, hand, amountWon, newBankroll);
 		}
 	}
 
 	protected void playerLoses(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	    long newBankroll) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_LOSES);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerLoses(player, hand, amountLost, newBankroll);
 		}
 	}
 
 	protected void playerBlackjack(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	    long newBankroll) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_BLACKJACK);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerBlackjack(player, hand, amountWon, newBankroll);
 		}
 	}
 
-	protected void playerPush(Player player, PlayerHand hand, int heldBankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	protected void playerPush(Player player, PlayerHand hand, long heldBankroll) {
+		Object[] observers = tableObservers.snapshot(TableEvent.PLAYER_PUSH);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerPush(player, hand, heldBankroll);
 		}
 	}
 
 	protected void playerWinsInsurance(Player player, int amountWon,
-	    int newBankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	    long newBankroll) {
+		Object[] observers = tableObservers
+		    .snapshot(TableEvent.PLAYER_WINS_INSURANCE);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerWinsInsurance(player, amountWon, newBankroll);
 		}
 	}
 
 	protected void playerLosesInsurance(Player player, int amountLost,
-	    int newBankroll) {
-		for (TableObserver tableObserver : tableObservers) {
+	    long newBankroll) {
+		Object[] observers = tableObservers
+		    .snapshot(TableEvent.PLAYER_LOSES_INSURANCE);
+		for (int i = 0; i < observers.length; ++i) {
+			TableObserver tableObserver = (TableObserver) observers[i];
 			tableObserver.playerLosesInsurance(player, amountLost, newBankroll);
 		}
 	}
@@ -24,10 +24,81 @@ import java.util.List;
 
 /**
  * An interface that allows neutral observation of the table.
+ * <p>
+ * As for a {@link PlayerObserver}, each {@link PlayerHand} given to this
+ * observer belongs to the current round, and is reused by the table once the
+ * round ends, so it must not be retained.
  * 
  * @author Michael Parker
  */
 public interface TableObserver {
+	/**
+	 * The events that a table observer can receive. Each event corresponds to a
+	 * method of {@link TableObserver}.
+	 * 
+	 * @author Michael Parker
+	 */
+	public static enum TableEvent {
+		NEW_ROUND("newRound", List.class),
+		SHOE_SHUFFLED("shoeShuffled"),
+		DEALER_DEALT_UP_CARD("dealerDealt", Card.class),
+		DEALER_DEALT_DOWN_CARD("dealerDealt", Card.class, Hand.class),
+		DEALER_BLACKJACK("dealerBlackjack", Hand.class),
+		DEALER_DRAWS("dealerDraws", Card.class, Hand.class),
+		DEALER_STANDS("dealerStands", Hand.class),
+		DEALER_BUSTS("dealerBusts", Hand.class),
+		PLAYER_JOINS("playerJoins", Player.class),
+		PLAYER_LEAVES("playerLeaves", Player.class),
+		PLAYER_BETS("playerBets", Player.class, int.class, long.class),
+		PLAYER_INSURES("playerInsures", Player.class, int.class, long.class),
+		PLAYER_DEALT("playerDealt", Player.class, PlayerHand.class),
+		PLAYER_DRAWS("playerDraws", Player.class, Card.class, PlayerHand.class),
+		PLAYER_STANDS("playerStands", Player.class, PlayerHand.class),
+		PLAYER_BUSTS("playerBusts", Player.class, PlayerHand.class, int.class,
+		    long.class),
+		PLAYER_SPLITS("playerSplits", Player.class, PlayerHand.class),
+		PLAYER_DOUBLES_DOWN("playerDoublesDown", Player.class, Card.class,
+		    PlayerHand.class),
+		PLAYER_WINS("playerWins", Player.class, PlayerHand.class, int.class,
+		    long.class),
+		PLAYER_LOSES("playerLoses", Player.class, PlayerHand.class, int.class,
+		    long.class),
+		PLAYER_BLACKJACK("playerBlackjack", Player.class, PlayerHand.class,
+		    int.class, long.class),
+		PLAYER_PUSH("playerPush", Player.class, PlayerHand.class, long.class),
+		PLAYER_WINS_INSURANCE("playerWinsInsurance", Player.class, int.class,
+		    long.class),
+		PLAYER_LOSES_INSURANCE("playerLosesInsurance", Player.class, int.class,
+		    long.class);
+
+		private final String methodName;
+		private final Class<?>[] parameterTypes;
+
+		private TableEvent(String methodName, Class<?>... parameterTypes) {
+			this.methodName = methodName;
+			this.parameterTypes = parameterTypes;
+		}
+
+		/**
+		 * Returns the name of the observer method invoked for this event.
+		 * 
+		 * @return the observer method name
+		 */
+		public String getMethodName() {
+			return methodName;
+		}
+
+		/**
+		 * Returns the parameter types of the observer method invoked for this
+		 * event.
+		 * 
+		 * @return the observer method parameter types
+		 */
+		public Class<?>[] getParameterTypes() {
+			return parameterTypes.clone();
+		}
+	}
+
 	/**
 	 * This method is invoked before each new round of blackjack.
 	 * 
@@ -107,7 +178,7 @@ public interface TableObserver {
 	 * @param betAmount the amount the player bet
 	 * @param bankroll the bankroll of the player, which includes the amount bet
 	 */
-	public void playerBets(Player player, int betAmount, int bankroll);
+	public void playerBets(Player player, int betAmount, long bankroll);
 
 	/**
 	 * This method is invoked when a player makes his insurance bet.
@@ -116,7 +187,7 @@ public interface TableObserver {
 	 * @param betAmount the amount the player insures
 	 * @param bankroll the bankroll of the player, which includes the amount bet
 	 */
-	public void playerInsures(Player player, int betAmount, int bankroll);
+	public void playerInsures(Player player, int betAmount, long bankroll);
 
 	/**
 	 * This method is invoked when a player is dealt a new hand.
@@ -153,7 +224,7 @@ public interface TableObserver {
 	 *          loss
 	 */
 	public void playerBusts(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll);
+	    long newBankroll);
 
 	/**
 	 * This method is invoked when a player splits the hand.
@@ -182,7 +253,7 @@ public interface TableObserver {
 	 * @param newBankroll the new bankroll of the player, after adding the winning
 	 */
 	public void playerWins(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll);
+	    long newBankroll);
 
 	/**
 	 * This method is invoked when a player loses.
@@ -194,7 +265,7 @@ public interface TableObserver {
 	 *          loss
 	 */
 	public void playerLoses(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll);
+	    long newBankroll);
 
 	/**
 	 * This method is invoked when a player gets a blackjack.
@@ -205,7 +276,7 @@ public interface TableObserver {
 	 * @param newBankroll the new bankroll of the player, after adding the winning
 	 */
 	public void playerBlackjack(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll);
+	    long newBankroll);
 
 	/**
 	 * This method is invoked when a player ties the dealer, or pushes.
@@ -214,7 +285,7 @@ public interface TableObserver {
 	 * @param hand the hand the player pushed on
 	 * @param bankroll the unchanged bankroll of the player
 	 */
-	public void playerPush(Player player, PlayerHand hand, int bankroll);
+	public void playerPush(Player player, PlayerHand hand, long bankroll);
 
 	/**
 	 * This method is invoked when a player wins his insurance bet.
@@ -223,7 +294,8 @@ public interface TableObserver {
 	 * @param amountWon the amount the player won
 	 * @param newBankroll the new bankroll of the player, after adding the winning
 	 */
-	public void playerWinsInsurance(Player player, int amountWon, int newBankroll);
+	public void playerWinsInsurance(Player player, int amountWon,
+	    long newBankroll);
 
 	/**
 	 * This method is invoked when a player loses his insurance bet.
@@ -234,5 +306,5 @@ public interface TableObserver {
 	 *          loss
 	 */
 	public void playerLosesInsurance(Player player, int amountLost,
-	    int newBankroll);
+	    long newBankroll);
 }
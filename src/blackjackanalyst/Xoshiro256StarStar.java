@@ -0,0 +1,66 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst;
+
+/**
+ * The xoshiro256** generator by David Blackman and Sebastiano Vigna, which
+ * keeps 256 bits of state and returns 64 bits per step. Each integer returned
+ * is the upper 32 bits of a step, which are its strongest bits.
+ * 
+ * @author Michael Parker
+ */
+final class Xoshiro256StarStar extends AbstractRandomSource {
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+
+	/*
+	 * Creates a generator whose state is filled by the SplitMix64 generator
+	 * started from the given seed, which never leaves the state all zero.
+	 */
+	Xoshiro256StarStar(long seed) {
+		long x = seed;
+		s0 = RandomSourceType.mix64(x += RandomSourceType.GOLDEN_GAMMA);
+		s1 = RandomSourceType.mix64(x += RandomSourceType.GOLDEN_GAMMA);
+		s2 = RandomSourceType.mix64(x += RandomSourceType.GOLDEN_GAMMA);
+		s3 = RandomSourceType.mix64(x += RandomSourceType.GOLDEN_GAMMA);
+	}
+
+	/*
+	 * Returns the next 64 bits of the generator.
+	 */
+	long nextLong() {
+		long result = Long.rotateLeft(s1 * 5, 7) * 9;
+		long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+		return result;
+	}
+
+	public int nextInt() {
+		return (int) (nextLong() >>> 32);
+	}
+}
@@ -20,9 +20,15 @@
 
 package blackjackanalyst.observer;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 import blackjackanalyst.Card;
 import blackjackanalyst.PlayerHand;
 import blackjackanalyst.PlayerObserver;
+import blackjackanalyst.PlayerObserver.PlayerEvent;
+import blackjackanalyst.SelectiveObserver;
 import blackjackanalyst.Table;
 
 /**
@@ -30,10 +36,42 @@ import blackjackanalyst.Table;
  * {@link PlayerObserver}. Concrete implementations that are only interested in
  * select methods of the interface can extend this class for clarity and
  * convenience.
+ * <p>
+ * The events that an instance receives are those whose methods its concrete
+ * class overrides, so no time is spent dispatching events to the empty bodies
+ * of this class. A subclass can override {@link #getEvents()} to declare its
+ * events explicitly.
  * 
  * @author Michael Parker
  */
-public abstract class AbstractPlayerObserver implements PlayerObserver {
+public abstract class AbstractPlayerObserver implements PlayerObserver,
+    SelectiveObserver<PlayerEvent> {
+	private final Set<PlayerEvent> events;
+
+	protected AbstractPlayerObserver() {
+		Set<PlayerEvent> events = EnumSet.noneOf(PlayerEvent.class);
+		for (PlayerEvent event : PlayerEvent.values()) {
+			try {
+				Class<?> declaringClass = getClass().getMethod(event.getMethodName(),
+				    event.getParameterTypes()).getDeclaringClass();
+				if (declaringClass != AbstractPlayerObserver.class) {
+					events.add(event);
+				}
+			} catch (NoSuchMethodException e) {
+				events.add(event);
+			}
+		}
+		this.events = Collections.unmodifiableSet(events);
+	}
+
+	/**
+	 * Returns the events whose methods are overridden by the concrete class of
+	 * this observer. The returned set cannot be modified.
+	 */
+	public Set<PlayerEvent> getEvents() {
+		return events;
+	}
+
 	public void playerJoins(Table table) {
 		// A concrete subclass can override this method.
 	}
@@ -42,11 +80,11 @@ public abstract class AbstractPlayerObserver implements PlayerObserver {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerBets(int betAmount, int bankroll) {
+	public void playerBets(int betAmount, long bankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerInsures(int betAmount, int bankroll) {
+	public void playerInsures(int betAmount, long bankroll) {
 		// A concrete subclass can override this method.
 	}
 
@@ -62,7 +100,7 @@ public abstract class AbstractPlayerObserver implements PlayerObserver {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerBusts(PlayerHand hand, int amountLost, int newBankroll) {
+	public void playerBusts(PlayerHand hand, int amountLost, long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
@@ -74,27 +112,28 @@ public abstract class AbstractPlayerObserver implements PlayerObserver {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerWins(PlayerHand hand, int amountWon, int newBankroll) {
+	public void playerWins(PlayerHand hand, int amountWon, long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerLoses(PlayerHand hand, int amountLost, int newBankroll) {
+	public void playerLoses(PlayerHand hand, int amountLost, long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerBlackjack(PlayerHand hand, int amountWon, int newBankroll) {
+	public void playerBlackjack(PlayerHand hand, int amountWon,
+	    long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerPush(PlayerHand hand, int heldBankroll) {
+	public void playerPush(PlayerHand hand, long heldBankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerWinsInsurance(int amountWon, int newBankroll) {
+	public void playerWinsInsurance(int amountWon, long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerLosesInsurance(int amountLost, int newBankroll) {
+	public void playerLosesInsurance(int amountLost, long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 }
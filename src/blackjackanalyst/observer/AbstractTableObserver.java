@@ -20,23 +20,60 @@
 
 package blackjackanalyst.observer;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import blackjackanalyst.Card;
 import blackjackanalyst.Hand;
 import blackjackanalyst.Player;
 import blackjackanalyst.PlayerHand;
+import blackjackanalyst.SelectiveObserver;
 import blackjackanalyst.TableObserver;
+import blackjackanalyst.TableObserver.TableEvent;
 
 /**
  * An abstract class that defines an empty body for each method of interface
  * {@link TableObserver}. Concrete implementations that are only interested in
  * select methods of the interface can extend this class for clarity and
  * convenience.
+ * <p>
+ * The events that an instance receives are those whose methods its concrete
+ * class overrides, so no time is spent dispatching events to the empty bodies
+ * of this class. A subclass can override {@link #getEvents()} to declare its
+ * events explicitly.
  * 
  * @author Michael Parker
  */
-public abstract class AbstractTableObserver implements TableObserver {
+public abstract class AbstractTableObserver implements TableObserver,
+    SelectiveObserver<TableEvent> {
+	private final Set<TableEvent> events;
+
+	protected AbstractTableObserver() {
+		Set<TableEvent> events = EnumSet.noneOf(TableEvent.class);
+		for (TableEvent event : TableEvent.values()) {
+			try {
+				Class<?> declaringClass = getClass().getMethod(event.getMethodName(),
+				    event.getParameterTypes()).getDeclaringClass();
+				if (declaringClass != AbstractTableObserver.class) {
+					events.add(event);
+				}
+			} catch (NoSuchMethodException e) {
+				events.add(event);
+			}
+		}
+		this.events = Collections.unmodifiableSet(events);
+	}
+
+	/**
+	 * Returns the events whose methods are overridden by the concrete class of
+	 * this observer. The returned set cannot be modified.
+	 */
+	public Set<TableEvent> getEvents() {
+		return events;
+	}
+
 	public void newRound(List<Player> players) {
 		// A concrete subclass can override this method.
 	}
@@ -77,11 +114,11 @@ public abstract class AbstractTableObserver implements TableObserver {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerBets(Player player, int betAmount, int bankroll) {
+	public void playerBets(Player player, int betAmount, long bankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerInsures(Player player, int betAmount, int bankroll) {
+	public void playerInsures(Player player, int betAmount, long bankroll) {
 		// A concrete subclass can override this method.
 	}
 
@@ -98,7 +135,7 @@ public abstract class AbstractTableObserver implements TableObserver {
 	}
 
 	public void playerBusts(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
@@ -111,30 +148,31 @@ public abstract class AbstractTableObserver implements TableObserver {
 	}
 
 	public void playerWins(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
+	    long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
 	public void playerLoses(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
 	public void playerBlackjack(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
+	    long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerPush(Player player, PlayerHand hand, int bankroll) {
+	public void playerPush(Player player, PlayerHand hand, long bankroll) {
 		// A concrete subclass can override this method.
 	}
 
-	public void playerWinsInsurance(Player player, int amountWon, int newBankroll) {
+	public void playerWinsInsurance(Player player, int amountWon,
+	    long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 
 	public void playerLosesInsurance(Player player, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		// A concrete subclass can override this method.
 	}
 }
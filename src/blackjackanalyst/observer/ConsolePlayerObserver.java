@@ -61,11 +61,11 @@ public class ConsolePlayerObserver implements PlayerObserver {
 		System.out.println(player.getName() + " leaves table " + table.getName());
 	}
 
-	public void playerBets(int betAmount, int bankroll) {
+	public void playerBets(int betAmount, long bankroll) {
 		System.out.println(player.getName() + " bets " + betAmount);
 	}
 
-	public void playerInsures(int betAmount, int bankroll) {
+	public void playerInsures(int betAmount, long bankroll) {
 		if (betAmount > 0) {
 			System.out.println(player.getName() + " insures " + betAmount);
 		} else {
@@ -85,7 +85,7 @@ public class ConsolePlayerObserver implements PlayerObserver {
 		System.out.println(player.getName() + " stands with hand " + hand);
 	}
 
-	public void playerBusts(PlayerHand hand, int amountLost, int newBankroll) {
+	public void playerBusts(PlayerHand hand, int amountLost, long newBankroll) {
 		System.out.println(player.getName() + " busts with hand " + hand
 		    + ", lost " + amountLost);
 	}
@@ -99,32 +99,33 @@ public class ConsolePlayerObserver implements PlayerObserver {
 		    .println(player.getName() + " doubles down, now has hand " + hand);
 	}
 
-	public void playerWins(PlayerHand hand, int amountWon, int newBankroll) {
+	public void playerWins(PlayerHand hand, int amountWon, long newBankroll) {
 		System.out.println(player.getName() + " beat dealer with "
 		    + hand.getHighValidValue() + ", won " + amountWon);
 	}
 
-	public void playerLoses(PlayerHand hand, int amountLost, int newBankroll) {
+	public void playerLoses(PlayerHand hand, int amountLost, long newBankroll) {
 		System.out.println(player.getName() + " lost to dealer with "
 		    + hand.getHighValidValue() + ", lost " + amountLost);
 	}
 
-	public void playerBlackjack(PlayerHand hand, int amountWon, int newBankroll) {
+	public void playerBlackjack(PlayerHand hand, int amountWon,
+	    long newBankroll) {
 		System.out.println(player.getName() + " received blackjack, won "
 		    + amountWon);
 	}
 
-	public void playerPush(PlayerHand hand, int heldBankroll) {
+	public void playerPush(PlayerHand hand, long heldBankroll) {
 		System.out.println(player.getName() + " pushed with dealer on "
 		    + hand.getHighValidValue());
 	}
 
-	public void playerWinsInsurance(int amountWon, int newBankroll) {
+	public void playerWinsInsurance(int amountWon, long newBankroll) {
 		System.out
 		    .println(player.getName() + " won " + amountWon + " on insurance");
 	}
 
-	public void playerLosesInsurance(int amountLost, int newBankroll) {
+	public void playerLosesInsurance(int amountLost, long newBankroll) {
 		System.out.println(player.getName() + " lost " + amountLost
 		    + " on insurance");
 	}
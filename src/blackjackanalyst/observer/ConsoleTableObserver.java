@@ -30,17 +30,17 @@ import blackjackanalyst.TableObserver;
 
 /**
  * An implementation of interface {@link TableObserver} that writes to the
- * console.
+ * console. The single instance may be shared by tables on different threads,
+ * because each event is written by a single call to
+ * {@link java.io.PrintStream#println(String)}, although the events of
+ * different tables are then interleaved.
  * 
  * @author Michael Parker
  */
 public class ConsoleTableObserver implements TableObserver {
-	protected static ConsoleTableObserver instance;
+	protected static final ConsoleTableObserver instance = new ConsoleTableObserver();
 
 	public static ConsoleTableObserver getInstance() {
-		if (instance == null) {
-			instance = new ConsoleTableObserver();
-		}
 		return instance;
 	}
 
@@ -88,11 +88,11 @@ public class ConsoleTableObserver implements TableObserver {
 		System.out.println(player.getName() + " leaves the table");
 	}
 
-	public void playerBets(Player player, int betAmount, int bankroll) {
+	public void playerBets(Player player, int betAmount, long bankroll) {
 		System.out.println(player.getName() + " bets " + betAmount);
 	}
 
-	public void playerInsures(Player player, int betAmount, int bankroll) {
+	public void playerInsures(Player player, int betAmount, long bankroll) {
 		if (betAmount > 0) {
 			System.out.println(player.getName() + " insures " + betAmount);
 		} else {
@@ -113,7 +113,7 @@ public class ConsoleTableObserver implements TableObserver {
 	}
 
 	public void playerBusts(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		System.out.println(player.getName() + " busts with hand " + hand
 		    + ", lost " + amountLost);
 	}
@@ -128,35 +128,36 @@ public class ConsoleTableObserver implements TableObserver {
 	}
 
 	public void playerWins(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
+	    long newBankroll) {
 		System.out.println(player.getName() + " beat dealer with "
 		    + hand.getHighValidValue() + ", won " + amountWon);
 	}
 
 	public void playerLoses(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		System.out.println(player.getName() + " lost to dealer with "
 		    + hand.getHighValidValue() + ", lost " + amountLost);
 	}
 
 	public void playerBlackjack(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
+	    long newBankroll) {
 		System.out.println(player.getName() + " received blackjack, won "
 		    + amountWon);
 	}
 
-	public void playerPush(Player player, PlayerHand hand, int bankroll) {
+	public void playerPush(Player player, PlayerHand hand, long bankroll) {
 		System.out.println(player.getName() + " pushed with dealer on "
 		    + hand.getHighValidValue());
 	}
 
-	public void playerWinsInsurance(Player player, int amountWon, int newBankroll) {
+	public void playerWinsInsurance(Player player, int amountWon,
+	    long newBankroll) {
 		System.out
 		    .println(player.getName() + " won " + amountWon + " on insurance");
 	}
 
 	public void playerLosesInsurance(Player player, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		System.out.println(player.getName() + " lost " + amountLost
 		    + " on insurance");
 	}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst.observer;
+
+import blackjackanalyst.RoundObserver;
+import blackjackanalyst.RoundSummary;
+
+/**
+ * A round observer that records the distributions of the bankrolls of the
+ * players and of the results of their rounds, from which percentiles such as
+ * the median can be read without storing every value. The amounts of chips
+ * are recorded in a {@link LongHistogram}, and the results per unit bet are
+ * recorded in a {@link QuantileSketch}, so the memory used is fixed however
+ * many rounds are played.
+ * <p>
+ * For each round, the bankroll of every seated player is recorded after the
+ * round is over. For every player that placed a bet, the net result of their
+ * hands and insurance bet is recorded both in chips and divided by their
+ * initial bet.
+ *
+ * @author Michael Parker
+ */
+public class DistributionRoundObserver implements RoundObserver {
+	protected final LongHistogram bankrolls;
+	protected final LongHistogram results;
+	protected final QuantileSketch unitResults;
+
+	// the net result of each player in the current round
+	private long[] playerResults;
+
+	/**
+	 * Creates a new observer that records amounts of chips to two significant
+	 * digits.
+	 */
+	public DistributionRoundObserver() {
+		this(2);
+	}
+
+	/**
+	 * Creates a new observer that records amounts of chips to the given number
+	 * of significant digits.
+	 *
+	 * @param significantDigits the number of significant decimal digits
+	 */
+	public DistributionRoundObserver(int significantDigits) {
+		bankrolls = new LongHistogram(significantDigits);
+		results = new LongHistogram(significantDigits);
+		unitResults = new QuantileSketch();
+		playerResults = new long[8];
+	}
+
+	/**
+	 * Resets all statistics recorded by this observer.
+	 */
+	public void reset() {
+		bankrolls.reset();
+		results.reset();
+		unitResults.reset();
+	}
+
+	/**
+	 * Adds the statistics recorded by the given observer to the statistics
+	 * recorded by this observer. This allows combining the statistics of tables
+	 * that were simulated independently.
+	 *
+	 * @param other the observer whose statistics are added to this observer
+	 */
+	public void merge(DistributionRoundObserver other) {
+		bankrolls.merge(other.bankrolls);
+		results.merge(other.results);
+		unitResults.merge(other.unitResults);
+	}
+
+	public void roundPlayed(RoundSummary summary) {
+		int numPlayers = summary.getNumPlayers();
+		if (playerResults.length < numPlayers) {
+			playerResults = new long[numPlayers];
+		}
+		for (int i = 0; i < numPlayers; ++i) {
+			playerResults[i] = summary.getInsurancePayout(i);
+		}
+		for (int i = 0; i < summary.getNumHands(); ++i) {
+			playerResults[summary.getPlayerIndex(i)] += summary.getPayout(i);
+		}
+
+		for (int i = 0; i < numPlayers; ++i) {
+			bankrolls.record(summary.getPlayer(i).getBankroll());
+			int initialBet = summary.getInitialBet(i);
+			if (initialBet > 0) {
+				results.record(playerResults[i]);
+				unitResults.record((double) playerResults[i] / initialBet);
+			}
+		}
+	}
+
+	/**
+	 * Returns the histogram of the bankrolls of the players after each round.
+	 *
+	 * @return the histogram of bankrolls
+	 */
+	public LongHistogram getBankrolls() {
+		return bankrolls;
+	}
+
+	/**
+	 * Returns the histogram of the net results in chips of the players in each
+	 * round in which they placed a bet.
+	 *
+	 * @return the histogram of round results
+	 */
+	public LongHistogram getResults() {
+		return results;
+	}
+
+	/**
+	 * Returns the sketch of the net results of the players in each round in
+	 * which they placed a bet, divided by their initial bets.
+	 *
+	 * @return the sketch of round results per unit bet
+	 */
+	public QuantileSketch getUnitResults() {
+		return unitResults;
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder(512);
+		sb.append("Bankroll: ").append(bankrolls);
+		sb.append("\nRound result: ").append(results);
+		sb.append("\nRound result per unit: ").append(unitResults);
+		return sb.toString();
+	}
+}
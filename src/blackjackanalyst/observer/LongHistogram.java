@@ -0,0 +1,285 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst.observer;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of long values, such as amounts of chips, that uses a fixed
+ * amount of memory however many values are recorded, and that can be merged
+ * with other histograms of the same precision.
+ * <p>
+ * As in an HDR histogram, the buckets are log-linear: values smaller than a
+ * power of two determined by the precision are recorded exactly, and each
+ * larger power of two is divided into the same number of equally wide buckets.
+ * Any value returned by {@link #getValueAtQuantile(double)} therefore differs
+ * from a recorded value of the same rank by less than one part in 10 raised to
+ * the number of significant digits. Negative values are recorded in buckets of
+ * their own, mirroring those of positive values.
+ * <p>
+ * The buckets are allocated as larger values are recorded, up to at most a few
+ * thousand buckets for two significant digits.
+ *
+ * @author Michael Parker
+ */
+public class LongHistogram {
+	private final int significantDigits;
+	// the number of bits of a value recorded exactly
+	private final int subBucketBits;
+	private final int subBucketHalfCount;
+
+	// counts of the buckets of values >= 0, and of values < 0 by -(value + 1)
+	private long[] positiveCounts;
+	private long[] negativeCounts;
+
+	private long totalCount;
+	private long minValue;
+	private long maxValue;
+	private double sum;
+
+	/**
+	 * Creates a new histogram that records values to two significant digits.
+	 */
+	public LongHistogram() {
+		this(2);
+	}
+
+	/**
+	 * Creates a new histogram that records values to the given number of
+	 * significant decimal digits, which is between 1 and 5.
+	 *
+	 * @param significantDigits the number of significant decimal digits
+	 */
+	public LongHistogram(int significantDigits) {
+		if ((significantDigits < 1) || (significantDigits > 5)) {
+			throw new IllegalArgumentException(
+			    "Significant digits must be between 1 and 5");
+		}
+		this.significantDigits = significantDigits;
+		long largestExact = 2;
+		for (int i = 0; i < significantDigits; ++i) {
+			largestExact *= 10;
+		}
+		subBucketBits = 64 - Long.numberOfLeadingZeros(largestExact - 1);
+		subBucketHalfCount = 1 << (subBucketBits - 1);
+		reset();
+	}
+
+	/**
+	 * Removes all values recorded by this histogram.
+	 */
+	public void reset() {
+		positiveCounts = new long[2 * subBucketHalfCount];
+		negativeCounts = new long[2 * subBucketHalfCount];
+		totalCount = 0;
+		minValue = Long.MAX_VALUE;
+		maxValue = Long.MIN_VALUE;
+		sum = 0;
+	}
+
+	/**
+	 * Records the given value.
+	 *
+	 * @param value the value to record
+	 */
+	public void record(long value) {
+		if (value >= 0) {
+			int index = getBucketIndex(value);
+			if (index >= positiveCounts.length) {
+				positiveCounts = grow(positiveCounts, index);
+			}
+			++positiveCounts[index];
+		} else {
+			int index = getBucketIndex(-(value + 1));
+			if (index >= negativeCounts.length) {
+				negativeCounts = grow(negativeCounts, index);
+			}
+			++negativeCounts[index];
+		}
+		++totalCount;
+		if (value < minValue) {
+			minValue = value;
+		}
+		if (value > maxValue) {
+			maxValue = value;
+		}
+		sum += value;
+	}
+
+	/**
+	 * Adds the values recorded by the given histogram to the values recorded by
+	 * this histogram. Both histograms must have the same precision.
+	 *
+	 * @param other the histogram whose values are added to this histogram
+	 */
+	public void merge(LongHistogram other) {
+		if (other.significantDigits != significantDigits) {
+			throw new IllegalArgumentException(
+			    "Cannot merge histograms of different precision");
+		}
+		positiveCounts = add(positiveCounts, other.positiveCounts);
+		negativeCounts = add(negativeCounts, other.negativeCounts);
+		totalCount += other.totalCount;
+		minValue = Math.min(minValue, other.minValue);
+		maxValue = Math.max(maxValue, other.maxValue);
+		sum += other.sum;
+	}
+
+	/**
+	 * Returns the number of significant decimal digits to which values are
+	 * recorded.
+	 *
+	 * @return the number of significant digits
+	 */
+	public int getSignificantDigits() {
+		return significantDigits;
+	}
+
+	/**
+	 * Returns the number of values recorded.
+	 *
+	 * @return the number of values recorded
+	 */
+	public long getCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Returns the smallest value recorded, or {@code 0} if no values were
+	 * recorded.
+	 *
+	 * @return the smallest value recorded
+	 */
+	public long getMin() {
+		return (totalCount > 0) ? minValue : 0;
+	}
+
+	/**
+	 * Returns the largest value recorded, or {@code 0} if no values were
+	 * recorded.
+	 *
+	 * @return the largest value recorded
+	 */
+	public long getMax() {
+		return (totalCount > 0) ? maxValue : 0;
+	}
+
+	/**
+	 * Returns the mean of the values recorded, or <code>Double.NaN</code> if no
+	 * values were recorded.
+	 *
+	 * @return the mean of the values recorded
+	 */
+	public double getMean() {
+		return (totalCount > 0) ? sum / totalCount : Double.NaN;
+	}
+
+	/**
+	 * Returns the value at the given quantile of the values recorded, such as
+	 * {@code 0.99} for the 99th percentile, or {@code 0} if no values were
+	 * recorded. The value returned is the middle of the bucket holding the value
+	 * of that rank, limited to the smallest and largest values recorded.
+	 *
+	 * @param quantile the quantile, between {@code 0} and {@code 1}
+	 * @return the value at the quantile
+	 */
+	public long getValueAtQuantile(double quantile) {
+		if ((quantile < 0) || (quantile > 1)) {
+			throw new IllegalArgumentException(
+			    "Quantile must be between 0 and 1");
+		}
+		if (totalCount == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+
+		// the negative values in increasing order, then the positive values
+		long seen = 0;
+		for (int i = negativeCounts.length - 1; i >= 0; --i) {
+			seen += negativeCounts[i];
+			if (seen >= rank) {
+				return clamp(-(getBucketMiddle(i) + 1));
+			}
+		}
+		for (int i = 0; i < positiveCounts.length; ++i) {
+			seen += positiveCounts[i];
+			if (seen >= rank) {
+				return clamp(getBucketMiddle(i));
+			}
+		}
+		return maxValue;
+	}
+
+	/*
+	 * Returns the index of the bucket of the given value, which is not negative.
+	 */
+	private int getBucketIndex(long value) {
+		int shift = 64 - Long.numberOfLeadingZeros(value) - subBucketBits;
+		if (shift <= 0) {
+			return (int) value;
+		}
+		return (shift * subBucketHalfCount) + (int) (value >>> shift);
+	}
+
+	/*
+	 * Returns the value in the middle of the bucket with the given index.
+	 */
+	private long getBucketMiddle(int index) {
+		int shift = (index >> (subBucketBits - 1)) - 1;
+		if (shift <= 0) {
+			return index;
+		}
+		long lowest = (long) (index - (shift * subBucketHalfCount)) << shift;
+		return lowest + ((1L << shift) >>> 1);
+	}
+
+	private long clamp(long value) {
+		return Math.max(minValue, Math.min(maxValue, value));
+	}
+
+	private long[] grow(long[] counts, int index) {
+		int length = counts.length;
+		while (length <= index) {
+			length += subBucketHalfCount;
+		}
+		return Arrays.copyOf(counts, length);
+	}
+
+	private static long[] add(long[] counts, long[] otherCounts) {
+		if (counts.length < otherCounts.length) {
+			counts = Arrays.copyOf(counts, otherCounts.length);
+		}
+		for (int i = 0; i < otherCounts.length; ++i) {
+			counts[i] += otherCounts[i];
+		}
+		return counts;
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder(128);
+		sb.append("P1=").append(getValueAtQuantile(0.01));
+		sb.append(", P5=").append(getValueAtQuantile(0.05));
+		sb.append(", P50=").append(getValueAtQuantile(0.5));
+		sb.append(", P95=").append(getValueAtQuantile(0.95));
+		sb.append(", P99=").append(getValueAtQuantile(0.99));
+		return sb.toString();
+	}
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst.observer;
+
+import blackjackanalyst.RoundObserver;
+import blackjackanalyst.RoundSummary;
+import blackjackanalyst.Table;
+
+/**
+ * A round observer that estimates the expected value of each round, per unit
+ * initially bet, along with the precision of that estimate. For each round in
+ * which a bet was placed, the net result of all hands and insurance bets is
+ * divided by the sum of the initial bets, and the mean and variance of these
+ * results are updated using Welford's method.
+ * <p>
+ * Because the bets and the cards of consecutive rounds dealt from the same
+ * shoe are correlated, the standard error of the mean is estimated by the
+ * method of batch means: the rounds are grouped into consecutive batches, and
+ * the standard error is derived from the variance of the batch means. The
+ * observer keeps between 32 and 64 batches; whenever 64 batches are full, each
+ * pair of adjacent batches is combined into one batch of twice the size.
+ * <p>
+ * Observers of independent tables can be merged. The squared deviations of
+ * the batch means of each observer, scaled by its batch size, are pooled into
+ * a single estimate of the variance per round, so that observers with too few
+ * batches to give a standard error of their own still contribute to the
+ * standard error of the merged observer.
+ * <p>
+ * If a target standard error is given by
+ * {@link #setStopRule(Table, double)}, the observer stops its table with
+ * {@link Table#stop()} as soon as the standard error reaches the target.
+ *
+ * @author Michael Parker
+ */
+public class PrecisionRoundObserver implements RoundObserver {
+	/**
+	 * The minimum number of batches from which the standard error is estimated.
+	 */
+	public static final int MIN_BATCHES = 32;
+
+	private static final int MAX_BATCHES = 2 * MIN_BATCHES;
+
+	// the standard normal quantile of a two-sided 95% confidence interval
+	private static final double Z_95 = 1.959963984540054;
+
+	protected final long initialBatchSize;
+
+	// the Welford estimates of the mean and variance of the round results
+	protected long numRounds;
+	protected double mean;
+	protected double sumSquaredDeviations;
+
+	// the sums of the full batches, and of the batch being filled
+	protected final double[] batchSums;
+	protected int numBatches;
+	protected long batchSize;
+	protected double currentBatchSum;
+	protected long currentBatchRounds;
+
+	// the pooled squared deviations of the batch means of merged observers,
+	// each scaled by its batch size, and their degrees of freedom
+	protected double mergedSumSquares;
+	protected int mergedDegrees;
+
+	protected Table table;
+	protected double targetStandardError;
+
+	/**
+	 * Creates a new observer whose batches initially hold 1000 rounds.
+	 */
+	public PrecisionRoundObserver() {
+		this(1000);
+	}
+
+	/**
+	 * Creates a new observer whose batches initially hold the given number of
+	 * rounds. No standard error is available until {@link #MIN_BATCHES} batches
+	 * of this size are full.
+	 *
+	 * @param initialBatchSize the initial number of rounds in each batch
+	 */
+	public PrecisionRoundObserver(long initialBatchSize) {
+		if (initialBatchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.initialBatchSize = initialBatchSize;
+		batchSums = new double[MAX_BATCHES];
+		reset();
+	}
+
+	/**
+	 * Resets all statistics recorded by this observer. The stop rule, if any, is
+	 * kept.
+	 */
+	public void reset() {
+		numRounds = 0;
+		mean = 0;
+		sumSquaredDeviations = 0;
+
+		numBatches = 0;
+		batchSize = initialBatchSize;
+		currentBatchSum = 0;
+		currentBatchRounds = 0;
+
+		mergedSumSquares = 0;
+		mergedDegrees = 0;
+	}
+
+	/**
+	 * Stops the given table once the standard error of the expected value
+	 * reaches the given target. This observer must be a round observer of the
+	 * table.
+	 *
+	 * @param table the table to stop
+	 * @param targetStandardError the standard error at which to stop the table
+	 */
+	public void setStopRule(Table table, double targetStandardError) {
+		if (!(targetStandardError > 0)) {
+			throw new IllegalArgumentException(
+			    "Target standard error must be positive");
+		}
+		this.table = table;
+		this.targetStandardError = targetStandardError;
+	}
+
+	public void roundPlayed(RoundSummary summary) {
+		long initialBets = 0;
+		long netResult = 0;
+		for (int i = 0; i < summary.getNumPlayers(); ++i) {
+			initialBets += summary.getInitialBet(i);
+			netResult += summary.getInsurancePayout(i);
+		}
+		if (initialBets == 0) {
+			// no player bet, so the round does not count
+			return;
+		}
+		for (int i = 0; i < summary.getNumHands(); ++i) {
+			netResult += summary.getPayout(i);
+		}
+		addResult((double) netResult / initialBets);
+	}
+
+	/**
+	 * Adds the result of a round, as a multiple of the initial bets of the
+	 * round, to the statistics recorded by this observer.
+	 *
+	 * @param result the result of the round
+	 */
+	public void addResult(double result) {
+		++numRounds;
+		double delta = result - mean;
+		mean += delta / numRounds;
+		sumSquaredDeviations += delta * (result - mean);
+
+		currentBatchSum += result;
+		if (++currentBatchRounds < batchSize) {
+			return;
+		}
+		if (numBatches == MAX_BATCHES) {
+			// combine adjacent batches so that the batch size doubles
+			for (int i = 0; i < MIN_BATCHES; ++i) {
+				batchSums[i] = batchSums[2 * i] + batchSums[2 * i + 1];
+			}
+			numBatches = MIN_BATCHES;
+			batchSize *= 2;
+			if (currentBatchRounds < batchSize) {
+				return;
+			}
+		}
+		batchSums[numBatches++] = currentBatchSum;
+		currentBatchSum = 0;
+		currentBatchRounds = 0;
+
+		if ((table != null) && (getStandardError() <= targetStandardError)) {
+			table.stop();
+		}
+	}
+
+	/**
+	 * Adds the statistics recorded by the given observer to the statistics
+	 * recorded by this observer. This allows combining the statistics of tables
+	 * that were simulated independently; the batch means of the observers are
+	 * pooled to estimate the standard error of the combined mean, even if the
+	 * given observer has too few batches for a standard error of its own.
+	 *
+	 * @param other the observer whose statistics are added to this observer
+	 */
+	public void merge(PrecisionRoundObserver other) {
+		if (other.numRounds == 0) {
+			return;
+		}
+		long totalRounds = numRounds + other.numRounds;
+		double delta = other.mean - mean;
+		mean += delta * other.numRounds / totalRounds;
+		sumSquaredDeviations += other.sumSquaredDeviations + delta * delta
+		    * ((double) numRounds * other.numRounds / totalRounds);
+		numRounds = totalRounds;
+
+		mergedSumSquares += other.getPooledSumSquares();
+		mergedDegrees += other.getDegreesOfFreedom();
+	}
+
+	/**
+	 * Returns the number of rounds in which a bet was placed.
+	 *
+	 * @return the number of rounds recorded
+	 */
+	public long getNumRounds() {
+		return numRounds;
+	}
+
+	/**
+	 * Returns the mean result of a round per unit initially bet, which estimates
+	 * the expected value of the players.
+	 *
+	 * @return the mean result of a round
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * Returns the sample variance of the result of a round, or
+	 * <code>Double.NaN</code> if fewer than two rounds were recorded.
+	 *
+	 * @return the variance of the result of a round
+	 */
+	public double getVariance() {
+		return (numRounds > 1) ? sumSquaredDeviations / (numRounds - 1)
+		    : Double.NaN;
+	}
+
+	/**
+	 * Returns the sample standard deviation of the result of a round, or
+	 * <code>Double.NaN</code> if fewer than two rounds were recorded.
+	 *
+	 * @return the standard deviation of the result of a round
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * Returns the standard error of the mean estimated by the method of batch
+	 * means, or <code>Double.NaN</code> if fewer than {@link #MIN_BATCHES}
+	 * batches are full. The batches of merged observers count toward this
+	 * minimum, less one batch per observer.
+	 *
+	 * @return the standard error of the mean
+	 */
+	public double getStandardError() {
+		int degreesOfFreedom = getDegreesOfFreedom();
+		if (degreesOfFreedom < MIN_BATCHES - 1) {
+			return Double.NaN;
+		}
+		double roundVariance = getPooledSumSquares() / degreesOfFreedom;
+		return Math.sqrt(roundVariance / numRounds);
+	}
+
+	/**
+	 * Returns the half-width of a 95% confidence interval for the expected value,
+	 * or <code>Double.NaN</code> if the standard error is not yet available. The
+	 * interval is centered on {@link #getMean()}.
+	 *
+	 * @return the half-width of the confidence interval
+	 */
+	public double getConfidenceHalfWidth() {
+		return getStandardError() * getCriticalValue(getDegreesOfFreedom());
+	}
+
+	/*
+	 * Returns the number of degrees of freedom of the pooled variance, which is
+	 * one less than the number of full batches of each observer.
+	 */
+	private int getDegreesOfFreedom() {
+		return mergedDegrees + Math.max(numBatches - 1, 0);
+	}
+
+	/*
+	 * Returns the squared deviations of the means of the full batches from
+	 * their mean, scaled by the batch size, pooled with those of the merged
+	 * observers. Divided by the degrees of freedom, this estimates the variance
+	 * of the result of a round, allowing for correlation between rounds.
+	 */
+	private double getPooledSumSquares() {
+		double batchMean = 0;
+		double sumSquares = 0;
+		for (int i = 0; i < numBatches; ++i) {
+			double delta = batchSums[i] / batchSize - batchMean;
+			batchMean += delta / (i + 1);
+			sumSquares += delta * (batchSums[i] / batchSize - batchMean);
+		}
+		return mergedSumSquares + sumSquares * batchSize;
+	}
+
+	/*
+	 * Returns the 97.5% quantile of Student's t distribution with the given
+	 * degrees of freedom, by the Cornish-Fisher expansion about the normal
+	 * quantile. This is accurate to three decimal places for at least 30
+	 * degrees of freedom.
+	 */
+	private static double getCriticalValue(int degreesOfFreedom) {
+		if (degreesOfFreedom <= 0) {
+			return Z_95;
+		}
+		double z = Z_95;
+		double z3 = z * z * z;
+		double n = degreesOfFreedom;
+		return z + (z3 + z) / (4 * n) + (5 * z3 * z * z + 16 * z3 + 3 * z)
+		    / (96 * n * n);
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder(128);
+		sb.append("EV=").append(String.format("%.5f", mean));
+		sb.append(" +/- ").append(String.format("%.5f", getConfidenceHalfWidth()));
+		sb.append(" (95%), SE=").append(
+		    String.format("%.5f", getStandardError()));
+		sb.append(", SD=").append(String.format("%.4f", getStandardDeviation()));
+		sb.append(", rounds=").append(numRounds);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst.observer;
+
+import java.util.Arrays;
+
+/**
+ * A sketch of the distribution of double values, such as the results of rounds
+ * per unit bet, that uses a fixed amount of memory however many values are
+ * recorded, and that can be merged with other sketches.
+ * <p>
+ * This is the KLL sketch described by Karnin, Lang, and Liberty in "Optimal
+ * Quantile Approximation in Streams", <i>FOCS</i>, 2016. Values are kept in a
+ * hierarchy of compactors, where each value kept by the compactor at level
+ * <i>h</i> stands for 2^<i>h</i> recorded values. When a compactor is full, its
+ * values are sorted and every other value, starting at a random offset, is
+ * promoted to the next level while the rest are discarded. The capacity of
+ * each level shrinks geometrically below the top level, so the sketch holds
+ * about 3<i>k</i> values. The error in the rank of a value returned by
+ * {@link #getValueAtQuantile(double)} shrinks in proportion to 1/<i>k</i>, and
+ * for the default <i>k</i> of 200 is rarely more than 1% of the number of
+ * values recorded.
+ * <p>
+ * The random offsets are chosen by a generator with a fixed seed, so that
+ * sketches fed the same values in the same order are identical.
+ *
+ * @author Michael Parker
+ */
+public class QuantileSketch {
+	private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+	private final int k;
+
+	// the values kept at each level, and the number of values in each level
+	private double[][] levels;
+	private int[] levelSizes;
+	private int numLevels;
+	// the number of values kept, and the number that triggers a compaction
+	private int size;
+	private int maxSize;
+
+	private long totalCount;
+	private double minValue;
+	private double maxValue;
+
+	private long randomState;
+
+	/**
+	 * Creates a new sketch with a <i>k</i> of 200.
+	 */
+	public QuantileSketch() {
+		this(200);
+	}
+
+	/**
+	 * Creates a new sketch with the given <i>k</i>, which determines both its
+	 * accuracy and its size.
+	 *
+	 * @param k the capacity of the top level of the sketch, at least 8
+	 */
+	public QuantileSketch(int k) {
+		if (k < 8) {
+			throw new IllegalArgumentException("k must be at least 8");
+		}
+		this.k = k;
+		reset();
+	}
+
+	/**
+	 * Removes all values recorded by this sketch.
+	 */
+	public void reset() {
+		levels = new double[4][];
+		levelSizes = new int[4];
+		numLevels = 0;
+		size = 0;
+		addLevel();
+
+		totalCount = 0;
+		minValue = Double.POSITIVE_INFINITY;
+		maxValue = Double.NEGATIVE_INFINITY;
+		randomState = 0x9e3779b97f4a7c15L;
+	}
+
+	/**
+	 * Records the given value.
+	 *
+	 * @param value the value to record
+	 */
+	public void record(double value) {
+		if (Double.isNaN(value)) {
+			throw new IllegalArgumentException("Cannot record NaN");
+		}
+		append(0, value);
+		++size;
+		++totalCount;
+		if (value < minValue) {
+			minValue = value;
+		}
+		if (value > maxValue) {
+			maxValue = value;
+		}
+		if (size >= maxSize) {
+			compress();
+		}
+	}
+
+	/**
+	 * Adds the values recorded by the given sketch to the values recorded by
+	 * this sketch. Both sketches must have the same <i>k</i>.
+	 *
+	 * @param other the sketch whose values are added to this sketch
+	 */
+	public void merge(QuantileSketch other) {
+		if (other.k != k) {
+			throw new IllegalArgumentException(
+			    "Cannot merge sketches with different k");
+		}
+		while (numLevels < other.numLevels) {
+			addLevel();
+		}
+		for (int h = 0; h < other.numLevels; ++h) {
+			double[] otherLevel = other.levels[h];
+			for (int i = 0; i < other.levelSizes[h]; ++i) {
+				append(h, otherLevel[i]);
+			}
+			size += other.levelSizes[h];
+		}
+		totalCount += other.totalCount;
+		minValue = Math.min(minValue, other.minValue);
+		maxValue = Math.max(maxValue, other.maxValue);
+		while (size >= maxSize) {
+			compress();
+		}
+	}
+
+	/**
+	 * Returns the number of values recorded.
+	 *
+	 * @return the number of values recorded
+	 */
+	public long getCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Returns the smallest value recorded, or <code>Double.NaN</code> if no
+	 * values were recorded.
+	 *
+	 * @return the smallest value recorded
+	 */
+	public double getMin() {
+		return (totalCount > 0) ? minValue : Double.NaN;
+	}
+
+	/**
+	 * Returns the largest value recorded, or <code>Double.NaN</code> if no
+	 * values were recorded.
+	 *
+	 * @return the largest value recorded
+	 */
+	public double getMax() {
+		return (totalCount > 0) ? maxValue : Double.NaN;
+	}
+
+	/**
+	 * Returns an estimate of the value at the given quantile of the values
+	 * recorded, such as {@code 0.99} for the 99th percentile, or
+	 * <code>Double.NaN</code> if no values were recorded.
+	 *
+	 * @param quantile the quantile, between {@code 0} and {@code 1}
+	 * @return the value at the quantile
+	 */
+	public double getValueAtQuantile(double quantile) {
+		if ((quantile < 0) || (quantile > 1)) {
+			throw new IllegalArgumentException(
+			    "Quantile must be between 0 and 1");
+		}
+		if (totalCount == 0) {
+			return Double.NaN;
+		}
+		if (quantile == 0) {
+			return minValue;
+		}
+		if (quantile == 1) {
+			return maxValue;
+		}
+
+		// merge the sorted levels, weighting each value kept by its level
+		double[][] sortedLevels = new double[numLevels][];
+		for (int h = 0; h < numLevels; ++h) {
+			sortedLevels[h] = Arrays.copyOf(levels[h], levelSizes[h]);
+			Arrays.sort(sortedLevels[h]);
+		}
+		int[] positions = new int[numLevels];
+		long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+		long seen = 0;
+		while (true) {
+			int next = -1;
+			double nextValue = 0;
+			for (int h = 0; h < numLevels; ++h) {
+				if (positions[h] < sortedLevels[h].length) {
+					double value = sortedLevels[h][positions[h]];
+					if ((next < 0) || (value < nextValue)) {
+						next = h;
+						nextValue = value;
+					}
+				}
+			}
+			if (next < 0) {
+				break;
+			}
+			++positions[next];
+			seen += 1L << next;
+			if (seen >= rank) {
+				return nextValue;
+			}
+		}
+		return maxValue;
+	}
+
+	/*
+	 * Returns the capacity of the given level, which shrinks geometrically
+	 * below the top level.
+	 */
+	private int getCapacity(int level) {
+		int depth = numLevels - level - 1;
+		return (int) Math.ceil(k * Math.pow(CAPACITY_RATIO, depth)) + 1;
+	}
+
+	private void addLevel() {
+		if (numLevels == levels.length) {
+			levels = Arrays.copyOf(levels, 2 * numLevels);
+			levelSizes = Arrays.copyOf(levelSizes, 2 * numLevels);
+		}
+		levels[numLevels] = new double[8];
+		++numLevels;
+
+		maxSize = 0;
+		for (int h = 0; h < numLevels; ++h) {
+			maxSize += getCapacity(h);
+		}
+	}
+
+	private void append(int level, double value) {
+		double[] values = levels[level];
+		if (levelSizes[level] == values.length) {
+			values = Arrays.copyOf(values, 2 * values.length);
+			levels[level] = values;
+		}
+		values[levelSizes[level]++] = value;
+	}
+
+	/*
+	 * Compacts the lowest level that is full, promoting half of its values to
+	 * the level above it.
+	 */
+	private void compress() {
+		for (int h = 0; h < numLevels; ++h) {
+			if (levelSizes[h] < getCapacity(h)) {
+				continue;
+			}
+			if (h + 1 == numLevels) {
+				addLevel();
+			}
+			double[] values = levels[h];
+			int levelSize = levelSizes[h];
+			Arrays.sort(values, 0, levelSize);
+			// an odd value out stays at this level
+			int numPaired = levelSize & ~1;
+			for (int i = nextBit(); i < numPaired; i += 2) {
+				append(h + 1, values[i]);
+			}
+			if (numPaired < levelSize) {
+				values[0] = values[numPaired];
+			}
+			levelSizes[h] = levelSize - numPaired;
+			size -= numPaired / 2;
+			if (size < maxSize) {
+				return;
+			}
+		}
+	}
+
+	/*
+	 * Returns a random bit from an xorshift generator.
+	 */
+	private int nextBit() {
+		long x = randomState;
+		x ^= x << 13;
+		x ^= x >>> 7;
+		x ^= x << 17;
+		randomState = x;
+		return (int) (x >>> 63);
+	}
+
+	private static String format(double value) {
+		return String.format("%.4f", value);
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder(128);
+		sb.append("P1=").append(format(getValueAtQuantile(0.01)));
+		sb.append(", P5=").append(format(getValueAtQuantile(0.05)));
+		sb.append(", P50=").append(format(getValueAtQuantile(0.5)));
+		sb.append(", P95=").append(format(getValueAtQuantile(0.95)));
+		sb.append(", P99=").append(format(getValueAtQuantile(0.99)));
+		return sb.toString();
+	}
+}
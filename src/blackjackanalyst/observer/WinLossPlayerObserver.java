@@ -32,17 +32,17 @@ public class WinLossPlayerObserver extends AbstractPlayerObserver {
 	protected int streakLength;
 	protected boolean onWinningStreak;
 
-	protected int numWins;
-	protected int numLosses;
-	protected int numBlackjacks;
-	protected int numPushes;
-	protected int numInsuranceWins;
-	protected int numInsuranceLosses;
+	protected long numWins;
+	protected long numLosses;
+	protected long numBlackjacks;
+	protected long numPushes;
+	protected long numInsuranceWins;
+	protected long numInsuranceLosses;
 
 	protected int longestWinStreak;
 	protected int longestLosingStreak;
 
-	protected int netGain;
+	protected long netGain;
 
 	/**
 	 * Creates a new player observer that gathers statistics.
@@ -69,42 +69,67 @@ public class WinLossPlayerObserver extends AbstractPlayerObserver {
 		netGain = 0;
 	}
 
-	public void playerBusts(PlayerHand hand, int amountLost, int newBankroll) {
+	/**
+	 * Adds the statistics recorded by the given observer to the statistics
+	 * recorded by this observer. This allows combining the statistics of a player
+	 * that was simulated at independent tables. Streaks do not continue across
+	 * observers, so the longest streaks are the longest recorded by either
+	 * observer.
+	 * 
+	 * @param other the observer whose statistics are added to this observer
+	 */
+	public void merge(WinLossPlayerObserver other) {
+		numWins += other.numWins;
+		numLosses += other.numLosses;
+		numBlackjacks += other.numBlackjacks;
+		numPushes += other.numPushes;
+		numInsuranceWins += other.numInsuranceWins;
+		numInsuranceLosses += other.numInsuranceLosses;
+
+		longestWinStreak = Math.max(longestWinStreak, other.longestWinStreak);
+		longestLosingStreak = Math.max(longestLosingStreak,
+		    other.longestLosingStreak);
+
+		netGain += other.netGain;
+	}
+
+	public void playerBusts(PlayerHand hand, int amountLost, long newBankroll) {
 		++numLosses;
 		netGain -= amountLost;
 		updateLossStreak();
 	}
 
-	public void playerWins(PlayerHand hand, int amountWon, int newBankroll) {
+	public void playerWins(PlayerHand hand, int amountWon, long newBankroll) {
 		++numWins;
 		netGain += amountWon;
 		updateWinStreak();
 	}
 
-	public void playerLoses(PlayerHand hand, int amountLost, int newBankroll) {
+	public void playerLoses(PlayerHand hand, int amountLost, long newBankroll) {
 		++numLosses;
 		netGain -= amountLost;
 		updateLossStreak();
 	}
 
-	public void playerBlackjack(PlayerHand hand, int amountWon, int newBankroll) {
+	public void playerBlackjack(PlayerHand hand, int amountWon,
+	    long newBankroll) {
 		++numBlackjacks;
 		netGain += amountWon;
 		updateWinStreak();
 	}
 
-	public void playerPush(PlayerHand hand, int heldBankroll) {
+	public void playerPush(PlayerHand hand, long heldBankroll) {
 		++numPushes;
 		// push erases any streak
 		streakLength = 0;
 	}
 
-	public void playerWinsInsurance(int amountWon, int newBankroll) {
+	public void playerWinsInsurance(int amountWon, long newBankroll) {
 		++numInsuranceWins;
 		netGain += amountWon;
 	}
 
-	public void playerLosesInsurance(int amountLost, int newBankroll) {
+	public void playerLosesInsurance(int amountLost, long newBankroll) {
 		++numInsuranceLosses;
 		netGain -= amountLost;
 	}
@@ -136,7 +161,7 @@ public class WinLossPlayerObserver extends AbstractPlayerObserver {
 	 * 
 	 * @return the number of player wins
 	 */
-	public int getNumWins() {
+	public long getNumWins() {
 		return numWins;
 	}
 
@@ -145,7 +170,7 @@ public class WinLossPlayerObserver extends AbstractPlayerObserver {
 	 * 
 	 * @return the number of player losses
 	 */
-	public int getNumLosses() {
+	public long getNumLosses() {
 		return numLosses;
 	}
 
@@ -154,7 +179,7 @@ public class WinLossPlayerObserver extends AbstractPlayerObserver {
 	 * 
 	 * @return the number of player blackjacks
 	 */
-	public int getNumBlackjacks() {
+	public long getNumBlackjacks() {
 		return numBlackjacks;
 	}
 
@@ -163,7 +188,7 @@ public class WinLossPlayerObserver extends AbstractPlayerObserver {
 	 * 
 	 * @return the number of player pushes
 	 */
-	public int getNumPushes() {
+	public long getNumPushes() {
 		return numPushes;
 	}
 
@@ -193,7 +218,7 @@ public class WinLossPlayerObserver extends AbstractPlayerObserver {
 	 * 
 	 * @return the net winnings of this player
 	 */
-	public int getNetGain() {
+	public long getNetGain() {
 		return netGain;
 	}
 
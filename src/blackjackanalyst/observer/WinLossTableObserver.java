@@ -24,24 +24,31 @@ import java.util.List;
 
 import blackjackanalyst.Player;
 import blackjackanalyst.PlayerHand;
+import blackjackanalyst.RoundObserver;
+import blackjackanalyst.RoundSummary;
 
 /**
  * A table observer that records the number of wins and losses players have had
  * at a given table.
+ * <p>
+ * This observer can be added either to the table observers of a table, or to
+ * its round observers, which is faster because the table reports the outcome of
+ * each round once instead of as it is played. It must not be added to both.
  * 
  * @author Michael Parker
  */
-public class WinLossTableObserver extends AbstractTableObserver {
-	protected int roundsPlayed;
+public class WinLossTableObserver extends AbstractTableObserver implements
+    RoundObserver {
+	protected long roundsPlayed;
 
-	protected int numWins;
-	protected int numLosses;
-	protected int numBlackjacks;
-	protected int numPushes;
-	protected int numInsuranceWins;
-	protected int numInsuranceLosses;
+	protected long numWins;
+	protected long numLosses;
+	protected long numBlackjacks;
+	protected long numPushes;
+	protected long numInsuranceWins;
+	protected long numInsuranceLosses;
 
-	protected int netGain;
+	protected long netGain;
 
 	/**
 	 * Creates a new table observer that gathers statistics.
@@ -66,45 +73,99 @@ public class WinLossTableObserver extends AbstractTableObserver {
 		netGain = 0;
 	}
 
+	/**
+	 * Adds the statistics recorded by the given observer to the statistics
+	 * recorded by this observer. This allows combining the statistics of tables
+	 * that were simulated independently.
+	 * 
+	 * @param other the observer whose statistics are added to this observer
+	 */
+	public void merge(WinLossTableObserver other) {
+		roundsPlayed += other.roundsPlayed;
+
+		numWins += other.numWins;
+		numLosses += other.numLosses;
+		numBlackjacks += other.numBlackjacks;
+		numPushes += other.numPushes;
+		numInsuranceWins += other.numInsuranceWins;
+		numInsuranceLosses += other.numInsuranceLosses;
+
+		netGain += other.netGain;
+	}
+
+	public void roundPlayed(RoundSummary summary) {
+		++roundsPlayed;
+
+		for (int i = 0; i < summary.getNumHands(); ++i) {
+			switch (summary.getOutcome(i)) {
+			case RoundSummary.WIN:
+				++numWins;
+				break;
+			case RoundSummary.LOSS:
+			case RoundSummary.BUST:
+				++numLosses;
+				break;
+			case RoundSummary.BLACKJACK:
+				++numBlackjacks;
+				break;
+			case RoundSummary.PUSH:
+				++numPushes;
+				break;
+			}
+			netGain += summary.getPayout(i);
+		}
+
+		for (int i = 0; i < summary.getNumPlayers(); ++i) {
+			int insurancePayout = summary.getInsurancePayout(i);
+			if (insurancePayout > 0) {
+				++numInsuranceWins;
+			} else if (insurancePayout < 0) {
+				++numInsuranceLosses;
+			}
+			netGain += insurancePayout;
+		}
+	}
+
 	public void newRound(List<Player> players) {
 		++roundsPlayed;
 	}
 
 	public void playerBusts(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		++numLosses;
 		netGain -= amountLost;
 	}
 
 	public void playerWins(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
+	    long newBankroll) {
 		++numWins;
 		netGain += amountWon;
 	}
 
 	public void playerLoses(Player player, PlayerHand hand, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		++numLosses;
 		netGain -= amountLost;
 	}
 
 	public void playerBlackjack(Player player, PlayerHand hand, int amountWon,
-	    int newBankroll) {
+	    long newBankroll) {
 		++numBlackjacks;
 		netGain += amountWon;
 	}
 
-	public void playerPush(Player player, PlayerHand hand, int bankroll) {
+	public void playerPush(Player player, PlayerHand hand, long bankroll) {
 		++numPushes;
 	}
 
-	public void playerWinsInsurance(Player player, int amountWon, int newBankroll) {
+	public void playerWinsInsurance(Player player, int amountWon,
+	    long newBankroll) {
 		++numInsuranceWins;
 		netGain += amountWon;
 	}
 
 	public void playerLosesInsurance(Player player, int amountLost,
-	    int newBankroll) {
+	    long newBankroll) {
 		++numInsuranceLosses;
 		netGain -= amountLost;
 	}
@@ -114,7 +175,7 @@ public class WinLossTableObserver extends AbstractTableObserver {
 	 * 
 	 * @return the number of player wins
 	 */
-	public int getNumWins() {
+	public long getNumWins() {
 		return numWins;
 	}
 
@@ -123,7 +184,7 @@ public class WinLossTableObserver extends AbstractTableObserver {
 	 * 
 	 * @return the number of player losses
 	 */
-	public int getNumLosses() {
+	public long getNumLosses() {
 		return numLosses;
 	}
 
@@ -132,7 +193,7 @@ public class WinLossTableObserver extends AbstractTableObserver {
 	 * 
 	 * @return the number of player blackjacks
 	 */
-	public int getNumBlackjacks() {
+	public long getNumBlackjacks() {
 		return numBlackjacks;
 	}
 
@@ -141,7 +202,7 @@ public class WinLossTableObserver extends AbstractTableObserver {
 	 * 
 	 * @return the number of player pushes.
 	 */
-	public int getNumPushes() {
+	public long getNumPushes() {
 		return numPushes;
 	}
 
@@ -150,7 +211,7 @@ public class WinLossTableObserver extends AbstractTableObserver {
 	 * 
 	 * @return the number of blackjack rounds
 	 */
-	public int getNumRounds() {
+	public long getNumRounds() {
 		return roundsPlayed;
 	}
 
@@ -160,7 +221,7 @@ public class WinLossTableObserver extends AbstractTableObserver {
 	 * 
 	 * @return the net winnings of the players
 	 */
-	public int getNetGain() {
+	public long getNetGain() {
 		return netGain;
 	}
 
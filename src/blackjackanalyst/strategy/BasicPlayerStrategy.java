@@ -21,8 +21,8 @@
 package blackjackanalyst.strategy;
 
 import blackjackanalyst.Card;
+import blackjackanalyst.CompositionPlayerStrategy;
 import blackjackanalyst.PlayerHand;
-import blackjackanalyst.PlayerStrategy;
 import blackjackanalyst.Table;
 
 /**
@@ -41,7 +41,120 @@ import blackjackanalyst.Table;
  * 
  * @author Michael Parker
  */
-public class BasicPlayerStrategy implements PlayerStrategy {
+public class BasicPlayerStrategy implements CompositionPlayerStrategy {
+	/*
+	 * The charts below give the action for each hand and dealer card, where
+	 * each column is a dealer card from 2 to 10, then ace. An action is H to hit,
+	 * S to stand, P to split, Dh to double down if the hand has two cards and
+	 * hit otherwise, and Ds to double down if the hand has two cards and stand
+	 * otherwise.
+	 */
+
+	// hard totals from 8 or less to 21
+	private static final String[] HARD_CHART = {
+	    "H  H  H  H  H  H  H  H  H  H ", // 8 or less
+	    "H  Dh Dh Dh Dh H  H  H  H  H ", // 9
+	    "Dh Dh Dh Dh Dh Dh Dh Dh H  H ", // 10
+	    "Dh Dh Dh Dh Dh Dh Dh Dh Dh Dh", // 11
+	    "H  H  S  S  S  H  H  H  H  H ", // 12
+	    "S  S  S  S  S  H  H  H  H  H ", // 13
+	    "S  S  S  S  S  H  H  H  H  H ", // 14
+	    "S  S  S  S  S  H  H  H  H  H ", // 15
+	    "S  S  S  S  S  H  H  H  H  H ", // 16
+	    "S  S  S  S  S  S  S  S  S  S ", // 17
+	    "S  S  S  S  S  S  S  S  S  S ", // 18
+	    "S  S  S  S  S  S  S  S  S  S ", // 19
+	    "S  S  S  S  S  S  S  S  S  S ", // 20
+	    "S  S  S  S  S  S  S  S  S  S ", // 21
+	};
+
+	// soft totals from 11 to 21
+	private static final String[] SOFT_CHART = {
+	    "H  H  H  H  H  H  H  H  H  H ", // 11, a lone ace after a split
+	    "S  S  S  S  S  S  S  S  S  S ", // 12, a pair of aces, which is split
+	    "H  H  H  Dh Dh H  H  H  H  H ", // 13
+	    "H  H  H  Dh Dh H  H  H  H  H ", // 14
+	    "H  H  Dh Dh Dh H  H  H  H  H ", // 15
+	    "H  H  Dh Dh Dh H  H  H  H  H ", // 16
+	    "H  Dh Dh Dh Dh H  H  H  H  H ", // 17
+	    "Ds Ds Ds Ds Ds S  S  H  H  H ", // 18
+	    "S  S  S  S  Ds S  S  S  S  S ", // 19
+	    "S  S  S  S  S  S  S  S  S  S ", // 20
+	    "S  S  S  S  S  S  S  S  S  S ", // 21
+	};
+
+	// pairs from aces to tens
+	private static final String[] PAIR_CHART = {
+	    "P  P  P  P  P  P  P  P  P  P ", // aces
+	    "P  P  P  P  P  P  H  H  H  H ", // twos
+	    "P  P  P  P  P  P  H  H  H  H ", // threes
+	    "H  H  H  P  P  H  H  H  H  H ", // fours
+	    "Dh Dh Dh Dh Dh Dh Dh Dh H  H ", // fives
+	    "P  P  P  P  P  H  H  H  H  H ", // sixes
+	    "P  P  P  P  P  P  H  H  H  H ", // sevens
+	    "P  P  P  P  P  P  P  P  P  P ", // eights
+	    "P  P  P  P  P  S  P  P  S  S ", // nines
+	    "S  S  S  S  S  S  S  S  S  S ", // tens
+	};
+
+	/*
+	 * The actions for each row and dealer card value, indexed by the row times
+	 * NUM_COLUMNS plus the dealer card value. Rows 0 to 21 are indexed by hard
+	 * total, rows 22 to 43 by soft total, and rows 44 to 54 by the value of the
+	 * paired cards. TWO_CARD_ACTIONS holds the actions for two-card hands, and
+	 * ACTIONS holds the actions for all other hands.
+	 */
+	private static final int NUM_COLUMNS = 11;
+	private static final int HARD_ROWS = 0;
+	private static final int SOFT_ROWS = 22;
+	private static final int PAIR_ROWS = 44;
+	private static final int NUM_ROWS = 55;
+
+	private static final PlayerStrategyAction[] TWO_CARD_ACTIONS;
+	private static final PlayerStrategyAction[] ACTIONS;
+
+	static {
+		TWO_CARD_ACTIONS = new PlayerStrategyAction[NUM_ROWS * NUM_COLUMNS];
+		ACTIONS = new PlayerStrategyAction[NUM_ROWS * NUM_COLUMNS];
+		for (int total = 0; total <= 21; ++total) {
+			fillRow(HARD_ROWS + total, HARD_CHART[Math.max(total - 8, 0)]);
+		}
+		for (int total = 11; total <= 21; ++total) {
+			fillRow(SOFT_ROWS + total, SOFT_CHART[total - 11]);
+		}
+		for (int value = 1; value <= 10; ++value) {
+			fillRow(PAIR_ROWS + value, PAIR_CHART[value - 1]);
+		}
+	}
+
+	private static void fillRow(int row, String chartRow) {
+		String[] entries = chartRow.trim().split(" +");
+		for (int i = 0; i < entries.length; ++i) {
+			// columns are dealer cards from 2 to 10, then ace
+			int dealerCardValue = (i < 9) ? (i + 2) : 1;
+			int index = (row * NUM_COLUMNS) + dealerCardValue;
+			String entry = entries[i];
+			if (entry.equals("H")) {
+				TWO_CARD_ACTIONS[index] = PlayerStrategyAction.HIT;
+				ACTIONS[index] = PlayerStrategyAction.HIT;
+			} else if (entry.equals("S")) {
+				TWO_CARD_ACTIONS[index] = PlayerStrategyAction.STAND;
+				ACTIONS[index] = PlayerStrategyAction.STAND;
+			} else if (entry.equals("P")) {
+				TWO_CARD_ACTIONS[index] = PlayerStrategyAction.SPLIT;
+				ACTIONS[index] = PlayerStrategyAction.SPLIT;
+			} else if (entry.equals("Dh")) {
+				TWO_CARD_ACTIONS[index] = PlayerStrategyAction.DOUBLE_DOWN;
+				ACTIONS[index] = PlayerStrategyAction.HIT;
+			} else if (entry.equals("Ds")) {
+				TWO_CARD_ACTIONS[index] = PlayerStrategyAction.DOUBLE_DOWN;
+				ACTIONS[index] = PlayerStrategyAction.STAND;
+			} else {
+				throw new IllegalStateException("Invalid chart entry: " + entry);
+			}
+		}
+	}
+
 	protected Table joinedTable;
 	protected int minBet;
 
@@ -51,181 +164,20 @@ public class BasicPlayerStrategy implements PlayerStrategy {
 	}
 
 	public PlayerStrategyAction getAction(PlayerHand hand, Card dealerCard) {
-		// player has a pair
+		int row;
 		if (hand.isPair()) {
-			Card firstCard = hand.getCards().get(0);
-			if (firstCard.isAce()) {
-				return PlayerStrategyAction.SPLIT;
-			}
-
-			int firstCardValue = firstCard.getValue();
-			if ((firstCardValue == 2) || (firstCardValue == 3)) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue == 1) || (dealerCardValue >= 8)) {
-					return PlayerStrategyAction.HIT;
-				}
-				return PlayerStrategyAction.SPLIT;
-			}
-
-			if (firstCardValue == 4) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue == 5) || (dealerCardValue == 6)) {
-					return PlayerStrategyAction.SPLIT;
-				}
-				return PlayerStrategyAction.HIT;
-			}
-
-			if (firstCardValue == 5) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue == 1) || (dealerCardValue == 10)) {
-					return PlayerStrategyAction.HIT;
-				}
-				return PlayerStrategyAction.DOUBLE_DOWN;
-			}
-
-			if (firstCardValue == 6) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue >= 2) && (dealerCardValue <= 6)) {
-					return PlayerStrategyAction.SPLIT;
-				}
-				return PlayerStrategyAction.HIT;
-			}
-
-			if (firstCardValue == 7) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue >= 2) && (dealerCardValue <= 7)) {
-					return PlayerStrategyAction.SPLIT;
-				}
-				return PlayerStrategyAction.HIT;
-			}
-
-			if (firstCardValue == 8) {
-				return PlayerStrategyAction.SPLIT;
-			}
-
-			if (firstCardValue == 9) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue == 1) || (dealerCardValue == 7)
-				    || (dealerCardValue == 10)) {
-					return PlayerStrategyAction.STAND;
-				}
-				return PlayerStrategyAction.SPLIT;
-			}
-
-			if (firstCardValue == 10) {
-				return PlayerStrategyAction.STAND;
-			}
-		}
-
-		// player has a soft hand
-		if (hand.isSoft()) {
-			int playerHandValue = hand.getHighValidValue();
-			if (playerHandValue == 11) {
-				return PlayerStrategyAction.HIT;
-			}
-
-			if ((playerHandValue == 13) || (playerHandValue == 14)) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue == 5) || (dealerCardValue == 6)) {
-					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-					    : PlayerStrategyAction.HIT;
-				}
-				return PlayerStrategyAction.HIT;
-			}
-
-			if ((playerHandValue == 15) || (playerHandValue == 16)) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue >= 4) && (dealerCardValue <= 6)) {
-					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-					    : PlayerStrategyAction.HIT;
-				}
-				return PlayerStrategyAction.HIT;
-			}
-
-			if (playerHandValue == 17) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue >= 3) && (dealerCardValue <= 6)) {
-					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-					    : PlayerStrategyAction.HIT;
-				}
-				return PlayerStrategyAction.HIT;
-			}
-
-			if (playerHandValue == 18) {
-				int dealerCardValue = dealerCard.getValue();
-				if ((dealerCardValue >= 2) && (dealerCardValue <= 6)) {
-					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-					    : PlayerStrategyAction.STAND;
-				}
-				if ((dealerCardValue == 7) || (dealerCardValue == 8)) {
-					return PlayerStrategyAction.STAND;
-				}
-				return PlayerStrategyAction.HIT;
-			}
-
-			if (playerHandValue == 19) {
-				int dealerCardValue = dealerCard.getValue();
-				if (dealerCardValue == 6) {
-					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-					    : PlayerStrategyAction.STAND;
-				}
-				return PlayerStrategyAction.STAND;
-			}
-
-			// stand on 20 or 21
-			return PlayerStrategyAction.STAND;
+			row = PAIR_ROWS + hand.getCard(0).getValue();
+		} else if (hand.isSoft()) {
+			row = SOFT_ROWS + hand.getHighValidValue();
+		} else {
+			// a busted hand has no valid value, and is hit like the lowest hands
+			row = HARD_ROWS + Math.max(hand.getHighValidValue(), 0);
 		}
-
-		// any remaining hands
-		int playerHandValue = hand.getHighValidValue();
-		if (playerHandValue <= 8) {
-			return PlayerStrategyAction.HIT;
-		}
-
-		if (playerHandValue == 9) {
-			int dealerCardValue = dealerCard.getValue();
-			if ((dealerCardValue >= 3) && (dealerCardValue <= 6)) {
-				return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-				    : PlayerStrategyAction.HIT;
-			}
-			return PlayerStrategyAction.HIT;
+		int index = (row * NUM_COLUMNS) + dealerCard.getValue();
+		if (hand.getNumCards() == 2) {
+			return TWO_CARD_ACTIONS[index];
 		}
-
-		if (playerHandValue == 10) {
-			int dealerCardValue = dealerCard.getValue();
-			if ((dealerCardValue == 1) || (dealerCardValue == 10)) {
-				return PlayerStrategyAction.HIT;
-			}
-			return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-			    : PlayerStrategyAction.HIT;
-		}
-
-		if (playerHandValue == 11) {
-			return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
-			    : PlayerStrategyAction.HIT;
-		}
-
-		if (playerHandValue == 12) {
-			int dealerCardValue = dealerCard.getValue();
-			if ((dealerCardValue >= 4) && (dealerCardValue <= 6)) {
-				return PlayerStrategyAction.STAND;
-			}
-			return PlayerStrategyAction.HIT;
-		}
-
-		if ((playerHandValue >= 13) && (playerHandValue <= 16)) {
-			int dealerCardValue = dealerCard.getValue();
-			if ((dealerCardValue >= 2) && (dealerCardValue <= 6)) {
-				return PlayerStrategyAction.STAND;
-			}
-			return PlayerStrategyAction.HIT;
-		}
-
-		if ((playerHandValue >= 17) && (playerHandValue <= 21)) {
-			return PlayerStrategyAction.STAND;
-		}
-
-		return null;
+		return ACTIONS[index];
 	}
 
 	public void shoeShuffled() {
@@ -250,7 +202,7 @@ public class BasicPlayerStrategy implements PlayerStrategy {
 		minBet = 0;
 	}
 
-	public int getBet(int bankroll) {
+	public int getBet(long bankroll) {
 		return minBet;
 	}
 
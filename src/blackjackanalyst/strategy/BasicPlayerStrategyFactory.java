@@ -0,0 +1,39 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst.strategy;
+
+import blackjackanalyst.PlayerStrategy;
+import blackjackanalyst.PlayerStrategyFactory;
+
+/**
+ * Creates instances of {@link BasicPlayerStrategy}, named <code>basic</code>.
+ * 
+ * @author Michael Parker
+ */
+public class BasicPlayerStrategyFactory implements PlayerStrategyFactory {
+	public String getName() {
+		return "basic";
+	}
+
+	public PlayerStrategy createStrategy() {
+		return new BasicPlayerStrategy();
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst.strategy;
+
+import blackjackanalyst.Card;
+import blackjackanalyst.Card.Rank;
+
+/**
+ * A card counting system, which assigns a tag to each card rank. The running
+ * count is the sum of the tags of the cards dealt since the shoe was shuffled.
+ * <p>
+ * Tags are stored as integers. Systems with fractional tags, such as Wong
+ * Halves, store each tag multiplied by the scale of the system, and the true
+ * count is divided by the scale.
+ * 
+ * @author Michael Parker
+ */
+public enum CountSystem {
+	/**
+	 * The hi-lo system, a balanced level one count.
+	 */
+	HI_LO(1, 0, 1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1, -1),
+
+	/**
+	 * The Knock-Out system, an unbalanced level one count.
+	 */
+	KO(1, 0, 1, 1, 1, 1, 1, 1, 0, 0, -1, -1, -1, -1, -1),
+
+	/**
+	 * The Hi-Opt I system, a balanced level one count that does not count aces.
+	 */
+	HI_OPT_I(1, 1, 0, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1, 0),
+
+	/**
+	 * The Hi-Opt II system, a balanced level two count that does not count aces.
+	 */
+	HI_OPT_II(1, 2, 1, 1, 2, 2, 1, 1, 0, 0, -2, -2, -2, -2, 0),
+
+	/**
+	 * The Omega II system, a balanced level two count that does not count aces.
+	 */
+	OMEGA_II(1, 2, 1, 1, 2, 2, 2, 1, 0, -1, -2, -2, -2, -2, 0),
+
+	/**
+	 * The Zen count, a balanced level two count.
+	 */
+	ZEN(1, 0, 1, 1, 2, 2, 2, 1, 0, 0, -2, -2, -2, -2, -1),
+
+	/**
+	 * The Wong Halves system, a balanced level three count with half-point tags.
+	 */
+	WONG_HALVES(2, 0, 1, 2, 2, 3, 2, 1, 0, -1, -2, -2, -2, -2, -2);
+
+	private final int scale;
+	private final int aceSideCountWeight;
+	private final int[] tags;
+	private final int deckImbalance;
+
+	/*
+	 * Creates a count system with the given scale, side count weight, and tags of
+	 * the ranks from two to king, then ace, multiplied by the scale.
+	 */
+	private CountSystem(int scale, int aceSideCountWeight, int... tags) {
+		this.scale = scale;
+		this.aceSideCountWeight = aceSideCountWeight;
+		this.tags = tags;
+
+		int imbalance = 0;
+		for (int tag : tags) {
+			imbalance += tag;
+		}
+		deckImbalance = imbalance * Card.NUM_CARD_SUITS;
+	}
+
+	/**
+	 * Returns the tag of the given rank, multiplied by the scale of the system.
+	 * 
+	 * @param rank the rank of a card
+	 * @return the tag of the rank
+	 */
+	public int getTag(Rank rank) {
+		return tags[rank.ordinal()];
+	}
+
+	/*
+	 * Returns the tags of all ranks, indexed by the ordinal of the rank and
+	 * multiplied by the scale of the system. The returned array must not be
+	 * modified.
+	 */
+	int[] getTags() {
+		return tags;
+	}
+
+	/**
+	 * Returns the number by which each tag is multiplied, which is {@code 1}
+	 * unless the system has fractional tags.
+	 * 
+	 * @return the scale of the tags
+	 */
+	public int getScale() {
+		return scale;
+	}
+
+	/**
+	 * Returns the running count, multiplied by the scale of the system, after
+	 * counting a full deck. This is {@code 0} for a balanced system.
+	 * 
+	 * @return the imbalance of a deck
+	 */
+	public int getDeckImbalance() {
+		return deckImbalance;
+	}
+
+	/**
+	 * Returns whether the running count after counting a full deck is
+	 * {@code 0}.
+	 * 
+	 * @return {@code true} if the system is balanced, {@code false} otherwise
+	 */
+	public boolean isBalanced() {
+		return (deckImbalance == 0);
+	}
+
+	/**
+	 * Returns whether the system can be used with a side count of aces, which is
+	 * true for systems that do not count aces.
+	 * 
+	 * @return {@code true} if the system supports an ace side count,
+	 *         {@code false} otherwise
+	 */
+	public boolean supportsAceSideCount() {
+		return (aceSideCountWeight != 0);
+	}
+
+	/**
+	 * Returns the amount added to the running count, multiplied by the scale of
+	 * the system, for each ace remaining in the shoe beyond the number expected.
+	 * This is {@code 0} if the system does not support an ace side count.
+	 * 
+	 * @return the weight of each surplus ace
+	 */
+	public int getAceSideCountWeight() {
+		return aceSideCountWeight;
+	}
+}
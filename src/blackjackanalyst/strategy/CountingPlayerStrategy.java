@@ -0,0 +1,185 @@
+/*
+ * Copyright Michael Parker (michael.g.parker@gmail.com).
+ * 
+ * This file is part of Blackjack Analyst.
+ * 
+ * Blackjack Analyst is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any
+ * later version.
+ * 
+ * Blackjack Analyst is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * Blackjack Analyst; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package blackjackanalyst.strategy;
+
+import blackjackanalyst.Card;
+import blackjackanalyst.Card.Rank;
+import blackjackanalyst.PlayerHand;
+import blackjackanalyst.ShoeComposition;
+import blackjackanalyst.Table;
+
+/**
+ * A player that abides by the principles of {@link BasicPlayerStrategy}.
+ * Additionally, this player counts cards using a given {@link CountSystem} and
+ * a true count (TC), and adjusts his bet accordingly:
+ * 
+ * <ul>
+ * <li>TC +1 or lower: initial bet</li>
+ * <li>TC +2: 2x initial bet</li>
+ * <li>TC +3: 3x initial bet</li>
+ * <li>TC +4: 5x initial bet</li>
+ * <li>TC greater than +4: 10x initial bet</li>
+ * </ul>
+ * 
+ * The player takes insurance when the true count is +3 or higher. The true
+ * count is the running count divided by the number of decks remaining in the
+ * shoe of the joined table. For an unbalanced system, the imbalance of the
+ * cards dealt is first subtracted from the running count, so that the same
+ * betting ramp applies to every system. If the player keeps a side count of
+ * aces, the running count is adjusted by the surplus or deficit of aces
+ * remaining before computing the true count.
+ * <p>
+ * The player does not count the cards itself, but reads the running count
+ * from the {@link ShoeComposition} of the joined table, which is shared by all
+ * players at the table using the same count system. Until the player joins a
+ * table, the true count is {@code 0}.
+ * 
+ * @author Michael Parker
+ */
+public class CountingPlayerStrategy extends BasicPlayerStrategy {
+	protected final CountSystem countSystem;
+	protected final boolean aceSideCount;
+
+	protected ShoeComposition composition;
+	// the index of the running count of this system in the composition
+	protected int countIndex;
+
+	/**
+	 * Creates a player that counts cards with the given system, without a side
+	 * count of aces.
+	 * 
+	 * @param countSystem the card counting system
+	 */
+	public CountingPlayerStrategy(CountSystem countSystem) {
+		this(countSystem, false);
+	}
+
+	/**
+	 * Creates a player that counts cards with the given system, and keeps a side
+	 * count of aces if {@code aceSideCount} is {@code true}.
+	 * 
+	 * @param countSystem the card counting system
+	 * @param aceSideCount whether to keep a side count of aces
+	 */
+	public CountingPlayerStrategy(CountSystem countSystem, boolean aceSideCount) {
+		super();
+
+		if (countSystem == null) {
+			throw new IllegalArgumentException("Count system must be provided");
+		}
+		if (aceSideCount && !countSystem.supportsAceSideCount()) {
+			throw new IllegalArgumentException("Count system " + countSystem
+			    + " does not support an ace side count");
+		}
+		this.countSystem = countSystem;
+		this.aceSideCount = aceSideCount;
+
+		composition = null;
+		countIndex = -1;
+	}
+
+	/**
+	 * Returns the card counting system used by this player.
+	 * 
+	 * @return the card counting system
+	 */
+	public CountSystem getCountSystem() {
+		return countSystem;
+	}
+
+	/**
+	 * Returns whether this player keeps a side count of aces.
+	 * 
+	 * @return {@code true} if this player keeps a side count of aces,
+	 *         {@code false} otherwise
+	 */
+	public boolean hasAceSideCount() {
+		return aceSideCount;
+	}
+
+	public void joinedTable(Table table) {
+		super.joinedTable(table);
+		if (joinedTable == table) {
+			composition = table.getComposition();
+			countIndex = composition.addCount(countSystem.getTags());
+		}
+	}
+
+	public void leftTable(Table table) {
+		super.leftTable(table);
+		if (joinedTable == null) {
+			composition = null;
+			countIndex = -1;
+		}
+	}
+
+	/**
+	 * Returns the true count, which is the running count per deck remaining in
+	 * the shoe. The true count is zero if the table deals from an infinite deck.
+	 * 
+	 * @return the true count
+	 */
+	public float getTrueCount() {
+		if ((composition == null) || composition.isInfinite()) {
+			return 0f;
+		}
+
+		// the count per card remaining, multiplied by the cards per deck
+		int cardsRemaining = composition.getCardsRemaining();
+		int count = composition.getRunningCount(countIndex) * Card.CARDS_PER_DECK;
+		if (!countSystem.isBalanced()) {
+			count -= countSystem.getDeckImbalance() * composition.getCardsDealt();
+		}
+		if (aceSideCount) {
+			// each deck remaining is expected to hold four aces
+			int acesRemaining = composition.getRemaining(Rank.ACE);
+			int surplusAces = (acesRemaining * Card.CARDS_PER_DECK)
+			    - (Card.NUM_CARD_SUITS * cardsRemaining);
+			count += countSystem.getAceSideCountWeight() * surplusAces;
+		}
+		float trueCount = count / ((float) cardsRemaining);
+		return trueCount / countSystem.getScale();
+	}
+
+	public int getBet(long bankroll) {
+		// get the true count and bet accordingly
+		float trueCount = getTrueCount();
+
+		if (trueCount <= 1f) {
+			return minBet;
+		}
+		if (trueCount <= 2f) {
+			return (2 * minBet);
+		}
+		if (trueCount <= 3f) {
+			return (3 * minBet);
+		}
+		if (trueCount <= 4f) {
+			return (5 * minBet);
+		}
+		return (10 * minBet);
+	}
+
+	public int getInsuranceBet(PlayerHand hand, int betAmount) {
+		// get the true count and bet accordingly
+		return (getTrueCount() >= 3f) ? (betAmount / 2) : 0;
+	}
+}
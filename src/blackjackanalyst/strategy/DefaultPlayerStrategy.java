@@ -21,8 +21,8 @@
 package blackjackanalyst.strategy;
 
 import blackjackanalyst.Card;
+import blackjackanalyst.CompositionPlayerStrategy;
 import blackjackanalyst.PlayerHand;
-import blackjackanalyst.PlayerStrategy;
 import blackjackanalyst.Table;
 
 /**
@@ -31,7 +31,7 @@ import blackjackanalyst.Table;
  * 
  * @author Michael Parker
  */
-public class DefaultPlayerStrategy implements PlayerStrategy {
+public class DefaultPlayerStrategy implements CompositionPlayerStrategy {
 	protected Table joinedTable;
 	protected int betAmount;
 
@@ -70,7 +70,7 @@ public class DefaultPlayerStrategy implements PlayerStrategy {
 		betAmount = 0;
 	}
 
-	public int getBet(int bankroll) {
+	public int getBet(long bankroll) {
 		return betAmount;
 	}
 
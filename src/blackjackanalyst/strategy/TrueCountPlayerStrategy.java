@@ -20,9 +20,6 @@
 
 package blackjackanalyst.strategy;
 
-import blackjackanalyst.Card;
-import blackjackanalyst.PlayerHand;
-
 /**
  * A player that abides by the principles of {@link BasicPlayerStrategy}.
  * Additionally, this player counts cards using the hi-lo system and a true
@@ -36,58 +33,12 @@ import blackjackanalyst.PlayerHand;
  * <li>TC greater than +4: 10x initial bet</li>
  * </ul>
  * 
+ * This is a {@link CountingPlayerStrategy} using {@link CountSystem#HI_LO}.
+ * 
  * @author Michael Parker
  */
-public class TrueCountPlayerStrategy extends BasicPlayerStrategy {
-	protected int cardsRemaining;
-	protected int rawCount;
-
+public class TrueCountPlayerStrategy extends CountingPlayerStrategy {
 	public TrueCountPlayerStrategy() {
-		super();
-
-		cardsRemaining = 8 * Card.CARDS_PER_DECK;
-		rawCount = 0;
-	}
-
-	public void shoeShuffled() {
-		cardsRemaining = 8 * Card.CARDS_PER_DECK;
-		rawCount = 0;
-	}
-
-	public void cardDealt(Card dealtCard) {
-		// decrement cards remaining
-		--cardsRemaining;
-		// adjust count accordingly
-		if (dealtCard.isAce() || (dealtCard.getValue() == 10)) {
-			--rawCount;
-		} else if ((dealtCard.getValue() >= 2) && (dealtCard.getValue() <= 6)) {
-			++rawCount;
-		}
-	}
-
-	public int getBet(int bankroll) {
-		// get the true count and bet accordingly
-		float trueCount = (rawCount * Card.CARDS_PER_DECK) / ((float) cardsRemaining);
-
-		if (trueCount <= 1f) {
-			return minBet;
-		}
-		if (trueCount <= 2f) {
-			return (2 * minBet);
-		}
-		if (trueCount <= 3f) {
-			return (3 * minBet);
-		}
-		if (trueCount <= 4f) {
-			return (5 * minBet);
-		}
-		return (10 * minBet);
-	}
-
-	public int getInsuranceBet(PlayerHand hand, int betAmount) {
-		// get the true count and bet accordingly
-		float tc = (rawCount * Card.CARDS_PER_DECK) / ((float) cardsRemaining);
-
-		return (tc >= 3f) ? (betAmount / 2) : 0;
+		super(CountSystem.HI_LO);
 	}
 }
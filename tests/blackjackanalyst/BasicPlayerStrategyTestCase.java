@@ -0,0 +1,249 @@
+package blackjackanalyst;
+
+import junit.framework.TestCase;
+import blackjackanalyst.Card.Rank;
+import blackjackanalyst.Card.Suit;
+import blackjackanalyst.PlayerStrategy.PlayerStrategyAction;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+
+/**
+ * Test for {@link BasicPlayerStrategy}.
+ */
+public class BasicPlayerStrategyTestCase extends TestCase {
+	private static final int MAX_CARDS = 6;
+
+	private final BasicPlayerStrategy strategy = new BasicPlayerStrategy();
+	private final Card[] cardsByValue = new Card[11];
+	private final Card[] dealerCards = new Card[10];
+
+	protected void setUp() {
+		// Use one card of each value; the suit and face do not affect the action.
+		for (Rank rank : Rank.values()) {
+			Card card = Card.getCard(rank, Suit.SPADES);
+			if (cardsByValue[card.getValue()] == null) {
+				cardsByValue[card.getValue()] = card;
+			}
+		}
+		for (int value = 1; value <= 10; ++value) {
+			dealerCards[value - 1] = cardsByValue[value];
+		}
+	}
+
+	public void testAllHands() {
+		// Every sequence of up to six card values, ending at the first bust.
+		Card[] cards = new Card[MAX_CARDS];
+		assertEquals(236500, checkHands(cards, 0));
+	}
+
+	/*
+	 * Compares the actions for every hand that begins with the given cards,
+	 * and returns the number of hands compared.
+	 */
+	private int checkHands(Card[] cards, int numCards) {
+		int numHands = 0;
+		if (numCards > 0) {
+			PlayerHand hand = new PlayerHand(10, false, null);
+			for (int i = 0; i < numCards; ++i) {
+				hand.add(cards[i]);
+			}
+			for (Card dealerCard : dealerCards) {
+				assertEquals(hand.getCards() + " against " + dealerCard,
+				    getExpectedAction(hand, dealerCard), strategy.getAction(hand,
+				        dealerCard));
+			}
+			++numHands;
+			if (hand.isBusted()) {
+				return numHands;
+			}
+		}
+		if (numCards < MAX_CARDS) {
+			for (int value = 1; value <= 10; ++value) {
+				cards[numCards] = cardsByValue[value];
+				numHands += checkHands(cards, numCards + 1);
+			}
+		}
+		return numHands;
+	}
+
+	/*
+	 * The branches of BasicPlayerStrategy before its actions were precomputed.
+	 */
+	private static PlayerStrategyAction getExpectedAction(PlayerHand hand,
+	    Card dealerCard) {
+		// player has a pair
+		if (hand.isPair()) {
+			Card firstCard = hand.getCards().get(0);
+			if (firstCard.isAce()) {
+				return PlayerStrategyAction.SPLIT;
+			}
+
+			int firstCardValue = firstCard.getValue();
+			if ((firstCardValue == 2) || (firstCardValue == 3)) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue == 1) || (dealerCardValue >= 8)) {
+					return PlayerStrategyAction.HIT;
+				}
+				return PlayerStrategyAction.SPLIT;
+			}
+
+			if (firstCardValue == 4) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue == 5) || (dealerCardValue == 6)) {
+					return PlayerStrategyAction.SPLIT;
+				}
+				return PlayerStrategyAction.HIT;
+			}
+
+			if (firstCardValue == 5) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue == 1) || (dealerCardValue == 10)) {
+					return PlayerStrategyAction.HIT;
+				}
+				return PlayerStrategyAction.DOUBLE_DOWN;
+			}
+
+			if (firstCardValue == 6) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue >= 2) && (dealerCardValue <= 6)) {
+					return PlayerStrategyAction.SPLIT;
+				}
+				return PlayerStrategyAction.HIT;
+			}
+
+			if (firstCardValue == 7) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue >= 2) && (dealerCardValue <= 7)) {
+					return PlayerStrategyAction.SPLIT;
+				}
+				return PlayerStrategyAction.HIT;
+			}
+
+			if (firstCardValue == 8) {
+				return PlayerStrategyAction.SPLIT;
+			}
+
+			if (firstCardValue == 9) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue == 1) || (dealerCardValue == 7)
+				    || (dealerCardValue == 10)) {
+					return PlayerStrategyAction.STAND;
+				}
+				return PlayerStrategyAction.SPLIT;
+			}
+
+			if (firstCardValue == 10) {
+				return PlayerStrategyAction.STAND;
+			}
+		}
+
+		// player has a soft hand
+		if (hand.isSoft()) {
+			int playerHandValue = hand.getHighValidValue();
+			if (playerHandValue == 11) {
+				return PlayerStrategyAction.HIT;
+			}
+
+			if ((playerHandValue == 13) || (playerHandValue == 14)) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue == 5) || (dealerCardValue == 6)) {
+					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+					    : PlayerStrategyAction.HIT;
+				}
+				return PlayerStrategyAction.HIT;
+			}
+
+			if ((playerHandValue == 15) || (playerHandValue == 16)) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue >= 4) && (dealerCardValue <= 6)) {
+					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+					    : PlayerStrategyAction.HIT;
+				}
+				return PlayerStrategyAction.HIT;
+			}
+
+			if (playerHandValue == 17) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue >= 3) && (dealerCardValue <= 6)) {
+					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+					    : PlayerStrategyAction.HIT;
+				}
+				return PlayerStrategyAction.HIT;
+			}
+
+			if (playerHandValue == 18) {
+				int dealerCardValue = dealerCard.getValue();
+				if ((dealerCardValue >= 2) && (dealerCardValue <= 6)) {
+					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+					    : PlayerStrategyAction.STAND;
+				}
+				if ((dealerCardValue == 7) || (dealerCardValue == 8)) {
+					return PlayerStrategyAction.STAND;
+				}
+				return PlayerStrategyAction.HIT;
+			}
+
+			if (playerHandValue == 19) {
+				int dealerCardValue = dealerCard.getValue();
+				if (dealerCardValue == 6) {
+					return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+					    : PlayerStrategyAction.STAND;
+				}
+				return PlayerStrategyAction.STAND;
+			}
+
+			// stand on 20 or 21
+			return PlayerStrategyAction.STAND;
+		}
+
+		// any remaining hands
+		int playerHandValue = hand.getHighValidValue();
+		if (playerHandValue <= 8) {
+			return PlayerStrategyAction.HIT;
+		}
+
+		if (playerHandValue == 9) {
+			int dealerCardValue = dealerCard.getValue();
+			if ((dealerCardValue >= 3) && (dealerCardValue <= 6)) {
+				return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+				    : PlayerStrategyAction.HIT;
+			}
+			return PlayerStrategyAction.HIT;
+		}
+
+		if (playerHandValue == 10) {
+			int dealerCardValue = dealerCard.getValue();
+			if ((dealerCardValue == 1) || (dealerCardValue == 10)) {
+				return PlayerStrategyAction.HIT;
+			}
+			return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+			    : PlayerStrategyAction.HIT;
+		}
+
+		if (playerHandValue == 11) {
+			return (hand.getCards().size() == 2) ? PlayerStrategyAction.DOUBLE_DOWN
+			    : PlayerStrategyAction.HIT;
+		}
+
+		if (playerHandValue == 12) {
+			int dealerCardValue = dealerCard.getValue();
+			if ((dealerCardValue >= 4) && (dealerCardValue <= 6)) {
+				return PlayerStrategyAction.STAND;
+			}
+			return PlayerStrategyAction.HIT;
+		}
+
+		if ((playerHandValue >= 13) && (playerHandValue <= 16)) {
+			int dealerCardValue = dealerCard.getValue();
+			if ((dealerCardValue >= 2) && (dealerCardValue <= 6)) {
+				return PlayerStrategyAction.STAND;
+			}
+			return PlayerStrategyAction.HIT;
+		}
+
+		if ((playerHandValue >= 17) && (playerHandValue <= 21)) {
+			return PlayerStrategyAction.STAND;
+		}
+
+		return null;
+	}
+}
@@ -31,4 +31,17 @@ public class CardTestCase extends TestCase {
 			}
 		}
 	}
+
+	public void testCardIdLookups() {
+		for (Suit suit : Card.Suit.values()) {
+			for (Rank rank : Card.Rank.values()) {
+				Card card = Card.getCard(rank, suit);
+				int cardId = card.getID();
+				assertSame(card, Card.getCard(cardId));
+				assertEquals(card.getValue(), Card.getValue(cardId));
+				assertEquals(card.isAce(), Card.isAce(cardId));
+				assertEquals(rank.ordinal(), Card.getRankOrdinal(cardId));
+			}
+		}
+	}
 }
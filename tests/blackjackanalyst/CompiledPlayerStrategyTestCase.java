@@ -0,0 +1,96 @@
+package blackjackanalyst;
+
+import java.io.File;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+import blackjackanalyst.Card.Rank;
+import blackjackanalyst.Card.Suit;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+
+/**
+ * Test for {@link CompiledPlayerStrategy}.
+ */
+public class CompiledPlayerStrategyTestCase extends TestCase {
+	private static final int MAX_CARDS = 5;
+
+	private final Card[] cardsByValue = new Card[11];
+
+	protected void setUp() {
+		for (Rank rank : Rank.values()) {
+			Card card = Card.getCard(rank, Suit.HEARTS);
+			if (cardsByValue[card.getValue()] == null) {
+				cardsByValue[card.getValue()] = card;
+			}
+		}
+	}
+
+	public void testCompile() {
+		PlayerStrategy strategy = new BasicPlayerStrategy();
+		CompiledPlayerStrategy compiled = CompiledPlayerStrategy.compile(strategy);
+		assertSame(strategy, compiled.getDelegate());
+		checkHands(strategy, compiled, new Card[MAX_CARDS], 0);
+	}
+
+	public void testSaveAndLoad() throws IOException {
+		PlayerStrategy strategy = new BasicPlayerStrategy();
+		File file = File.createTempFile("strategy", ".bin");
+		try {
+			CompiledPlayerStrategy.compile(strategy).save(file);
+			CompiledPlayerStrategy loaded = CompiledPlayerStrategy.load(file,
+			    strategy);
+			checkHands(strategy, loaded, new Card[MAX_CARDS], 0);
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testStateDependentStrategy() {
+		// This strategy depends on the number of cards beyond two.
+		PlayerStrategy strategy = new BasicPlayerStrategy() {
+			public PlayerStrategyAction getAction(PlayerHand hand, Card dealerCard) {
+				return (hand.getNumCards() < 4) ? PlayerStrategyAction.HIT
+				    : PlayerStrategyAction.STAND;
+			}
+		};
+		try {
+			CompiledPlayerStrategy.compile(strategy);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	/*
+	 * Compares the actions for every hand that begins with the given cards.
+	 */
+	private void checkHands(PlayerStrategy strategy,
+	    CompiledPlayerStrategy compiled, Card[] cards, int numCards) {
+		if (numCards > 0) {
+			// compare both the hand that was split and the hand that was not
+			boolean busted = false;
+			for (int split = 0; split < 2; ++split) {
+				PlayerHand hand = new PlayerHand(10, split == 1, null);
+				for (int i = 0; i < numCards; ++i) {
+					hand.add(cards[i]);
+				}
+				for (int value = 1; value <= 10; ++value) {
+					Card dealerCard = cardsByValue[value];
+					assertEquals(hand.getCards() + " against " + dealerCard
+					    + ((split == 1) ? " after split" : ""), strategy.getAction(
+					    hand, dealerCard), compiled.getAction(hand, dealerCard));
+				}
+				busted = hand.isBusted();
+			}
+			if (busted) {
+				return;
+			}
+		}
+		if (numCards < cards.length) {
+			for (int value = 1; value <= 10; ++value) {
+				cards[numCards] = cardsByValue[value];
+				checkHands(strategy, compiled, cards, numCards + 1);
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package blackjackanalyst;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+import blackjackanalyst.observer.ConsoleTableObserver;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+
+/**
+ * Stress test of the static state shared by tables and players created and
+ * played on different threads.
+ */
+public class ConcurrencyTestCase extends TestCase {
+	private static final int NUM_THREADS = 8;
+	private static final int TABLES_PER_THREAD = 50;
+	private static final int NUM_ROUNDS = 200;
+	private static final long SEED = 23;
+
+	/*
+	 * Creates tables and players, plays each table seeded by its index, and
+	 * returns the names of the tables, the names of the players, and the
+	 * bankroll of each player.
+	 */
+	private static class TableTask implements Callable<List<String>> {
+		private final int thread;
+		private final CyclicBarrier barrier;
+
+		TableTask(int thread, CyclicBarrier barrier) {
+			this.thread = thread;
+			this.barrier = barrier;
+		}
+
+		public List<String> call() throws Exception {
+			// start all threads at once to maximize contention
+			barrier.await();
+
+			List<String> results = new ArrayList<String>();
+			for (int i = 0; i < TABLES_PER_THREAD; ++i) {
+				Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+				Player player = new Player(new BasicPlayerStrategy(), 100000);
+				table.addPlayer(player);
+				assertSame(ConsoleTableObserver.getInstance(), ConsoleTableObserver
+				    .getInstance());
+				assertSame(MersenneTwister.getInstance(), MersenneTwister
+				    .getInstance());
+
+				int tableIndex = (thread * TABLES_PER_THREAD) + i;
+				table.setSeed(SEED, tableIndex);
+				table.playRounds(NUM_ROUNDS);
+				results.add(table.getName());
+				results.add(player.getName());
+				results.add(tableIndex + ":" + player.getBankroll());
+			}
+			return results;
+		}
+	}
+
+	private static List<List<String>> runTasks(int numThreads)
+	    throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			CyclicBarrier barrier = new CyclicBarrier(numThreads);
+			List<Future<List<String>>> futures = new ArrayList<Future<List<String>>>();
+			for (int i = 0; i < numThreads; ++i) {
+				futures.add(executor.submit(new TableTask(i, barrier)));
+			}
+			List<List<String>> results = new ArrayList<List<String>>();
+			for (Future<List<String>> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public void testConcurrentTables() throws Exception {
+		List<List<String>> results = runTasks(NUM_THREADS);
+
+		Set<String> tableNames = new HashSet<String>();
+		Set<String> playerNames = new HashSet<String>();
+		Set<String> bankrolls = new HashSet<String>();
+		for (List<String> threadResults : results) {
+			for (int i = 0; i < threadResults.size(); i += 3) {
+				tableNames.add(threadResults.get(i));
+				playerNames.add(threadResults.get(i + 1));
+				bankrolls.add(threadResults.get(i + 2));
+			}
+		}
+		// Every table and player created concurrently has a distinct number.
+		int numTables = NUM_THREADS * TABLES_PER_THREAD;
+		assertEquals(numTables, tableNames.size());
+		assertEquals(numTables, playerNames.size());
+
+		// Each table deals the same cards as when played on its own.
+		for (int thread = 0; thread < NUM_THREADS; ++thread) {
+			Set<String> expected = new HashSet<String>();
+			for (int i = 0; i < TABLES_PER_THREAD; ++i) {
+				Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+				Player player = new Player(new BasicPlayerStrategy(), 100000);
+				table.addPlayer(player);
+				int tableIndex = (thread * TABLES_PER_THREAD) + i;
+				table.setSeed(SEED, tableIndex);
+				table.playRounds(NUM_ROUNDS);
+				expected.add(tableIndex + ":" + player.getBankroll());
+			}
+			assertTrue(bankrolls.containsAll(expected));
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package blackjackanalyst;
+
+import junit.framework.TestCase;
+import blackjackanalyst.Card.Rank;
+import blackjackanalyst.Card.Suit;
+import blackjackanalyst.strategy.CountSystem;
+import blackjackanalyst.strategy.CountingPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+
+/**
+ * Test for {@link CountSystem} and the true count of
+ * {@link CountingPlayerStrategy}.
+ */
+public class CountSystemTestCase extends TestCase {
+	/*
+	 * The published tags of each system for the ranks from two to nine, then
+	 * ten and face cards, then ace.
+	 */
+	private static final double[][] TAGS = {
+	    { 1, 1, 1, 1, 1, 0, 0, 0, -1, -1 }, // hi-lo
+	    { 1, 1, 1, 1, 1, 1, 0, 0, -1, -1 }, // KO
+	    { 0, 1, 1, 1, 1, 0, 0, 0, -1, 0 }, // Hi-Opt I
+	    { 1, 1, 2, 2, 1, 1, 0, 0, -2, 0 }, // Hi-Opt II
+	    { 1, 1, 2, 2, 2, 1, 0, -1, -2, 0 }, // Omega II
+	    { 1, 1, 2, 2, 2, 1, 0, 0, -2, -1 }, // Zen
+	    { 0.5, 1, 1, 1.5, 1, 0.5, 0, -0.5, -1, -1 } // Wong Halves
+	};
+
+	private static final double EPSILON = 1e-4;
+
+	public void testTags() {
+		CountSystem[] systems = CountSystem.values();
+		assertEquals(TAGS.length, systems.length);
+		for (int i = 0; i < systems.length; ++i) {
+			CountSystem system = systems[i];
+			int deckCount = 0;
+			for (Rank rank : Rank.values()) {
+				int value = Card.getCard(rank, Suit.SPADES).getValue();
+				double expected = TAGS[i][(value == 1) ? 9 : value - 2];
+				double tag = (double) system.getTag(rank) / system.getScale();
+				assertEquals(system + " " + rank, expected, tag, 0);
+				deckCount += system.getTag(rank) * Card.NUM_CARD_SUITS;
+			}
+			assertEquals(deckCount, system.getDeckImbalance());
+			assertEquals(system != CountSystem.KO, system.isBalanced());
+			assertEquals((system == CountSystem.HI_OPT_I)
+			    || (system == CountSystem.HI_OPT_II)
+			    || (system == CountSystem.OMEGA_II), system.supportsAceSideCount());
+		}
+		// KO counts one more card per suit than it discounts
+		assertEquals(4, CountSystem.KO.getDeckImbalance());
+	}
+
+	/*
+	 * Returns a counting strategy seated at the given table.
+	 */
+	private static CountingPlayerStrategy join(Table table, CountSystem system,
+	    boolean aceSideCount) {
+		CountingPlayerStrategy strategy = new CountingPlayerStrategy(system,
+		    aceSideCount);
+		table.addPlayer(new Player(strategy));
+		return strategy;
+	}
+
+	/*
+	 * Reveals a card of each given rank at the given table.
+	 */
+	private static void deal(Table table, Rank... ranks) {
+		ShoeComposition composition = table.getComposition();
+		for (Rank rank : ranks) {
+			composition.cardDealt(Card.getCard(rank, Suit.HEARTS).getID());
+		}
+	}
+
+	public void testTrueCount() {
+		// a running count of +5 with 411 of 416 cards remaining
+		Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		CountingPlayerStrategy strategy = join(table, CountSystem.HI_LO, false);
+		assertEquals(0f, strategy.getTrueCount(), 0);
+		deal(table, Rank.TWO, Rank.THREE, Rank.FOUR, Rank.FIVE, Rank.SIX);
+		assertEquals(5 / (411 / 52.0), strategy.getTrueCount(), EPSILON);
+		deal(table, Rank.KING, Rank.ACE, Rank.SEVEN);
+		assertEquals(3 / (408 / 52.0), strategy.getTrueCount(), EPSILON);
+
+		// the imbalance of the cards dealt is subtracted from an unbalanced count
+		table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		strategy = join(table, CountSystem.KO, false);
+		deal(table, Rank.TWO, Rank.THREE, Rank.FOUR, Rank.FIVE, Rank.SIX);
+		assertEquals((5 - 4 * 5 / 52.0) / (411 / 52.0), strategy.getTrueCount(),
+		    EPSILON);
+
+		// fractional tags are divided by the scale
+		table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		strategy = join(table, CountSystem.WONG_HALVES, false);
+		deal(table, Rank.FIVE, Rank.NINE, Rank.TWO);
+		assertEquals(1.5 / (413 / 52.0), strategy.getTrueCount(), EPSILON);
+
+		// each surplus ace remaining adds the weight of the system
+		table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		strategy = join(table, CountSystem.HI_OPT_II, true);
+		deal(table, Rank.TEN, Rank.TEN, Rank.QUEEN, Rank.FOUR);
+		double decksRemaining = 412 / 52.0;
+		double surplusAces = 32 - 4 * decksRemaining;
+		assertEquals((-4 + 2 * surplusAces) / decksRemaining, strategy
+		    .getTrueCount(), EPSILON);
+	}
+
+	public void testTrueCountNearEndOfShoe() {
+		Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		CountingPlayerStrategy hiLo = join(table, CountSystem.HI_LO, false);
+		CountingPlayerStrategy zen = join(table, CountSystem.ZEN, false);
+		ShoeComposition composition = table.getComposition();
+
+		// deal every card except two aces and a king
+		int numDecks = composition.getNumDecks();
+		for (int cardId = 0; cardId < Card.CARDS_PER_DECK; ++cardId) {
+			Rank rank = Card.getCard(cardId).getRank();
+			Suit suit = Card.getCard(cardId).getSuit();
+			int numDealt = numDecks;
+			if ((rank == Rank.ACE)
+			    && ((suit == Suit.SPADES) || (suit == Suit.HEARTS))) {
+				--numDealt;
+			} else if ((rank == Rank.KING) && (suit == Suit.SPADES)) {
+				--numDealt;
+			}
+			for (int i = 0; i < numDealt; ++i) {
+				composition.cardDealt(cardId);
+			}
+		}
+		assertEquals(3, composition.getCardsRemaining());
+
+		// the running count is minus the tags of the cards remaining, and a
+		// fraction of a deck remains
+		assertEquals(3 / (3 / 52.0), hiLo.getTrueCount(), EPSILON);
+		assertEquals(4 / (3 / 52.0), zen.getTrueCount(), EPSILON);
+
+		composition.cardDealt(Card.getCard(Rank.KING, Suit.SPADES).getID());
+		assertEquals(2 / (2 / 52.0), hiLo.getTrueCount(), EPSILON);
+		assertEquals(2 / (2 / 52.0), zen.getTrueCount(), EPSILON);
+	}
+}
@@ -0,0 +1,70 @@
+package blackjackanalyst;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import blackjackanalyst.observer.LongHistogram;
+
+/**
+ * Test for {@link LongHistogram}.
+ */
+public class LongHistogramTestCase extends TestCase {
+	public void testSmallValuesAreExact() {
+		LongHistogram histogram = new LongHistogram();
+		for (int value = -100; value < 100; ++value) {
+			histogram.record(value);
+		}
+		assertEquals(200, histogram.getCount());
+		assertEquals(-100, histogram.getMin());
+		assertEquals(99, histogram.getMax());
+		assertEquals(-100, histogram.getValueAtQuantile(0));
+		assertEquals(-99, histogram.getValueAtQuantile(0.01));
+		assertEquals(-1, histogram.getValueAtQuantile(0.5));
+		assertEquals(99, histogram.getValueAtQuantile(1));
+		assertEquals(-0.5, histogram.getMean(), 1e-12);
+	}
+
+	public void testRelativeError() {
+		LongHistogram histogram = new LongHistogram(2);
+		MersenneTwisterFast random = new MersenneTwisterFast(3);
+		long[] values = new long[10000];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = random.nextLong() >> random.nextBoundedInt(64);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		double[] quantiles = { 0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99 };
+		for (double quantile : quantiles) {
+			long expected = values[(int) Math.ceil(quantile * values.length) - 1];
+			long actual = histogram.getValueAtQuantile(quantile);
+			assertEquals(expected, actual, Math.abs(expected) / 100.0 + 1);
+		}
+	}
+
+	public void testMerge() {
+		LongHistogram first = new LongHistogram();
+		LongHistogram second = new LongHistogram();
+		LongHistogram all = new LongHistogram();
+		MersenneTwisterFast random = new MersenneTwisterFast(5);
+		for (int i = 0; i < 5000; ++i) {
+			long value = random.nextBoundedInt(2000000) - 1000000;
+			((i % 3 == 0) ? first : second).record(value);
+			all.record(value);
+		}
+		first.merge(second);
+		assertEquals(all.getCount(), first.getCount());
+		assertEquals(all.getMin(), first.getMin());
+		assertEquals(all.getMax(), first.getMax());
+		for (int i = 0; i <= 100; ++i) {
+			assertEquals(all.getValueAtQuantile(i / 100.0), first
+			    .getValueAtQuantile(i / 100.0));
+		}
+
+		try {
+			first.merge(new LongHistogram(3));
+			fail("Merged histograms of different precision");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
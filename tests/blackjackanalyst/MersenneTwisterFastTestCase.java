@@ -0,0 +1,69 @@
+package blackjackanalyst;
+
+import junit.framework.TestCase;
+
+/**
+ * Test for {@link MersenneTwisterFast}.
+ */
+public class MersenneTwisterFastTestCase extends TestCase {
+	// more than two blocks of the state vector
+	private static final int NUM_VALUES = 1500;
+
+	public void testSameOutputAsMersenneTwister() {
+		for (long stream = 0; stream < 3; ++stream) {
+			MersenneTwister expected = MersenneTwister.forStream(42, stream);
+			MersenneTwisterFast actual = MersenneTwisterFast.forStream(42, stream);
+			for (int i = 0; i < NUM_VALUES; ++i) {
+				assertEquals(expected.nextInt(), actual.nextInt());
+				assertEquals(expected.nextInt(i + 1), actual.nextInt(i + 1));
+				assertEquals(expected.nextLong(), actual.nextLong());
+				assertEquals(expected.nextDouble(), actual.nextDouble());
+			}
+		}
+
+		MersenneTwister expected = MersenneTwister.forStream(0, 0);
+		expected.setSeed(4357);
+		MersenneTwisterFast actual = new MersenneTwisterFast(4357);
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			assertEquals(expected.nextInt(), actual.nextInt());
+		}
+	}
+
+	public void testNextInts() {
+		MersenneTwisterFast expected = MersenneTwisterFast.forStream(7, 0);
+		MersenneTwisterFast actual = MersenneTwisterFast.forStream(7, 0);
+		// start from the middle of a block
+		expected.nextInt();
+		actual.nextInt();
+
+		int[] values = new int[NUM_VALUES];
+		actual.nextInts(values);
+		for (int value : values) {
+			assertEquals(expected.nextInt(), value);
+		}
+		assertEquals(expected.nextInt(), actual.nextInt());
+	}
+
+	public void testNextBoundedInt() {
+		MersenneTwisterFast rng = MersenneTwisterFast.forStream(7, 0);
+		int bound = 13;
+		int[] counts = new int[bound];
+		int numValues = 100 * NUM_VALUES;
+		for (int i = 0; i < numValues; ++i) {
+			++counts[rng.nextBoundedInt(bound)];
+		}
+		// each value should be chosen about as often as any other
+		int expectedCount = numValues / bound;
+		for (int count : counts) {
+			assertTrue(Math.abs(count - expectedCount) < (expectedCount / 10));
+		}
+
+		// a bound of one always returns zero
+		assertEquals(0, rng.nextBoundedInt(1));
+		try {
+			rng.nextBoundedInt(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
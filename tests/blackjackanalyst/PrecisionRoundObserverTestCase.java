@@ -0,0 +1,129 @@
+package blackjackanalyst;
+
+import junit.framework.TestCase;
+import blackjackanalyst.observer.PrecisionRoundObserver;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+
+/**
+ * Test for {@link PrecisionRoundObserver}.
+ */
+public class PrecisionRoundObserverTestCase extends TestCase {
+	public void testMeanAndVariance() {
+		PrecisionRoundObserver observer = new PrecisionRoundObserver(1);
+		double[] results = { 1, -1, 1.5, 0, -1, 2 };
+		for (double result : results) {
+			observer.addResult(result);
+		}
+		// mean 2.5 / 6, sum of squared deviations 9.25 - 2.5 * 2.5 / 6
+		assertEquals(6, observer.getNumRounds());
+		assertEquals(2.5 / 6, observer.getMean(), 1e-12);
+		assertEquals((9.25 - 2.5 * 2.5 / 6) / 5, observer.getVariance(), 1e-12);
+		// too few batches for a standard error
+		assertTrue(Double.isNaN(observer.getStandardError()));
+	}
+
+	public void testBatchMeans() {
+		PrecisionRoundObserver observer = new PrecisionRoundObserver(1);
+		// alternating results, so that batches of two rounds have mean zero
+		for (int i = 0; i < 4 * PrecisionRoundObserver.MIN_BATCHES; ++i) {
+			observer.addResult(((i & 1) == 0) ? 1 : -1);
+		}
+		assertEquals(0.0, observer.getMean(), 1e-12);
+		assertEquals(0.0, observer.getStandardError(), 1e-12);
+		assertEquals(0.0, observer.getConfidenceHalfWidth(), 1e-12);
+
+		// with independent results, the batch means agree with the variance
+		observer = new PrecisionRoundObserver(100);
+		MersenneTwisterFast random = new MersenneTwisterFast(7);
+		for (int i = 0; i < 100000; ++i) {
+			observer.addResult(random.nextDouble());
+		}
+		double expected = Math.sqrt(observer.getVariance() / 100000);
+		assertEquals(expected, observer.getStandardError(), 0.3 * expected);
+	}
+
+	public void testMerge() {
+		PrecisionRoundObserver first = new PrecisionRoundObserver(10);
+		PrecisionRoundObserver second = new PrecisionRoundObserver(10);
+		PrecisionRoundObserver all = new PrecisionRoundObserver(10);
+		MersenneTwisterFast random = new MersenneTwisterFast(11);
+		for (int i = 0; i < 2000; ++i) {
+			double result = random.nextDouble();
+			((i < 500) ? first : second).addResult(result);
+			all.addResult(result);
+		}
+
+		PrecisionRoundObserver merged = new PrecisionRoundObserver();
+		merged.merge(first);
+		merged.merge(second);
+		assertEquals(2000, merged.getNumRounds());
+		assertEquals(all.getMean(), merged.getMean(), 1e-12);
+		assertEquals(all.getVariance(), merged.getVariance(), 1e-12);
+		// the pooled variance per round weighs each batch by its size
+		double firstVariance = first.getStandardError()
+		    * first.getStandardError() * 500;
+		double secondVariance = second.getStandardError()
+		    * second.getStandardError() * 1500;
+		// 50 batches of 10 rounds, and 37 batches of 40 rounds
+		int firstDegrees = 50 - 1;
+		int secondDegrees = 37 - 1;
+		double expected = Math.sqrt((firstVariance * firstDegrees + secondVariance
+		    * secondDegrees) / (firstDegrees + secondDegrees) / 2000);
+		assertEquals(expected, merged.getStandardError(), 1e-12);
+		assertEquals(expected, Math.sqrt(all.getVariance() / 2000),
+		    0.3 * expected);
+	}
+
+	public void testMergeShortObservers() {
+		PrecisionRoundObserver first = new PrecisionRoundObserver(10);
+		PrecisionRoundObserver second = new PrecisionRoundObserver(10);
+		PrecisionRoundObserver third = new PrecisionRoundObserver(10);
+		MersenneTwisterFast random = new MersenneTwisterFast(13);
+		// 20 and 15 full batches, and a single partial batch
+		for (int i = 0; i < 200; ++i) {
+			first.addResult(random.nextDouble());
+		}
+		for (int i = 0; i < 155; ++i) {
+			second.addResult(random.nextDouble());
+		}
+		for (int i = 0; i < 5; ++i) {
+			third.addResult(random.nextDouble());
+		}
+		assertTrue(Double.isNaN(first.getStandardError()));
+		assertTrue(Double.isNaN(second.getStandardError()));
+		assertTrue(Double.isNaN(third.getStandardError()));
+
+		PrecisionRoundObserver merged = new PrecisionRoundObserver();
+		merged.merge(first);
+		merged.merge(third);
+		// 19 degrees of freedom are still too few
+		assertTrue(Double.isNaN(merged.getStandardError()));
+		merged.merge(second);
+		assertEquals(360, merged.getNumRounds());
+		double standardError = merged.getStandardError();
+		assertFalse(Double.isNaN(standardError));
+		// uniform results have a variance of 1 / 12
+		double expected = Math.sqrt(1.0 / 12 / 360);
+		assertEquals(expected, standardError, 0.3 * expected);
+		assertFalse(Double.isNaN(merged.getConfidenceHalfWidth()));
+	}
+
+	public void testStopRule() {
+		Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		table.addPlayer(new Player(new BasicPlayerStrategy(), 1000000000L));
+		table.setSeed(3, 0);
+		PrecisionRoundObserver observer = new PrecisionRoundObserver(100);
+		observer.setStopRule(table, 0.05);
+		table.getRoundObservers().add(observer);
+
+		long numRounds = table.playRounds(1000000L);
+		assertTrue(numRounds < 1000000L);
+		assertEquals(numRounds, observer.getNumRounds());
+		assertTrue(observer.getStandardError() <= 0.05);
+
+		// the table can play again after being stopped
+		table.getRoundObservers().remove(observer);
+		assertEquals(10L, table.playRounds(10L));
+	}
+}
@@ -0,0 +1,84 @@
+package blackjackanalyst;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import blackjackanalyst.observer.DistributionRoundObserver;
+import blackjackanalyst.observer.QuantileSketch;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+
+/**
+ * Test for {@link QuantileSketch}.
+ */
+public class QuantileSketchTestCase extends TestCase {
+	private static final double[] QUANTILES = { 0.01, 0.05, 0.25, 0.5, 0.75,
+	    0.95, 0.99 };
+
+	private static void assertRankError(double[] sortedValues,
+	    QuantileSketch sketch, double maxError) {
+		int n = sortedValues.length;
+		for (double quantile : QUANTILES) {
+			double value = sketch.getValueAtQuantile(quantile);
+			int rank = Arrays.binarySearch(sortedValues, value);
+			assertTrue(rank >= 0);
+			assertEquals(quantile, (rank + 1.0) / n, maxError);
+		}
+	}
+
+	public void testRankError() {
+		QuantileSketch sketch = new QuantileSketch();
+		MersenneTwisterFast random = new MersenneTwisterFast(7);
+		double[] values = new double[200000];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = random.nextDouble() * random.nextDouble();
+			sketch.record(values[i]);
+		}
+		Arrays.sort(values);
+		assertEquals(values.length, sketch.getCount());
+		assertEquals(values[0], sketch.getMin());
+		assertEquals(values[values.length - 1], sketch.getMax());
+		assertRankError(values, sketch, 0.015);
+	}
+
+	public void testMerge() {
+		QuantileSketch[] shards = new QuantileSketch[8];
+		MersenneTwisterFast random = new MersenneTwisterFast(9);
+		double[] values = new double[160000];
+		for (int i = 0; i < shards.length; ++i) {
+			shards[i] = new QuantileSketch();
+		}
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = random.nextDouble();
+			// each shard records a different range of values
+			shards[(int) (values[i] * shards.length)].record(values[i]);
+		}
+		QuantileSketch merged = new QuantileSketch();
+		for (QuantileSketch shard : shards) {
+			merged.merge(shard);
+		}
+		Arrays.sort(values);
+		assertEquals(values.length, merged.getCount());
+		assertRankError(values, merged, 0.015);
+	}
+
+	public void testDistributionRoundObserver() {
+		Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		Player player = new Player(new BasicPlayerStrategy(), 100000L);
+		table.addPlayer(player);
+		table.setSeed(1, 0);
+		DistributionRoundObserver observer = new DistributionRoundObserver();
+		table.getRoundObservers().add(observer);
+		table.playRounds(10000L);
+
+		assertEquals(10000L, observer.getBankrolls().getCount());
+		assertEquals(10000L, observer.getResults().getCount());
+		assertTrue(player.getBankroll() >= observer.getBankrolls().getMin());
+		assertTrue(player.getBankroll() <= observer.getBankrolls().getMax());
+		// basic strategy flat bets the minimum, so most rounds win or lose it
+		assertEquals(-20, observer.getResults().getValueAtQuantile(0.25));
+		assertEquals(20, observer.getResults().getValueAtQuantile(0.75));
+		assertEquals(-1.0, observer.getUnitResults().getValueAtQuantile(0.25));
+		assertEquals(1.0, observer.getUnitResults().getValueAtQuantile(0.75));
+	}
+}
@@ -0,0 +1,52 @@
+package blackjackanalyst;
+
+import junit.framework.TestCase;
+
+/**
+ * Test for {@link RandomSourceType}.
+ */
+public class RandomSourceTypeTestCase extends TestCase {
+	private static final int NUM_VALUES = 1000;
+
+	public void testStreams() {
+		for (RandomSourceType type : RandomSourceType.values()) {
+			RandomSource rng = type.create(42, 1);
+			RandomSource sameRng = type.create(42, 1);
+			RandomSource otherRng = type.create(42, 2);
+			int numDifferent = 0;
+			for (int i = 0; i < NUM_VALUES; ++i) {
+				int value = rng.nextInt();
+				// The same seed and stream give the same values.
+				assertEquals(value, sameRng.nextInt());
+				if (value != otherRng.nextInt()) {
+					++numDifferent;
+				}
+			}
+			// Different streams give different values.
+			assertTrue(numDifferent > (NUM_VALUES / 2));
+		}
+	}
+
+	public void testMersenneTwister() {
+		RandomSource rng = RandomSourceType.MERSENNE_TWISTER.create(42, 1);
+		MersenneTwister expected = MersenneTwister.forStream(42, 1);
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			assertEquals(expected.nextInt(), rng.nextInt());
+		}
+	}
+
+	public void testNextBoundedInt() {
+		for (RandomSourceType type : RandomSourceType.values()) {
+			RandomSource rng = type.create(42, 0);
+			int[] counts = new int[Card.CARDS_PER_DECK];
+			for (int i = 0; i < (100 * NUM_VALUES); ++i) {
+				++counts[rng.nextBoundedInt(counts.length)];
+			}
+			// Each value should be chosen about as often as any other.
+			int expectedCount = (100 * NUM_VALUES) / counts.length;
+			for (int count : counts) {
+				assertTrue(Math.abs(count - expectedCount) < (expectedCount / 5));
+			}
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package blackjackanalyst;
+
+import junit.framework.TestCase;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+
+/**
+ * Test for {@link SessionSimulation}.
+ */
+public class SessionSimulationTestCase extends TestCase {
+	private static class TestSimulation extends SessionSimulation {
+		TestSimulation(long bankroll, long winGoal, long stopLoss, long maxRounds) {
+			super(13, bankroll, winGoal, stopLoss, maxRounds);
+		}
+
+		protected Table createTable() {
+			Table table = new Table("Test", 6, DefaultDealerStrategy.INSTANCE, 20,
+			    200);
+			table.addPlayer(new Player(new BasicPlayerStrategy(), 0));
+			return table;
+		}
+	}
+
+	private static void assertSameResult(SessionResult expected,
+	    SessionResult actual) {
+		assertEquals(expected.getNumSessions(), actual.getNumSessions());
+		for (int end = SessionResult.RUINED; end <= SessionResult.ROUND_CAP;
+		    ++end) {
+			assertEquals(expected.getNumSessions(end), actual.getNumSessions(end));
+		}
+		assertEquals(expected.getNumRounds(), actual.getNumRounds());
+		assertEquals(expected.getResults().getMean(), actual.getResults()
+		    .getMean(), 0);
+	}
+
+	public void testSameResultForAnyNumberOfThreads() {
+		SessionSimulation simulation = new TestSimulation(400, 200, 0, 500);
+		SessionResult result = simulation.run(1000, 1);
+		assertEquals(1000, result.getNumSessions());
+		assertSameResult(result, simulation.run(1000, 4));
+		assertSameResult(result, new TestSimulation(400, 200, 0, 500).run(1000,
+		    3));
+	}
+
+	public void testSessionEnds() {
+		SessionResult result = new TestSimulation(400, 200, 0, 500).run(500, 2);
+		long numSessions = 0;
+		for (int end = SessionResult.RUINED; end <= SessionResult.ROUND_CAP;
+		    ++end) {
+			numSessions += result.getNumSessions(end);
+		}
+		assertEquals(500, numSessions);
+		assertTrue(result.getNumSessions(SessionResult.RUINED) > 0);
+		assertTrue(result.getNumSessions(SessionResult.WIN_GOAL) > 0);
+		assertEquals(0, result.getNumSessions(SessionResult.STOP_LOSS));
+		// no session continues past its win goal or ruin
+		assertTrue(result.getResults().getMax() < 200 + 2 * 200);
+		assertTrue(result.getResults().getMin() > -400 - 2 * 200);
+		assertTrue(result.getLengths().getMax() <= 500);
+
+		// a stop-loss smaller than the bankroll is reached before ruin
+		result = new TestSimulation(400, 0, 100, 500).run(500, 2);
+		assertEquals(0, result.getNumSessions(SessionResult.RUINED));
+		assertTrue(result.getNumSessions(SessionResult.STOP_LOSS) > 0);
+
+		// every session reaches the round cap
+		result = new TestSimulation(100000, 0, 0, 10).run(100, 2);
+		assertEquals(100, result.getNumSessions(SessionResult.ROUND_CAP));
+		assertEquals(1000, result.getNumRounds());
+		assertEquals(0.0, result.getRiskOfRuin(), 0);
+	}
+}
@@ -0,0 +1,97 @@
+package blackjackanalyst;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import junit.framework.TestCase;
+
+/**
+ * Test for {@link ShoeBank}.
+ */
+public class ShoeBankTestCase extends TestCase {
+	public void testDealsBankedShoes() throws IOException {
+		int numDecks = 6;
+		int numShoes = 3;
+		File file = File.createTempFile("shoes", ".bank");
+		try {
+			ShoeBank.write(file, numDecks, numShoes, MersenneTwisterFast.forStream(1,
+			    0));
+			ShoeBank bank = ShoeBank.load(file);
+			assertEquals(numDecks, bank.getNumDecks());
+			assertEquals(numShoes, bank.getNumShoes());
+
+			// Two shoes dealing from the bank deal the same cards.
+			Shoe shoe = new Shoe(numDecks, MersenneTwisterFast.forStream(2, 0));
+			Shoe otherShoe = new Shoe(numDecks, MersenneTwisterFast.forStream(3, 0));
+			shoe.setShoeBank(bank, 0);
+			otherShoe.setShoeBank(bank, 0);
+			int[][] dealt = new int[numShoes + 1][];
+			for (int i = 0; i < dealt.length; ++i) {
+				assertTrue(shoe.needsShuffle());
+				shoe.shuffle();
+				otherShoe.shuffle();
+				dealt[i] = new int[shoe.getCardsLeft()];
+				int[] cardCounts = new int[Card.CARDS_PER_DECK];
+				for (int j = 0; j < dealt[i].length; ++j) {
+					dealt[i][j] = shoe.getNextCardId();
+					assertEquals(dealt[i][j], otherShoe.getNextCardId());
+					++cardCounts[dealt[i][j]];
+				}
+				// Each card should have one instance from each deck.
+				for (int count : cardCounts) {
+					assertEquals(numDecks, count);
+				}
+			}
+			// The shoe wraps around to the first order of the bank.
+			for (int j = 0; j < dealt[0].length; ++j) {
+				assertEquals(dealt[0][j], dealt[numShoes][j]);
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	/*
+	 * Writes a bank of two shoes, overwrites the byte at the given offset from
+	 * the start of the second shoe, and returns whether the bank still loads.
+	 */
+	private static boolean loadsWithByte(int offset, int value)
+	    throws IOException {
+		int numDecks = 6;
+		File file = File.createTempFile("shoes", ".bank");
+		try {
+			ShoeBank.write(file, numDecks, 2, MersenneTwisterFast.forStream(1, 0));
+			RandomAccessFile output = new RandomAccessFile(file, "rw");
+			try {
+				output.seek(16 + 1 + (numDecks * Card.CARDS_PER_DECK) + offset);
+				output.write(value);
+			} finally {
+				output.close();
+			}
+			try {
+				ShoeBank.load(file);
+				return true;
+			} catch (IOException e) {
+				return false;
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testRejectsCorruptBank() throws IOException {
+		// the shuffle mark is between two and three decks
+		assertTrue(loadsWithByte(0, 2 * Card.CARDS_PER_DECK));
+		assertTrue(loadsWithByte(0, 3 * Card.CARDS_PER_DECK - 1));
+		assertFalse(loadsWithByte(0, 2 * Card.CARDS_PER_DECK - 1));
+		assertFalse(loadsWithByte(0, 3 * Card.CARDS_PER_DECK));
+		assertFalse(loadsWithByte(0, 255));
+
+		// each card identifier is less than the number of cards in a deck
+		assertTrue(loadsWithByte(1, Card.CARDS_PER_DECK - 1));
+		assertFalse(loadsWithByte(1, Card.CARDS_PER_DECK));
+		assertFalse(loadsWithByte(100, 0x80));
+		assertFalse(loadsWithByte(6 * Card.CARDS_PER_DECK, 0xff));
+	}
+}
@@ -0,0 +1,136 @@
+package blackjackanalyst;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import blackjackanalyst.Card.Rank;
+import blackjackanalyst.Card.Suit;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.CountSystem;
+import blackjackanalyst.strategy.CountingPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+import blackjackanalyst.strategy.TrueCountPlayerStrategy;
+
+/**
+ * Test for {@link ShoeComposition}.
+ */
+public class ShoeCompositionTestCase extends TestCase {
+	/*
+	 * A subclass of a composition strategy that counts the cards dealt itself,
+	 * and checks the composition of its table against its own count.
+	 */
+	private static class CountingStrategy extends BasicPlayerStrategy {
+		int numDealt;
+		int numSinceShuffle;
+		final int[] ranksSinceShuffle = new int[Card.NUM_CARD_RANKS];
+
+		public void shoeShuffled() {
+			numSinceShuffle = 0;
+			Arrays.fill(ranksSinceShuffle, 0);
+		}
+
+		public void cardDealt(Card dealtCard) {
+			++numDealt;
+			++numSinceShuffle;
+			++ranksSinceShuffle[dealtCard.getRank().ordinal()];
+
+			ShoeComposition composition = joinedTable.getComposition();
+			assertEquals(numSinceShuffle, composition.getCardsDealt());
+			for (Rank rank : Rank.values()) {
+				assertEquals(composition.getNumDecks() * Card.NUM_CARD_SUITS
+				    - ranksSinceShuffle[rank.ordinal()], composition
+				    .getRemaining(rank));
+			}
+		}
+	}
+
+	/*
+	 * A subclass that implements the marker again, and so is not told of the
+	 * cards dealt.
+	 */
+	private static class SilentStrategy extends CountingStrategy implements
+	    CompositionPlayerStrategy {
+	}
+
+	private static int getId(Rank rank, Suit suit) {
+		return Card.getCard(rank, suit).getID();
+	}
+
+	public void testKnownSequence() {
+		ShoeComposition composition = new ShoeComposition(2);
+		int hiLo = composition.addCount(new int[] {
+		    1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1, -1
+		});
+		assertEquals(104, composition.getCardsRemaining());
+
+		composition.cardDealt(getId(Rank.ACE, Suit.SPADES));
+		composition.cardDealt(getId(Rank.FIVE, Suit.HEARTS));
+		composition.cardDealt(getId(Rank.FIVE, Suit.CLUBS));
+		composition.cardDealt(getId(Rank.KING, Suit.DIAMONDS));
+		composition.cardDealt(getId(Rank.ACE, Suit.SPADES));
+		composition.cardDealt(getId(Rank.EIGHT, Suit.HEARTS));
+		assertEquals(6, composition.getCardsDealt());
+		assertEquals(98, composition.getCardsRemaining());
+		assertEquals(6, composition.getRemaining(Rank.ACE));
+		assertEquals(6, composition.getRemaining(Rank.FIVE));
+		assertEquals(7, composition.getRemaining(Rank.KING));
+		assertEquals(7, composition.getRemaining(Rank.EIGHT));
+		assertEquals(8, composition.getRemaining(Rank.TEN));
+		assertEquals(-1, composition.getRunningCount(hiLo));
+
+		// a count added later includes the cards already dealt
+		int aces = composition.addCount(new int[] {
+		    0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1
+		});
+		assertEquals(2, composition.getRunningCount(aces));
+		assertEquals(hiLo, composition.addCount(new int[] {
+		    1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1, -1
+		}));
+
+		composition.reset();
+		assertEquals(0, composition.getCardsDealt());
+		assertEquals(8, composition.getRemaining(Rank.ACE));
+		assertEquals(0, composition.getRunningCount(hiLo));
+		assertEquals(0, composition.getRunningCount(aces));
+	}
+
+	public void testInheritedComposition() {
+		// subclasses that do not override cardDealt are not told of each card
+		assertFalse(new Player(new BasicPlayerStrategy()).notifyDealt);
+		assertFalse(new Player(new BasicPlayerStrategy() {
+			public int getBet(long bankroll) {
+				return 2 * minBet;
+			}
+		}).notifyDealt);
+		assertFalse(new Player(new TrueCountPlayerStrategy()).notifyDealt);
+		assertFalse(new Player(new CountingPlayerStrategy(CountSystem.ZEN))
+		    .notifyDealt);
+
+		assertTrue(new Player(new CountingStrategy()).notifyDealt);
+		assertFalse(new Player(new SilentStrategy()).notifyDealt);
+		Player player = new Player(new BasicPlayerStrategy());
+		player.setStrategy(new CountingStrategy());
+		assertTrue(player.notifyDealt);
+	}
+
+	public void testSubclassReceivesDealtCards() {
+		Table table = new Table(2, DefaultDealerStrategy.INSTANCE, 20, 200);
+		CountingStrategy counting = new CountingStrategy();
+		SilentStrategy silent = new SilentStrategy();
+		table.addPlayer(new Player(counting, 1000000L));
+		table.addPlayer(new Player(silent, 1000000L));
+		final long[] numCards = new long[1];
+		table.getRoundObservers().add(new RoundObserver() {
+			public void roundPlayed(RoundSummary summary) {
+				numCards[0] += summary.getNumCards();
+			}
+		});
+
+		table.setSeed(3, 0);
+		table.playRounds(500L);
+		// every card dealt is seen, and the test spans several shuffles
+		assertEquals(numCards[0], counting.numDealt);
+		assertTrue(counting.numDealt > 4 * 2 * Card.CARDS_PER_DECK);
+		assertEquals(0, silent.numDealt);
+	}
+}
@@ -0,0 +1,59 @@
+package blackjackanalyst;
+
+import junit.framework.TestCase;
+import blackjackanalyst.observer.WinLossTableObserver;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+import blackjackanalyst.strategy.TrueCountPlayerStrategy;
+
+/**
+ * Test for {@link ShoeSimulation}.
+ */
+public class ShoeSimulationTestCase extends TestCase {
+	private static class TestSimulation extends
+	    ShoeSimulation<WinLossTableObserver> {
+		TestSimulation(long seed) {
+			super(seed);
+		}
+
+		protected Table createTable() {
+			Table table = new Table("Test", 6, DefaultDealerStrategy.INSTANCE, 20,
+			    200);
+			for (int i = 0; i < 3; ++i) {
+				table.addPlayer(new Player(new TrueCountPlayerStrategy(), 100000));
+			}
+			return table;
+		}
+
+		protected WinLossTableObserver startResult(Table table) {
+			WinLossTableObserver result = new WinLossTableObserver();
+			table.getObservers().add(result);
+			return result;
+		}
+
+		protected void finishResult(Table table, WinLossTableObserver result) {
+			table.getObservers().remove(result);
+		}
+
+		protected WinLossTableObserver merge(WinLossTableObserver first,
+		    WinLossTableObserver second) {
+			first.merge(second);
+			return first;
+		}
+	}
+
+	public void testResultIndependentOfThreads() {
+		WinLossTableObserver singleThreaded = new TestSimulation(17).run(200, 1);
+		WinLossTableObserver multiThreaded = new TestSimulation(17).run(200, 4);
+
+		assertTrue(singleThreaded.getNumRounds() > 200);
+		assertEquals(singleThreaded.toString(), multiThreaded.toString());
+		assertEquals(singleThreaded.getNumRounds(), multiThreaded.getNumRounds());
+	}
+
+	public void testResultDependsOnSeed() {
+		WinLossTableObserver first = new TestSimulation(17).run(200, 1);
+		WinLossTableObserver second = new TestSimulation(18).run(200, 1);
+
+		assertFalse(first.toString().equals(second.toString()));
+	}
+}
@@ -16,9 +16,10 @@ public class ShoeTestCase extends TestCase {
 		Shoe shoe = new Shoe(numDecks);
 		shoe.shuffle();
 		
-		// Count the occurrences of each card in the shoe.
+		// Count the occurrences of each card dealt from the shoe.
 		Map<Card, Integer> cardCounts = new HashMap<Card, Integer>();
-		for (Card card : shoe.cards) {
+		while (!shoe.isEmpty()) {
+			Card card = shoe.getNextCard();
 			Integer count = cardCounts.get(card);
 			if (count == null) {
 				count = 0;
@@ -35,4 +36,27 @@ public class ShoeTestCase extends TestCase {
 			}
 		}
 	}
+
+	public void testInfinite() {
+		int numDecks = 6;
+		Shoe shoe = new Shoe(numDecks, MersenneTwisterFast.forStream(1, 0));
+		shoe.setInfinite(true);
+		assertTrue(shoe.isInfinite());
+
+		// Deal many more cards than the shoe holds, without shuffling.
+		int numCards = 100 * Card.CARDS_PER_DECK * numDecks;
+		int[] cardCounts = new int[Card.CARDS_PER_DECK];
+		for (int i = 0; i < numCards; ++i) {
+			assertFalse(shoe.needsShuffle());
+			++cardCounts[shoe.getNextCardId()];
+		}
+		// Each card should be dealt about as often as any other.
+		int expectedCount = numCards / Card.CARDS_PER_DECK;
+		for (int count : cardCounts) {
+			assertTrue(Math.abs(count - expectedCount) < (expectedCount / 5));
+		}
+
+		shoe.setInfinite(false);
+		assertTrue(shoe.needsShuffle());
+	}
 }
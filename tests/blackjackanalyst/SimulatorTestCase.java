@@ -0,0 +1,96 @@
+package blackjackanalyst;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import blackjackanalyst.observer.WinLossPlayerObserver;
+import blackjackanalyst.observer.WinLossTableObserver;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+
+/**
+ * Test for {@link Simulator}.
+ */
+public class SimulatorTestCase extends TestCase {
+	private static final String[] PLAYER_NAMES = { "A", "B" };
+
+	public void testMergedResults() {
+		List<Table> tables = new ArrayList<Table>();
+		List<WinLossTableObserver> tableResults = new ArrayList<WinLossTableObserver>();
+		Map<String, List<WinLossPlayerObserver>> playerResults = new LinkedHashMap<String, List<WinLossPlayerObserver>>();
+		for (String name : PLAYER_NAMES) {
+			playerResults.put(name, new ArrayList<WinLossPlayerObserver>());
+		}
+		for (int i = 0; i < 3; ++i) {
+			Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+			table.setSeed(21, i);
+			WinLossTableObserver tableResult = new WinLossTableObserver();
+			table.getRoundObservers().add(tableResult);
+			for (String name : PLAYER_NAMES) {
+				Player player = new Player(new BasicPlayerStrategy(), 100000L, name);
+				WinLossPlayerObserver playerResult = new WinLossPlayerObserver();
+				player.getObservers().add(playerResult);
+				table.addPlayer(player);
+				playerResults.get(name).add(playerResult);
+			}
+			table.playRounds(1000L + 100L * i);
+			tables.add(table);
+			tableResults.add(tableResult);
+		}
+
+		WinLossTableObserver mergedTableResult = Simulator
+		    .mergeTableResults(tableResults);
+		long numRounds = 0;
+		long numWins = 0;
+		long numLosses = 0;
+		long numBlackjacks = 0;
+		long numPushes = 0;
+		long netGain = 0;
+		for (WinLossTableObserver tableResult : tableResults) {
+			numRounds += tableResult.getNumRounds();
+			numWins += tableResult.getNumWins();
+			numLosses += tableResult.getNumLosses();
+			numBlackjacks += tableResult.getNumBlackjacks();
+			numPushes += tableResult.getNumPushes();
+			netGain += tableResult.getNetGain();
+		}
+		assertEquals(3300L, numRounds);
+		assertEquals(numRounds, mergedTableResult.getNumRounds());
+		assertEquals(numWins, mergedTableResult.getNumWins());
+		assertEquals(numLosses, mergedTableResult.getNumLosses());
+		assertEquals(numBlackjacks, mergedTableResult.getNumBlackjacks());
+		assertEquals(numPushes, mergedTableResult.getNumPushes());
+		assertEquals(netGain, mergedTableResult.getNetGain());
+
+		// each player name is merged over the tables in the order given
+		Map<String, WinLossPlayerObserver> mergedPlayerResults = Simulator
+		    .mergePlayerResults(playerResults);
+		assertEquals(PLAYER_NAMES.length, mergedPlayerResults.size());
+		long playerNetGain = 0;
+		for (int i = 0; i < PLAYER_NAMES.length; ++i) {
+			String name = PLAYER_NAMES[i];
+			WinLossPlayerObserver mergedPlayerResult = mergedPlayerResults
+			    .get(name);
+			long bankrollChange = 0;
+			numWins = 0;
+			numLosses = 0;
+			for (Table table : tables) {
+				Player player = table.getPlayers().get(i);
+				assertEquals(name, player.getName());
+				bankrollChange += player.getBankroll() - 100000L;
+			}
+			for (WinLossPlayerObserver playerResult : playerResults.get(name)) {
+				numWins += playerResult.getNumWins();
+				numLosses += playerResult.getNumLosses();
+			}
+			assertEquals(bankrollChange, mergedPlayerResult.getNetGain());
+			assertEquals(numWins, mergedPlayerResult.getNumWins());
+			assertEquals(numLosses, mergedPlayerResult.getNumLosses());
+			playerNetGain += mergedPlayerResult.getNetGain();
+		}
+		assertEquals(netGain, playerNetGain);
+	}
+}
@@ -0,0 +1,73 @@
+package blackjackanalyst;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+
+import junit.framework.TestCase;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+import blackjackanalyst.strategy.DefaultPlayerStrategy;
+import blackjackanalyst.strategy.TrueCountPlayerStrategy;
+
+/**
+ * Test for {@link StrategyFactories}.
+ */
+public class StrategyFactoriesTestCase extends TestCase {
+	public void testPlayerStrategyFactories() {
+		assertTrue(StrategyFactories.getPlayerStrategyFactory("default")
+		    .createStrategy() instanceof DefaultPlayerStrategy);
+		assertTrue(StrategyFactories.getPlayerStrategyFactory("BASIC")
+		    .createStrategy() instanceof BasicPlayerStrategy);
+		PlayerStrategyFactory factory = StrategyFactories
+		    .getPlayerStrategyFactory("True_Count");
+		assertTrue(factory.createStrategy() instanceof TrueCountPlayerStrategy);
+
+		// Each player gets its own instance.
+		assertNotSame(factory.createStrategy(), factory.createStrategy());
+	}
+
+	public void testDealerStrategyFactories() {
+		assertSame(DefaultDealerStrategy.INSTANCE, StrategyFactories
+		    .getDealerStrategyFactory("default").createStrategy());
+	}
+
+	public void testWithoutServiceFiles() {
+		// a class loader that finds no service files
+		ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+			public Enumeration<URL> getResources(String name) throws IOException {
+				if (name.startsWith("META-INF/services/")) {
+					return Collections.enumeration(Collections.<URL> emptyList());
+				}
+				return super.getResources(name);
+			}
+		};
+		Thread thread = Thread.currentThread();
+		ClassLoader contextLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		try {
+			assertEquals(3, StrategyFactories.getPlayerStrategyFactories().size());
+			testPlayerStrategyFactories();
+			testDealerStrategyFactories();
+		} finally {
+			thread.setContextClassLoader(contextLoader);
+		}
+		// the included factories are not listed twice with the service files
+		assertEquals(3, StrategyFactories.getPlayerStrategyFactories().size());
+		assertEquals(1, StrategyFactories.getDealerStrategyFactories().size());
+	}
+
+	public void testUnknownName() {
+		try {
+			StrategyFactories.getPlayerStrategyFactory("unknown");
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			StrategyFactories.getDealerStrategyFactory("unknown");
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package blackjackanalyst;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import blackjackanalyst.observer.WinLossPlayerObserver;
+import blackjackanalyst.observer.WinLossTableObserver;
+import blackjackanalyst.strategy.BasicPlayerStrategy;
+import blackjackanalyst.strategy.DefaultDealerStrategy;
+
+/**
+ * Test for {@link Table}.
+ */
+public class TableTestCase extends TestCase {
+	public void testBankrollBeyondIntRange() {
+		long bankroll = 3L * Integer.MAX_VALUE;
+		Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		Player player = new Player(new BasicPlayerStrategy(), bankroll);
+		WinLossPlayerObserver playerResult = new WinLossPlayerObserver();
+		player.getObservers().add(playerResult);
+		table.addPlayer(player);
+		WinLossTableObserver tableResult = new WinLossTableObserver();
+		table.getRoundObservers().add(tableResult);
+
+		table.setSeed(5, 0);
+		table.playRounds(1000L);
+
+		// The bankroll changes by exactly the net gain, without wrapping.
+		assertEquals(bankroll + playerResult.getNetGain(), player.getBankroll());
+		assertEquals(playerResult.getNetGain(), tableResult.getNetGain());
+		assertEquals(1000L, tableResult.getNumRounds());
+	}
+
+	/*
+	 * Deals the given number of cards from the shoe of the given table,
+	 * shuffling it as the table does before a round.
+	 */
+	private static int[] deal(Table table, int numCards) {
+		int[] cardIds = new int[numCards];
+		for (int i = 0; i < numCards; ++i) {
+			if (table.shoe.needsShuffle()) {
+				table.shoe.shuffle();
+			}
+			cardIds[i] = table.shoe.getNextCardId();
+		}
+		return cardIds;
+	}
+
+	public void testPreShufflingFreshTable() {
+		Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		table.setSeed(9, 2);
+		Table preShufflingTable = new Table(6, DefaultDealerStrategy.INSTANCE, 20,
+		    200);
+		preShufflingTable.setSeed(9, 2);
+		preShufflingTable.setPreShuffling(true);
+		try {
+			// the first shoe of each table is shuffled by the same generator
+			int numCards = table.getNumDecks() * Card.CARDS_PER_DECK
+			    - 3 * Card.CARDS_PER_DECK;
+			assertTrue(Arrays.equals(deal(table, numCards), deal(
+			    preShufflingTable, numCards)));
+		} finally {
+			preShufflingTable.setPreShuffling(false);
+		}
+	}
+
+	public void testPreShufflingMidShoe() {
+		int[][] dealt = new int[2][];
+		for (int i = 0; i < dealt.length; ++i) {
+			Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+			table.setSeed(4, 0);
+			deal(table, 100);
+			// the rest of the current shoe is not dealt
+			table.setPreShuffling(true);
+			try {
+				dealt[i] = deal(table, 2000);
+			} finally {
+				table.setPreShuffling(false);
+			}
+			for (int cardId : dealt[i]) {
+				assertTrue((cardId >= 0) && (cardId < Card.CARDS_PER_DECK));
+			}
+		}
+		assertTrue(Arrays.equals(dealt[0], dealt[1]));
+	}
+
+	public void testStop() {
+		final Table table = new Table(6, DefaultDealerStrategy.INSTANCE, 20, 200);
+		table.addPlayer(new Player(new BasicPlayerStrategy(), 100000L));
+		final WinLossTableObserver tableResult = new WinLossTableObserver();
+		table.getRoundObservers().add(tableResult);
+		table.getRoundObservers().add(new RoundObserver() {
+			public void roundPlayed(RoundSummary summary) {
+				if (tableResult.getNumRounds() == 25) {
+					table.stop();
+				}
+			}
+		});
+
+		assertEquals(25L, table.playRounds(100L));
+		assertEquals(25L, tableResult.getNumRounds());
+
+		// stopping before playing rounds skips only the next call
+		table.stop();
+		assertEquals(0L, table.playRounds(100L));
+		assertEquals(50L, table.playRounds(50L));
+	}
+}